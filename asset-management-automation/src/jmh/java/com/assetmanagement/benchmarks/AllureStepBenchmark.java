@@ -0,0 +1,89 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.listeners.AllureTestListener;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AllureTestListener.addStep包装一个空操作的额外开销
+ * 每次调用模拟一个包含STEPS个步骤的测试用例，结果写入空的Writer，只测量生命周期本身
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllureStepBenchmark {
+    private static final int STEPS = 100;
+
+    @Setup
+    public void setUp() {
+        Allure.setLifecycle(new AllureLifecycle(new DiscardingWriter()));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public void addStep(Blackhole blackhole) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+        lifecycle.startTestCase(uuid);
+        for (int i = 0; i < STEPS; i++) {
+            int step = i;
+            AllureTestListener.addStep("step " + i, () -> blackhole.consume(step));
+        }
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    /**
+     * 同样的测试用例生命周期但不加步骤，作为对照
+     */
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public void baseline(Blackhole blackhole) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("benchmark"));
+        lifecycle.startTestCase(uuid);
+        for (int i = 0; i < STEPS; i++) {
+            blackhole.consume(i);
+        }
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+
+    private static class DiscardingWriter implements AllureResultsWriter {
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
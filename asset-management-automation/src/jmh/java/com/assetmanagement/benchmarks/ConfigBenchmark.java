@@ -0,0 +1,62 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.utils.ConfigReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 配置解析和读取的开销：加载时一次性解析${...}变量，测试中只做Map查找
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigBenchmark {
+    private Properties properties;
+    private ConfigReader config;
+
+    @Setup
+    public void setUp() throws IOException {
+        properties = new Properties();
+        try (InputStream in = Files.newInputStream(Paths.get("src/main/resources/config/config.properties"))) {
+            properties.load(in);
+        }
+        config = new ConfigReader();
+    }
+
+    /**
+     * 解析整个config.properties中的变量，对应原来每次读取都要做的resolveVariables
+     */
+    @Benchmark
+    public ConfigSnapshot resolveVariables() {
+        return ConfigSnapshot.of(properties);
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return config.getLoginUrl();
+    }
+
+    @Benchmark
+    public String getPropertyWithDefault() {
+        return config.getProperty("missing.key", "${base.url}/missing");
+    }
+}
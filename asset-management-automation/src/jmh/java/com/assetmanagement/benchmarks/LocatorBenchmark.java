@@ -0,0 +1,95 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.utils.WebDriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 在无头浏览器中加载本地静态页面，比较AssetPage的XPath contains(text())定位与LoginPage的CSS定位的开销
+ * 测量值包含一次WebDriver往返，两类定位器之间的差值即为浏览器端求值的差异
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocatorBenchmark {
+    // AssetPage中的定位器
+    private static final By ASSET_MENU = By.xpath("//a[contains(text(),'资产管理')]");
+    private static final By SEARCH_BUTTON = By.xpath("//button[contains(text(),'搜索')]");
+    private static final By ASSET_LIST = By.xpath("//div[contains(@class,'asset-list')]");
+    private static final By ASSET_CELL = By.xpath("//div[contains(text(),'test-PC-250')]");
+    // LoginPage中的定位器
+    private static final By USERNAME_INPUT = By.cssSelector("input[type='text'][placeholder='请输入用户名']");
+    private static final By LOGIN_BUTTON = By.cssSelector(".el-button--primary");
+
+    /**
+     * 资产列表行数，行数越多XPath文本匹配需要遍历的节点越多
+     */
+    @Param({"50", "500", "5000"})
+    public int rows;
+
+    private WebDriver driver;
+
+    @Setup
+    public void setUp() {
+        driver = WebDriverManager.createDriver();
+        String fixture = Paths.get("src/jmh/resources/fixtures/asset-management.html").toAbsolutePath().toUri().toString();
+        driver.get(fixture + "?rows=" + rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public WebElement xpathMenuByText() {
+        return driver.findElement(ASSET_MENU);
+    }
+
+    @Benchmark
+    public WebElement xpathButtonByText() {
+        return driver.findElement(SEARCH_BUTTON);
+    }
+
+    @Benchmark
+    public WebElement xpathContainsClass() {
+        return driver.findElement(ASSET_LIST);
+    }
+
+    @Benchmark
+    public List<WebElement> xpathRowByText() {
+        return driver.findElements(ASSET_CELL);
+    }
+
+    @Benchmark
+    public WebElement cssAttributes() {
+        return driver.findElement(USERNAME_INPUT);
+    }
+
+    @Benchmark
+    public WebElement cssClass() {
+        return driver.findElement(LOGIN_BUTTON);
+    }
+}
@@ -0,0 +1,119 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.utils.ScreenshotWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 截图写入路径的开销：测试线程上的提交、完整的异步写入，以及原来的同步写文件做对照
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreenshotWriterBenchmark {
+
+    /**
+     * duplicate: 每次都是同一帧，走去重路径；unique: 每帧内容不同，需要真正写盘
+     */
+    @Param({"duplicate", "unique"})
+    public String frames;
+
+    private byte[] png;
+    private String duplicateFrame;
+    private ScreenshotWriter writer;
+    private Path syncDir;
+    private long sequence;
+
+    @Setup
+    public void setUp() throws IOException {
+        png = renderFrame();
+        duplicateFrame = Base64.getEncoder().encodeToString(png);
+        Path baseDir = Paths.get(ConfigManager.getProperty("screenshot.dir"));
+        writer = new ScreenshotWriter(baseDir.resolve("async-" + frames), 64,
+            ConfigManager.current().getLong("screenshot.disk.budget.mb", 64) * 1024 * 1024, "png");
+        syncDir = Files.createDirectories(baseDir.resolve("sync-" + frames));
+    }
+
+    @TearDown
+    public void tearDown() {
+        writer.shutdown(Duration.ofSeconds(30));
+    }
+
+    /**
+     * 测试线程实际承担的部分：提交到队列后立即返回，再等待后台写完以免队列积压
+     */
+    @Benchmark
+    public boolean writeAsync() {
+        boolean accepted = writer.submit("shot-" + sequence++ + ".png", nextFrame());
+        writer.flush(Duration.ofSeconds(10));
+        return accepted;
+    }
+
+    /**
+     * 原ScreenshotUtils的做法：在测试线程上解码并同步写文件
+     */
+    @Benchmark
+    public Path writeSync() throws IOException {
+        byte[] bytes = Base64.getDecoder().decode(nextFrame());
+        return Files.write(syncDir.resolve("shot-" + (sequence++ % 256) + ".png"), bytes);
+    }
+
+    private String nextFrame() {
+        if ("duplicate".equals(frames)) {
+            return duplicateFrame;
+        }
+        // PNG在IEND之后追加的字节不影响解码，只改变内容哈希
+        byte[] unique = Arrays.copyOf(png, png.length + Long.BYTES);
+        ByteBuffer.wrap(unique, png.length, Long.BYTES).putLong(sequence);
+        return Base64.getEncoder().encodeToString(unique);
+    }
+
+    /**
+     * 画一张近似管理后台页面的1920x1080截图
+     */
+    private static byte[] renderFrame() throws IOException {
+        BufferedImage image = new BufferedImage(1920, 1080, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 1920, 1080);
+        g.setColor(new Color(48, 65, 86));
+        g.fillRect(0, 0, 220, 1080);
+        g.setColor(Color.DARK_GRAY);
+        for (int row = 0; row < 30; row++) {
+            g.drawString("test-PC-" + row + "    192.168.1." + row + "    00:1A:2B:3C:4D:" + row, 260, 120 + row * 30);
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
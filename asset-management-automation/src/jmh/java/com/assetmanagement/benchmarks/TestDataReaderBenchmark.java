@@ -0,0 +1,87 @@
+package com.assetmanagement.benchmarks;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.utils.TestDataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 不同规模数据集的读取开销，分别测量缓存命中、重新解析和流式读取
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TestDataReaderBenchmark {
+    private static final String[] STATUSES = {"在线", "离线", "未知"};
+    private static final String[] GROUPS = {"研发组", "测试组", "运维组", "财务部"};
+
+    @Param({"100", "10000", "100000"})
+    public int rows;
+
+    private String filename;
+    private Path file;
+    private long modified;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path dir = Paths.get(ConfigManager.getProperty("testdata.path"));
+        Files.createDirectories(dir);
+        filename = "assets-" + rows + ".csv";
+        file = dir.resolve(filename);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("asset_name,ip_address,mac_address,status,group\n");
+            for (int i = 0; i < rows; i++) {
+                writer.write(String.format("\"test-PC-%d, 机房%d\",10.%d.%d.%d,00:1A:2B:%02X:%02X:%02X,%s,%s%n",
+                    i, i % 7, (i >> 16) & 255, (i >> 8) & 255, i & 255,
+                    (i >> 16) & 255, (i >> 8) & 255, i & 255,
+                    STATUSES[i % STATUSES.length], GROUPS[i % GROUPS.length]));
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, String>> readCached() {
+        return TestDataReader.readCsvData(filename);
+    }
+
+    /**
+     * 每次调用前更新修改时间使缓存失效，测量完整解析的开销
+     */
+    @Benchmark
+    public List<Map<String, String>> readUncached() throws IOException {
+        Files.setLastModifiedTime(file, FileTime.fromMillis(++modified * 1000));
+        return TestDataReader.readCsvData(filename);
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        try (Stream<Map<String, String>> stream = TestDataReader.streamCsvData(filename)) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+}
@@ -3,44 +3,114 @@ package com.assetmanagement.config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Properties;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * 全局唯一的配置入口
+ * 进程内只加载一次config.properties，文件变化时原子替换为新的快照
+ */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static final Properties properties = new Properties();
-    private static final String CONFIG_FILE = "src/main/resources/config/config.properties";
+    private static final String CONFIG_FILE = System.getProperty("config.file", "src/main/resources/config/config.properties");
+    private static final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
 
     static {
         try {
             logger.info("加载配置文件: {}", CONFIG_FILE);
-            properties.load(new FileInputStream(CONFIG_FILE));
+            snapshot.set(ConfigSnapshot.load(Paths.get(CONFIG_FILE)));
         } catch (IOException e) {
             logger.error("加载配置文件失败", e);
             throw new RuntimeException("无法加载配置文件", e);
         }
+        if (snapshot.get().getBoolean("config.watch.enabled", true)) {
+            startWatcher();
+        }
     }
 
     private ConfigManager() {
         // 私有构造函数，防止实例化
     }
 
+    /**
+     * 当前生效的配置快照
+     */
+    public static ConfigSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * 重新加载配置文件，解析失败时保留原快照
+     */
+    public static boolean reload() {
+        try {
+            snapshot.set(ConfigSnapshot.load(Paths.get(CONFIG_FILE)));
+            logger.info("配置文件已重新加载: {}", CONFIG_FILE);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("重新加载配置文件失败，继续使用原配置: {}", e.getMessage());
+            return false;
+        }
+    }
+
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return current().get(key);
     }
 
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        return current().get(key, defaultValue);
     }
 
     public static int getIntProperty(String key, int defaultValue) {
-        String value = properties.getProperty(key);
-        return value != null ? Integer.parseInt(value) : defaultValue;
+        return current().getInt(key, defaultValue);
     }
 
     public static boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = properties.getProperty(key);
-        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+        return current().getBoolean(key, defaultValue);
+    }
+
+    private static void startWatcher() {
+        Path file = Paths.get(CONFIG_FILE).toAbsolutePath();
+        Path dir = file.getParent();
+        Thread watcher = new Thread(() -> watch(dir, file.getFileName()), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private static void watch(Path dir, Path fileName) {
+        try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+            logger.debug("开始监听配置文件变化: {}", dir.resolve(fileName));
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    // 编辑器保存时可能连续触发多次事件，稍等文件写完再加载
+                    Thread.sleep(100);
+                    key.pollEvents();
+                    reload();
+                }
+                if (!key.reset()) {
+                    logger.warn("配置目录不可再监听: {}", dir);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.warn("无法监听配置文件变化，热加载不可用: {}", e.getMessage());
+        }
     }
-} 
\ No newline at end of file
+}
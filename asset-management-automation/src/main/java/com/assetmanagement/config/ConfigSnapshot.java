@@ -0,0 +1,130 @@
+package com.assetmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 不可变的配置快照，加载时一次性解析所有${...}变量
+ * 读取只是一次不加锁的Map查找，可在并行测试中自由共享
+ */
+public final class ConfigSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
+    private static final int MAX_RESOLVE_DEPTH = 16;
+
+    private final Map<String, String> values;
+    private final Instant loadedAt;
+
+    private ConfigSnapshot(Map<String, String> values, Instant loadedAt) {
+        this.values = values;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * 按UTF-8读取配置文件（Properties.load(InputStream)固定按ISO-8859-1解码，中文值会变成乱码）
+     */
+    public static ConfigSnapshot load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        }
+        return of(properties);
+    }
+
+    public static ConfigSnapshot of(Properties properties) {
+        Map<String, String> raw = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            raw.put(name, properties.getProperty(name));
+        }
+        Map<String, String> resolved = new HashMap<>();
+        for (Map.Entry<String, String> entry : raw.entrySet()) {
+            resolved.put(entry.getKey(), resolve(entry.getValue(), raw, 0));
+        }
+        return new ConfigSnapshot(Map.copyOf(resolved), Instant.now());
+    }
+
+    private static String resolve(String value, Map<String, String> raw, int depth) {
+        if (value == null || value.indexOf("${") < 0) {
+            return value;
+        }
+        if (depth >= MAX_RESOLVE_DEPTH) {
+            logger.warn("配置变量嵌套过深，可能存在循环引用: {}", value);
+            return value;
+        }
+
+        Matcher matcher = VARIABLE_PATTERN.matcher(value);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String varName = matcher.group(1);
+            String replacement = raw.get(varName);
+
+            if (replacement == null) {
+                logger.warn("Variable ${" + varName + "} not found in properties");
+                replacement = matcher.group(0); // 保持原样
+            } else {
+                // 递归解析变量
+                replacement = resolve(replacement, raw, depth + 1);
+            }
+
+            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    public String get(String key, String defaultValue) {
+        String value = values.get(key);
+        if (value != null) {
+            return value;
+        }
+        return resolve(defaultValue, values, 0);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isBlank() ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isBlank() ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isBlank() ? Double.parseDouble(value.trim()) : defaultValue;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value != null && !value.isBlank() ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public Map<String, String> asMap() {
+        return values;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+}
@@ -0,0 +1,109 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.utils.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * 并发用户模拟的参数：用户数、爬坡时间、思考时间和稳定运行时长
+ */
+public class LoadProfile {
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int users;
+    private final Duration rampUp;
+    private final Duration thinkTime;
+    private final Duration thinkJitter;
+    private final Duration duration;
+    private final String searchType;
+    private final String searchValue;
+
+    public LoadProfile(String baseUrl, String username, String password, int users, Duration rampUp,
+                       Duration thinkTime, Duration thinkJitter, Duration duration,
+                       String searchType, String searchValue) {
+        if (users < 1) {
+            throw new IllegalArgumentException("并发用户数必须大于0: " + users);
+        }
+        this.baseUrl = baseUrl;
+        this.username = username;
+        this.password = password;
+        this.users = users;
+        this.rampUp = rampUp;
+        this.thinkTime = thinkTime;
+        this.thinkJitter = thinkJitter;
+        this.duration = duration;
+        this.searchType = searchType;
+        this.searchValue = searchValue;
+    }
+
+    /**
+     * 从load.*配置项读取，账号和地址与功能测试共用
+     */
+    public static LoadProfile fromConfig(ConfigReader config) {
+        return new LoadProfile(
+            config.getBaseUrl(),
+            config.getProperty("load.username", config.getUsername()),
+            config.getProperty("load.password", config.getPassword()),
+            config.getIntProperty("load.users", 20),
+            Duration.ofSeconds(config.getIntProperty("load.rampup.seconds", 30)),
+            Duration.ofMillis(config.getIntProperty("load.think.time.ms", 2000)),
+            Duration.ofMillis(config.getIntProperty("load.think.jitter.ms", 1000)),
+            Duration.ofSeconds(config.getIntProperty("load.duration.seconds", 300)),
+            config.getProperty("load.search.type", "资产名称"),
+            config.getProperty("load.search.value", "test-PC-1"));
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getLoginUrl() {
+        return baseUrl + "/login";
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public Duration getThinkJitter() {
+        return thinkJitter;
+    }
+
+    /**
+     * 所有用户启动后的稳定运行时长
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public String getSearchType() {
+        return searchType;
+    }
+
+    public String getSearchValue() {
+        return searchValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users=%d, rampUp=%ds, thinkTime=%dms±%dms, duration=%ds, baseUrl=%s",
+            users, rampUp.toSeconds(), thinkTime.toMillis(), thinkJitter.toMillis(), duration.toSeconds(), baseUrl);
+    }
+}
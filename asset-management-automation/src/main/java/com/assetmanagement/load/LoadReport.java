@@ -0,0 +1,119 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.metrics.LatencyHistogram;
+import com.assetmanagement.metrics.MetricsRegistry;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 一次并发模拟的结果：每个步骤的吞吐量和延迟百分位
+ */
+public class LoadReport {
+    private static final Logger logger = LoggerFactory.getLogger(LoadReport.class);
+
+    private final LoadProfile profile;
+    private final MetricsRegistry registry;
+    private final Duration elapsed;
+
+    public LoadReport(LoadProfile profile, MetricsRegistry registry, Duration elapsed) {
+        this.profile = profile;
+        this.registry = registry;
+        this.elapsed = elapsed;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public long getCount(String step) {
+        LatencyHistogram histogram = registry.getHistograms().get(step);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    public long getErrors(String step) {
+        return registry.getErrorCount(step);
+    }
+
+    /**
+     * 每秒完成的步骤数，按整个模拟的耗时计算
+     */
+    public double getThroughput(String step) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        return seconds == 0 ? 0 : getCount(step) / seconds;
+    }
+
+    public long getTotalErrors() {
+        long total = 0;
+        for (String step : registry.getHistograms().keySet()) {
+            total += registry.getErrorCount(step);
+        }
+        return total;
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        out.append("并发模拟: ").append(profile).append('\n');
+        out.append(String.format(Locale.ROOT, "总耗时: %.1fs%n", elapsed.toMillis() / 1000.0));
+        out.append(String.format("%-16s %8s %8s %10s %10s %10s %10s %10s%n",
+            "步骤", "次数", "失败", "吞吐(/s)", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.append(String.format(Locale.ROOT, "%-16s %8d %8d %10.2f %10.1f %10.1f %10.1f %10.1f%n",
+                entry.getKey(), histogram.getTotalCount(), registry.getErrorCount(entry.getKey()),
+                getThroughput(entry.getKey()),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    public String toJson() {
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> step = new LinkedHashMap<>();
+            step.put("count", histogram.getTotalCount());
+            step.put("errors", registry.getErrorCount(entry.getKey()));
+            step.put("throughputPerSecond", getThroughput(entry.getKey()));
+            step.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+            step.put("p95Ms", histogram.getValueAtPercentile(95) / 1000.0);
+            step.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+            step.put("maxMs", histogram.getMax() / 1000.0);
+            steps.put(entry.getKey(), step);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("users", profile.getUsers());
+        root.put("rampUpSeconds", profile.getRampUp().toSeconds());
+        root.put("durationSeconds", profile.getDuration().toSeconds());
+        root.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        root.put("steps", steps);
+        return new Json().toJson(root);
+    }
+
+    /**
+     * 写出load-report.json、load-report.txt和Prometheus格式的load-latency.prom
+     */
+    public void write(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("load-report.json"), toJson(), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("load-report.txt"), toText(), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("load-latency.prom"), registry.toPrometheus(), StandardCharsets.UTF_8);
+            logger.info("并发模拟报告已写入: {}", dir.resolve("load-report.json"));
+        } catch (IOException e) {
+            logger.error("写入并发模拟报告失败: {}", e.getMessage());
+        }
+    }
+}
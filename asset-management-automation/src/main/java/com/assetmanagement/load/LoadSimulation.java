@@ -0,0 +1,188 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.metrics.MetricsRegistry;
+import com.assetmanagement.pages.AssetPage;
+import com.assetmanagement.pages.LoginPage;
+import com.assetmanagement.utils.CaptchaHandler;
+import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.utils.LoginHelper;
+import com.assetmanagement.utils.WebDriverManager;
+import com.assetmanagement.utils.WebDriverPool;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 基于真实浏览器的并发用户模拟
+ * 每个虚拟用户占用一个无头会话，按爬坡时间依次启动，登录后循环执行资产搜索，步骤之间按思考时间停顿
+ * 复用LoginPage和AssetPage的操作作为用户旅程，按步骤统计吞吐量和延迟百分位
+ */
+public class LoadSimulation {
+    private static final Logger logger = LoggerFactory.getLogger(LoadSimulation.class);
+
+    public static final String STEP_LOGIN = "login";
+    public static final String STEP_NAVIGATE = "navigate";
+    public static final String STEP_SEARCH = "search";
+    public static final String STEP_CHECK_RESULT = "checkResult";
+
+    private final LoadProfile profile;
+    private final Supplier<WebDriver> driverFactory;
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    public LoadSimulation(LoadProfile profile) {
+        this(profile, () -> WebDriverManager.createDriver(true));
+    }
+
+    public LoadSimulation(LoadProfile profile, Supplier<WebDriver> driverFactory) {
+        this.profile = profile;
+        this.driverFactory = driverFactory;
+    }
+
+    /**
+     * 运行模拟直到所有用户启动并持续运行配置的时长，返回统计结果
+     */
+    public LoadReport run() {
+        logger.info("开始并发模拟: {}", profile);
+        int users = profile.getUsers();
+        Duration total = profile.getRampUp().plus(profile.getDuration());
+        WebDriverPool pool = new WebDriverPool(driverFactory, users, Integer.MAX_VALUE, total.plusMinutes(1));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(users,
+            runnable -> new Thread(runnable, "load-user-" + threadNumber.incrementAndGet()));
+        long start = System.nanoTime();
+        long deadline = start + total.toNanos();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < users; i++) {
+                long startAt = start + profile.getRampUp().toNanos() * i / users;
+                futures.add(executor.submit(() -> runUser(pool, startAt, deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("并发模拟被中断", e);
+        } catch (Exception e) {
+            throw new RuntimeException("并发模拟执行失败", e);
+        } finally {
+            executor.shutdownNow();
+            pool.shutdown();
+        }
+
+        LoadReport report = new LoadReport(profile, registry, Duration.ofNanos(System.nanoTime() - start));
+        logger.info("并发模拟结束\n{}", report.toText());
+        return report;
+    }
+
+    private void runUser(WebDriverPool pool, long startAt, long deadline) {
+        ConfigReader config = new ConfigReader();
+        WebDriver driver = null;
+        AssetPage assetPage = null;
+        try {
+            sleepUntil(startAt);
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                try {
+                    if (driver == null) {
+                        driver = pool.lease();
+                        assetPage = null;
+                    }
+                    if (assetPage == null) {
+                        LoginPage loginPage = new LoginPage(driver,
+                            new LoginHelper(driver, config), new CaptchaHandler(driver, config));
+                        step(STEP_LOGIN, () -> {
+                            loginPage.navigateToLoginPage(profile.getLoginUrl());
+                            loginPage.login(profile.getUsername(), profile.getPassword());
+                        });
+                        AssetPage page = new AssetPage(driver);
+                        step(STEP_NAVIGATE, page::navigateToAssetManagement);
+                        assetPage = page;
+                        think(deadline);
+                        continue;
+                    }
+
+                    AssetPage page = assetPage;
+                    step(STEP_SEARCH, () -> page.searchAsset(profile.getSearchType(), profile.getSearchValue()));
+                    long checkStart = System.nanoTime();
+                    boolean found = page.isAssetFound(profile.getSearchValue());
+                    record(STEP_CHECK_RESULT, System.nanoTime() - checkStart, found);
+                    think(deadline);
+                } catch (RuntimeException e) {
+                    // 会话状态不可信，换一个会话重新登录
+                    logger.warn("虚拟用户执行失败，重新登录: {}", e.getMessage());
+                    pool.invalidate(driver);
+                    driver = null;
+                    assetPage = null;
+                    think(deadline);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (driver != null) {
+                pool.release(driver);
+            }
+        }
+    }
+
+    private void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            action.run();
+            success = true;
+        } finally {
+            record(name, System.nanoTime() - start, success);
+        }
+    }
+
+    private void record(String name, long nanos, boolean success) {
+        registry.histogram(name).recordNanos(nanos);
+        if (!success) {
+            registry.recordError(name);
+        }
+    }
+
+    private void think(long deadline) throws InterruptedException {
+        long think = profile.getThinkTime().toMillis();
+        long jitter = profile.getThinkJitter().toMillis();
+        if (jitter > 0) {
+            think += ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+        }
+        long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        long pause = Math.min(Math.max(think, 0), Math.max(remaining, 0));
+        if (pause > 0) {
+            Thread.sleep(pause);
+        }
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * 按load.*配置运行一次并发模拟，报告写入load.report.dir
+     */
+    public static void main(String[] args) {
+        LoadReport report = new LoadSimulation(LoadProfile.fromConfig(new ConfigReader())).run();
+        report.write(Paths.get(ConfigManager.current().get("load.report.dir", "target/load")));
+        System.exit(report.getTotalErrors() == 0 ? 0 : 1);
+    }
+}
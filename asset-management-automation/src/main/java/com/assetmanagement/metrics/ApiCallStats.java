@@ -0,0 +1,142 @@
+package com.assetmanagement.metrics;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 整个测试运行中浏览器发出的接口请求统计，按"方法 路径"归类（数字和长十六进制的路径段归并为{id}）
+ * 运行结束时导出最慢接口排行
+ */
+public class ApiCallStats {
+    private static final Logger logger = LoggerFactory.getLogger(ApiCallStats.class);
+    private static final ApiCallStats GLOBAL = new ApiCallStats();
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+|[0-9a-fA-F-]{16,})(?=/|$)");
+
+    private final Map<String, Stat> stats = new ConcurrentHashMap<>();
+
+    public static ApiCallStats global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 记录一次请求，totalMillis为请求开始到响应体接收完毕，waitMillis为首字节时间（TTFB）
+     */
+    public void record(String method, String url, String action, double totalMillis, double waitMillis, int status) {
+        Stat stat = stats.computeIfAbsent(method + " " + normalize(url), key -> new Stat());
+        synchronized (stat) {
+            stat.total.recordValue(Math.round(totalMillis * 1000));
+            if (waitMillis >= 0) {
+                stat.wait.recordValue(Math.round(waitMillis * 1000));
+            }
+            if (status == 0 || status >= 400) {
+                stat.errors++;
+            }
+            if (action != null) {
+                stat.actions.merge(action, 1, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * 去掉协议、主机和查询参数，只保留路径
+     */
+    static String normalize(String url) {
+        String path = url;
+        int scheme = path.indexOf("://");
+        if (scheme >= 0) {
+            int slash = path.indexOf('/', scheme + 3);
+            path = slash < 0 ? "/" : path.substring(slash);
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        int fragment = path.indexOf('#');
+        if (fragment >= 0) {
+            path = path.substring(0, fragment);
+        }
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+
+    /**
+     * 按p95从慢到快排列的接口
+     */
+    public List<Map<String, Object>> getSlowest(int limit) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<String, Stat> entry : stats.entrySet()) {
+            Stat stat = entry.getValue();
+            synchronized (stat) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("api", entry.getKey());
+                row.put("count", stat.total.getTotalCount());
+                row.put("errors", stat.errors);
+                row.put("meanMs", toMillis(stat.total.getMean()));
+                row.put("p95Ms", toMillis(stat.total.getValueAtPercentile(95)));
+                row.put("maxMs", toMillis(stat.total.getMax()));
+                row.put("ttfbP95Ms", toMillis(stat.wait.getValueAtPercentile(95)));
+                row.put("actions", new LinkedHashMap<>(stat.actions));
+                rows.add(row);
+            }
+        }
+        rows.sort(Comparator.comparingDouble((Map<String, Object> row) -> (Double) row.get("p95Ms")).reversed());
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+    public String toText(int limit) {
+        StringBuilder text = new StringBuilder(String.format("%-60s %6s %6s %10s %10s %10s %10s%n",
+            "接口", "次数", "失败", "平均(ms)", "p95(ms)", "最大(ms)", "TTFB p95"));
+        for (Map<String, Object> row : getSlowest(limit)) {
+            text.append(String.format(Locale.ROOT, "%-60s %6d %6d %10.1f %10.1f %10.1f %10.1f%n",
+                row.get("api"), row.get("count"), row.get("errors"), row.get("meanMs"), row.get("p95Ms"),
+                row.get("maxMs"), row.get("ttfbP95Ms")));
+        }
+        return text.toString();
+    }
+
+    /**
+     * 写出slowest-api.json和slowest-api.txt，没有采集到请求时不写
+     */
+    public void export(Path dir, int limit) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("slowest-api.json"), new Json().toJson(getSlowest(limit)), StandardCharsets.UTF_8);
+            String table = toText(limit);
+            Files.writeString(dir.resolve("slowest-api.txt"), table, StandardCharsets.UTF_8);
+            logger.info("最慢接口排行:{}{}", System.lineSeparator(), table);
+        } catch (IOException e) {
+            logger.error("导出接口统计失败: {}", e.getMessage());
+        }
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    private static class Stat {
+        private final LatencyHistogram total = new LatencyHistogram();
+        private final LatencyHistogram wait = new LatencyHistogram();
+        private final Map<String, Integer> actions = new LinkedHashMap<>();
+        private long errors;
+    }
+}
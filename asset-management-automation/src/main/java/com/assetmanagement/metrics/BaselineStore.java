@@ -0,0 +1,239 @@
+package com.assetmanagement.metrics;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * 基于文件的性能基线库，每次运行的步骤耗时样本按"测试|步骤"保存为<dir>/<环境>/runs/下的一个JSON文件
+ * 只保留最近baseline.keep.runs次运行；被判定为退化的步骤会记在该次运行中，之后不再作为基线
+ */
+public class BaselineStore {
+    private static final Logger logger = LoggerFactory.getLogger(BaselineStore.class);
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+    // 本次运行中成功步骤的耗时（毫秒），键为"测试|步骤"
+    private static final Map<String, List<Double>> currentRun = new ConcurrentHashMap<>();
+
+    private final Path dir;
+    private final int keepRuns;
+
+    public BaselineStore(Path dir, int keepRuns) {
+        this.dir = dir;
+        this.keepRuns = keepRuns;
+    }
+
+    /**
+     * 基线目录为baseline.dir/<baseline.env>，未配置环境时取base.url的主机名
+     */
+    public static BaselineStore fromConfig() {
+        ConfigSnapshot config = ConfigManager.current();
+        String env = config.get("baseline.env", "").trim();
+        if (env.isEmpty()) {
+            env = hostOf(config.get("base.url", "default"));
+        }
+        return new BaselineStore(Paths.get(config.get("baseline.dir", "target/baseline"), sanitize(env)),
+            config.getInt("baseline.keep.runs", 30));
+    }
+
+    public static String key(String test, String step) {
+        return test + "|" + step;
+    }
+
+    public static String stepOf(String key) {
+        return key.substring(key.indexOf('|') + 1);
+    }
+
+    public static String testOf(String key) {
+        int separator = key.indexOf('|');
+        return separator < 0 ? "" : key.substring(0, separator);
+    }
+
+    /**
+     * 记录本次运行中一个成功步骤的耗时
+     */
+    public static void record(String test, String step, double millis) {
+        currentRun.computeIfAbsent(key(test, step), k -> Collections.synchronizedList(new ArrayList<>())).add(millis);
+    }
+
+    /**
+     * 取出本次运行的样本并清空
+     */
+    public static Map<String, List<Double>> drainCurrentRun() {
+        Map<String, List<Double>> samples = new TreeMap<>();
+        for (String key : new ArrayList<>(currentRun.keySet())) {
+            List<Double> values = currentRun.remove(key);
+            if (values != null) {
+                synchronized (values) {
+                    samples.put(key, new ArrayList<>(values));
+                }
+            }
+        }
+        return samples;
+    }
+
+    public Path getDirectory() {
+        return dir;
+    }
+
+    /**
+     * 保存一次运行的样本并清理超出保留数量的旧运行，没有样本时不保存
+     */
+    public Path saveRun(Map<String, List<Double>> samples) {
+        if (samples.isEmpty()) {
+            return null;
+        }
+        Instant now = Instant.now();
+        // 文件名按时间排序，同一毫秒内保存多次时顺延
+        while (Files.exists(runsDir().resolve(RUN_ID.format(now) + ".json"))) {
+            now = now.plusMillis(1);
+        }
+        Run run = new Run(runsDir().resolve(RUN_ID.format(now) + ".json"), now.toString(), samples, Set.of());
+        write(run);
+        prune();
+        logger.info("本次运行的步骤耗时已保存到基线库: {}", run.file);
+        return run.file;
+    }
+
+    /**
+     * 按时间从旧到新排列的全部运行
+     */
+    public List<Run> loadRuns() {
+        Path runs = runsDir();
+        if (!Files.isDirectory(runs)) {
+            return List.of();
+        }
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(runs)) {
+            files = stream.filter(file -> file.getFileName().toString().endsWith(".json")).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("读取基线库失败: " + runs, e);
+        }
+        List<Run> result = new ArrayList<>();
+        for (Path file : files) {
+            Run run = read(file);
+            if (run != null) {
+                result.add(run);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 记录某次运行中被判定为退化的步骤，这些样本以后不再计入基线
+     */
+    public void markRegressions(Run run, Set<String> steps) {
+        write(new Run(run.file, run.startedAt, run.samples, steps));
+    }
+
+    private void prune() {
+        List<Run> runs = loadRuns();
+        for (int i = 0; i < runs.size() - keepRuns; i++) {
+            try {
+                Files.deleteIfExists(runs.get(i).file);
+            } catch (IOException e) {
+                logger.warn("删除旧的基线运行失败: {}", runs.get(i).file);
+            }
+        }
+    }
+
+    private Path runsDir() {
+        return dir.resolve("runs");
+    }
+
+    private void write(Run run) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("startedAt", run.startedAt);
+        json.put("regressions", new ArrayList<>(run.regressions));
+        json.put("samples", run.samples);
+        try {
+            Files.createDirectories(run.file.getParent());
+            Files.writeString(run.file, new Json().toJson(json), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入基线库失败: " + run.file, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Run read(Path file) {
+        try {
+            Map<String, Object> json = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Map<String, List<Double>> samples = new TreeMap<>();
+            ((Map<String, List<Number>>) json.getOrDefault("samples", Map.of())).forEach((key, values) ->
+                samples.put(key, values.stream().map(Number::doubleValue).toList()));
+            Set<String> regressions = new LinkedHashSet<>((List<String>) json.getOrDefault("regressions", List.of()));
+            return new Run(file, String.valueOf(json.get("startedAt")), samples, regressions);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("跳过无法解析的基线运行 {}: {}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host == null ? "default" : host;
+        } catch (IllegalArgumentException e) {
+            return "default";
+        }
+    }
+
+    private static String sanitize(String env) {
+        return env.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    /**
+     * 一次运行的样本
+     */
+    public static class Run {
+        private final Path file;
+        private final String startedAt;
+        private final Map<String, List<Double>> samples;
+        private final Set<String> regressions;
+
+        Run(Path file, String startedAt, Map<String, List<Double>> samples, Set<String> regressions) {
+            this.file = file;
+            this.startedAt = startedAt;
+            this.samples = samples;
+            this.regressions = regressions;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public String getStartedAt() {
+            return startedAt;
+        }
+
+        public Map<String, List<Double>> getSamples() {
+            return samples;
+        }
+
+        public Set<String> getRegressions() {
+            return regressions;
+        }
+    }
+}
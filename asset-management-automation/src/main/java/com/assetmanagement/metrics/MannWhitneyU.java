@@ -0,0 +1,73 @@
+package com.assetmanagement.metrics;
+
+import java.util.Arrays;
+
+/**
+ * 单侧Mann-Whitney U检验：当前样本是否整体大于基线样本
+ * 不假设耗时服从正态分布，对少量离群值不敏感；使用带并列校正和连续性校正的正态近似
+ */
+final class MannWhitneyU {
+
+    private MannWhitneyU() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 返回当前样本大于基线的单侧p值，任一样本为空时返回1
+     */
+    static double pValueGreater(double[] baseline, double[] current) {
+        int n1 = baseline.length;
+        int n2 = current.length;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        int n = n1 + n2;
+        double[][] all = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new double[]{baseline[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new double[]{current[i], 1};
+        }
+        Arrays.sort(all, (a, b) -> Double.compare(a[0], b[0]));
+
+        double rankSumCurrent = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j + 1 < n && all[j + 1][0] == all[i][0]) {
+                j++;
+            }
+            // 并列值取平均秩
+            double rank = (i + j) / 2.0 + 1;
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            for (int k = i; k <= j; k++) {
+                if (all[k][1] == 1) {
+                    rankSumCurrent += rank;
+                }
+            }
+            i = j + 1;
+        }
+
+        double u = rankSumCurrent - n2 * (n2 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (u - mean - 0.5) / Math.sqrt(variance);
+        return 1.0 - normalCdf(z);
+    }
+
+    /**
+     * 标准正态分布函数，误差函数用Abramowitz-Stegun 7.1.26近似（误差小于1.5e-7）
+     */
+    static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1.0 - (((((1.061405429 * t - 1.453152027) * t) + 1.421413741) * t - 0.284496736) * t
+            + 0.254829592) * t * Math.exp(-x * x);
+        return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+    }
+}
@@ -0,0 +1,137 @@
+package com.assetmanagement.metrics;
+
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按名称登记延迟直方图和失败次数，整个测试运行共享一个全局实例
+ * 运行结束时导出为JSON和Prometheus文本格式
+ */
+public class MetricsRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsRegistry.class);
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+    private static final double[] PERCENTILES = {50, 95, 99};
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public void recordError(String name) {
+        errors.computeIfAbsent(name, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    public long getErrorCount(String name) {
+        AtomicLong count = errors.get(name);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * 按名称排序的直方图视图
+     */
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public void reset() {
+        histograms.clear();
+        errors.clear();
+    }
+
+    public String toJson() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getTotalCount());
+            summary.put("errors", getErrorCount(entry.getKey()));
+            summary.put("minMs", toMillis(histogram.getMin()));
+            summary.put("meanMs", toMillis(histogram.getMean()));
+            for (double percentile : PERCENTILES) {
+                summary.put("p" + (int) percentile + "Ms", toMillis(histogram.getValueAtPercentile(percentile)));
+            }
+            summary.put("maxMs", toMillis(histogram.getMax()));
+            summary.put("totalMs", toMillis(histogram.getSum()));
+            metrics.put(entry.getKey(), summary);
+        }
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("startedAt", startedAt.toString());
+        root.put("exportedAt", Instant.now().toString());
+        root.put("metrics", metrics);
+        return new Json().toJson(root);
+    }
+
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP automation_latency_seconds Latency of timed framework actions\n");
+        out.append("# TYPE automation_latency_seconds summary\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            String label = "name=\"" + escape(entry.getKey()) + "\"";
+            LatencyHistogram histogram = entry.getValue();
+            for (double percentile : PERCENTILES) {
+                out.append(String.format(Locale.ROOT, "automation_latency_seconds{%s,quantile=\"%s\"} %.6f%n",
+                    label, percentile / 100, toSeconds(histogram.getValueAtPercentile(percentile))));
+            }
+            out.append(String.format(Locale.ROOT, "automation_latency_seconds_sum{%s} %.6f%n",
+                label, toSeconds(histogram.getSum())));
+            out.append(String.format(Locale.ROOT, "automation_latency_seconds_count{%s} %d%n",
+                label, histogram.getTotalCount()));
+        }
+        out.append("# HELP automation_errors_total Failed timed framework actions\n");
+        out.append("# TYPE automation_errors_total counter\n");
+        for (String name : new TreeMap<>(errors).keySet()) {
+            out.append(String.format(Locale.ROOT, "automation_errors_total{name=\"%s\"} %d%n",
+                escape(name), getErrorCount(name)));
+        }
+        return out.toString();
+    }
+
+    /**
+     * 写出<prefix>.json和<prefix>.prom两个文件
+     */
+    public void export(Path dir, String prefix) {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve(prefix + ".json"), toJson(), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve(prefix + ".prom"), toPrometheus(), StandardCharsets.UTF_8);
+            logger.info("耗时统计已导出到: {}", dir.resolve(prefix + ".json"));
+        } catch (IOException e) {
+            logger.error("导出耗时统计失败: {}", e.getMessage());
+        }
+    }
+
+    private static double toMillis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+
+    private static double toSeconds(double micros) {
+        return micros / 1_000_000.0;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
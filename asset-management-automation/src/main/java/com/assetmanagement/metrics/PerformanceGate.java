@@ -0,0 +1,312 @@
+package com.assetmanagement.metrics;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 性能回归门禁：把最近一次运行的步骤耗时与之前若干次运行组成的滚动基线比较
+ * 只有同时满足统计显著（单侧Mann-Whitney U检验）、中位数变慢比例和绝对增量三个条件才判定为退化，
+ * 单次抖动或样本太少的步骤不会导致构建失败
+ */
+public class PerformanceGate {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceGate.class);
+
+    private final int window;
+    private final int minCurrentSamples;
+    private final int minBaselineSamples;
+    private final int minBaselineRuns;
+    private final double alpha;
+    private final double minSlowdown;
+    private final double minDeltaMillis;
+
+    public PerformanceGate(int window, int minCurrentSamples, int minBaselineSamples, int minBaselineRuns,
+                           double alpha, double minSlowdown, double minDeltaMillis) {
+        this.window = window;
+        this.minCurrentSamples = minCurrentSamples;
+        this.minBaselineSamples = minBaselineSamples;
+        this.minBaselineRuns = minBaselineRuns;
+        this.alpha = alpha;
+        this.minSlowdown = minSlowdown;
+        this.minDeltaMillis = minDeltaMillis;
+    }
+
+    public static PerformanceGate fromConfig() {
+        ConfigSnapshot config = ConfigManager.current();
+        return new PerformanceGate(
+            config.getInt("baseline.window", 10),
+            config.getInt("baseline.min.samples", 3),
+            config.getInt("baseline.min.baseline.samples", 10),
+            config.getInt("baseline.min.runs", 3),
+            config.getDouble("baseline.alpha", 0.01),
+            config.getDouble("baseline.min.slowdown", 0.2),
+            config.getDouble("baseline.min.delta.ms", 50));
+    }
+
+    /**
+     * 以runs中最后一次运行为当前运行，之前最多window次运行为基线
+     * 按步骤比较（环境已由基线目录区分），同一步骤在不同测试中的样本合并，测试名只用于报告；
+     * 基线中已被判定为退化的步骤样本不参与比较
+     */
+    public Report evaluate(List<BaselineStore.Run> runs) {
+        if (runs.isEmpty()) {
+            return new Report(null, List.of());
+        }
+        BaselineStore.Run current = runs.get(runs.size() - 1);
+        List<BaselineStore.Run> history = runs.subList(Math.max(0, runs.size() - 1 - window), runs.size() - 1);
+
+        Map<String, List<Double>> currentByStep = byStep(current);
+        List<Finding> findings = new ArrayList<>();
+        for (Map.Entry<String, List<Double>> entry : currentByStep.entrySet()) {
+            String step = entry.getKey();
+            List<Double> baseline = new ArrayList<>();
+            int baselineRuns = 0;
+            for (BaselineStore.Run run : history) {
+                List<Double> values = byStep(run).get(step);
+                if (values != null && !values.isEmpty() && !run.getRegressions().contains(step)) {
+                    baseline.addAll(values);
+                    baselineRuns++;
+                }
+            }
+            Finding finding = compare(step, toArray(baseline), baselineRuns, toArray(entry.getValue()));
+            finding.tests.addAll(testsOf(current, step));
+            findings.add(finding);
+        }
+        return new Report(current, findings);
+    }
+
+    private static Map<String, List<Double>> byStep(BaselineStore.Run run) {
+        Map<String, List<Double>> steps = new TreeMap<>();
+        run.getSamples().forEach((key, values) ->
+            steps.computeIfAbsent(BaselineStore.stepOf(key), k -> new ArrayList<>()).addAll(values));
+        return steps;
+    }
+
+    private static Set<String> testsOf(BaselineStore.Run run, String step) {
+        Set<String> tests = new TreeSet<>();
+        for (String key : run.getSamples().keySet()) {
+            if (BaselineStore.stepOf(key).equals(step)) {
+                tests.add(BaselineStore.testOf(key));
+            }
+        }
+        return tests;
+    }
+
+    Finding compare(String key, double[] baseline, int baselineRuns, double[] current) {
+        double baselineMedian = median(baseline);
+        double currentMedian = median(current);
+        if (current.length < minCurrentSamples || baseline.length < minBaselineSamples || baselineRuns < minBaselineRuns) {
+            return new Finding(key, Status.INSUFFICIENT, baselineMedian, currentMedian, current.length, baseline.length, Double.NaN);
+        }
+        double slower = MannWhitneyU.pValueGreater(baseline, current);
+        double faster = MannWhitneyU.pValueGreater(current, baseline);
+        double delta = currentMedian - baselineMedian;
+        Status status = Status.OK;
+        if (slower < alpha && delta >= minDeltaMillis && currentMedian >= baselineMedian * (1 + minSlowdown)) {
+            status = Status.REGRESSION;
+        } else if (faster < alpha && -delta >= minDeltaMillis && baselineMedian >= currentMedian * (1 + minSlowdown)) {
+            status = Status.IMPROVED;
+        }
+        return new Finding(key, status, baselineMedian, currentMedian, current.length, baseline.length,
+            status == Status.IMPROVED ? faster : slower);
+    }
+
+    static double median(double[] values) {
+        if (values.length == 0) {
+            return Double.NaN;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static double[] toArray(List<Double> values) {
+        return values == null ? new double[0] : values.stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    /**
+     * 在perf-gate构建阶段运行：生成回归报告，有退化且baseline.gate.fail=true时以非零状态退出
+     */
+    public static void main(String[] args) {
+        ConfigSnapshot config = ConfigManager.current();
+        BaselineStore store = BaselineStore.fromConfig();
+        Report report = fromConfig().evaluate(store.loadRuns());
+        report.write(Paths.get(config.get("baseline.report.dir", "target/metrics")));
+        if (report.getCurrent() != null && !report.getRegressions().isEmpty()) {
+            store.markRegressions(report.getCurrent(), report.getRegressions());
+        }
+        System.out.print(report.toText());
+        boolean failed = !report.getRegressions().isEmpty() && config.getBoolean("baseline.gate.fail", true);
+        System.exit(failed ? 1 : 0);
+    }
+
+    public enum Status {
+        REGRESSION, IMPROVED, OK, INSUFFICIENT
+    }
+
+    /**
+     * 单个步骤的比较结果
+     */
+    public static class Finding {
+        private final String key;
+        private final Status status;
+        private final double baselineMedian;
+        private final double currentMedian;
+        private final int currentSamples;
+        private final int baselineSamples;
+        private final double pValue;
+        // 当前运行中产生该步骤样本的测试
+        private final Set<String> tests = new TreeSet<>();
+
+        Finding(String key, Status status, double baselineMedian, double currentMedian,
+                int currentSamples, int baselineSamples, double pValue) {
+            this.key = key;
+            this.status = status;
+            this.baselineMedian = baselineMedian;
+            this.currentMedian = currentMedian;
+            this.currentSamples = currentSamples;
+            this.baselineSamples = baselineSamples;
+            this.pValue = pValue;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public double getBaselineMedian() {
+            return baselineMedian;
+        }
+
+        public double getCurrentMedian() {
+            return currentMedian;
+        }
+
+        public double getPValue() {
+            return pValue;
+        }
+
+        public Set<String> getTests() {
+            return tests;
+        }
+
+        /**
+         * 当前中位数相对基线中位数的倍数
+         */
+        public double getRatio() {
+            return baselineMedian > 0 ? currentMedian / baselineMedian : Double.NaN;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("key", key);
+            map.put("status", status.name());
+            map.put("baselineMedianMs", round(baselineMedian));
+            map.put("currentMedianMs", round(currentMedian));
+            map.put("ratio", round(getRatio()));
+            map.put("pValue", Double.isNaN(pValue) ? null : pValue);
+            map.put("baselineSamples", baselineSamples);
+            map.put("currentSamples", currentSamples);
+            map.put("tests", new ArrayList<>(tests));
+            return map;
+        }
+
+        private static Object round(double value) {
+            return Double.isNaN(value) ? null : Math.round(value * 100) / 100.0;
+        }
+    }
+
+    /**
+     * 一次门禁检查的报告
+     */
+    public static class Report {
+        private final BaselineStore.Run current;
+        private final List<Finding> findings;
+
+        Report(BaselineStore.Run current, List<Finding> findings) {
+            this.current = current;
+            this.findings = findings;
+        }
+
+        public BaselineStore.Run getCurrent() {
+            return current;
+        }
+
+        public List<Finding> getFindings() {
+            return findings;
+        }
+
+        public Set<String> getRegressions() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Finding finding : findings) {
+                if (finding.status == Status.REGRESSION) {
+                    keys.add(finding.key);
+                }
+            }
+            return keys;
+        }
+
+        public String toText() {
+            if (current == null) {
+                return "基线库中没有运行记录，跳过性能回归检查" + System.lineSeparator();
+            }
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("性能回归检查 (当前运行: %s, 退化: %d)%n", current.getStartedAt(), getRegressions().size()));
+            text.append(String.format("%-12s %12s %12s %8s %10s  %s%n", "状态", "基线中位(ms)", "当前中位(ms)", "倍数", "p值", "步骤"));
+            for (Finding finding : findings) {
+                text.append(String.format(Locale.ROOT, "%-12s %12.1f %12.1f %8.2f %10.4f  %s%n", finding.status,
+                    finding.baselineMedian, finding.currentMedian, finding.getRatio(), finding.pValue, finding.key));
+                if (finding.status == Status.REGRESSION) {
+                    text.append("             涉及测试: ").append(String.join(", ", finding.tests)).append(System.lineSeparator());
+                }
+            }
+            return text.toString();
+        }
+
+        public String toJson() {
+            Map<String, Object> root = new LinkedHashMap<>();
+            root.put("run", current == null ? null : current.getStartedAt());
+            root.put("regressions", new ArrayList<>(getRegressions()));
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (Finding finding : findings) {
+                rows.add(finding.toMap());
+            }
+            root.put("findings", rows);
+            return new Json().toJson(root);
+        }
+
+        public void write(Path dir) {
+            try {
+                Files.createDirectories(dir);
+                Files.writeString(dir.resolve("regression-report.txt"), toText(), StandardCharsets.UTF_8);
+                Files.writeString(dir.resolve("regression-report.json"), toJson(), StandardCharsets.UTF_8);
+                logger.info("性能回归报告已写入: {}", dir.resolve("regression-report.txt"));
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入性能回归报告失败: " + dir, e);
+            }
+        }
+    }
+}
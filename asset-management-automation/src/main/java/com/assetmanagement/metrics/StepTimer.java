@@ -0,0 +1,95 @@
+package com.assetmanagement.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 页面操作计时：耗时同时记入全局直方图和当前线程正在执行的测试
+ */
+public final class StepTimer {
+    private static final ThreadLocal<List<StepSample>> currentTest = new ThreadLocal<>();
+
+    private StepTimer() {
+        // 私有构造函数，防止实例化
+    }
+
+    public static void time(String step, Runnable action) {
+        time(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static <T> T time(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            record(step, System.nanoTime() - start, success);
+        }
+    }
+
+    public static void record(String step, long nanos, boolean success) {
+        MetricsRegistry registry = MetricsRegistry.global();
+        registry.histogram(step).recordNanos(nanos);
+        if (!success) {
+            registry.recordError(step);
+        }
+        List<StepSample> samples = currentTest.get();
+        if (samples != null) {
+            samples.add(new StepSample(step, nanos, success));
+        }
+    }
+
+    /**
+     * 开始收集当前线程上一个测试的步骤耗时
+     */
+    public static void beginTest() {
+        currentTest.set(new ArrayList<>());
+    }
+
+    /**
+     * 结束收集并返回该测试的步骤耗时，按执行顺序排列
+     */
+    public static List<StepSample> endTest() {
+        List<StepSample> samples = currentTest.get();
+        currentTest.remove();
+        return samples == null ? List.of() : Collections.unmodifiableList(samples);
+    }
+
+    /**
+     * 一次步骤执行的耗时
+     */
+    public static class StepSample {
+        private final String step;
+        private final long nanos;
+        private final boolean success;
+
+        StepSample(String step, long nanos, boolean success) {
+            this.step = step;
+            this.nanos = nanos;
+            this.success = success;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+    }
+}
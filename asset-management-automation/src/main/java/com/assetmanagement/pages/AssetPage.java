@@ -1,90 +1,227 @@
 package com.assetmanagement.pages;
 
+import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.utils.NetworkMonitor;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
-public class AssetPage {
+public class AssetPage extends BasePage implements AssetSearchPage {
     private static final Logger logger = LoggerFactory.getLogger(AssetPage.class);
-    private final WebDriver driver;
-    private final WebDriverWait wait;
 
-    @FindBy(xpath = "//a[contains(text(),'资产管理')]")
-    private WebElement assetManagementLink;
+    // 在浏览器内读取资产表格：按表头定位列，虚拟滚动的表格逐屏滚动收集，并点击下一页直到最后一页
+    // 每次调用最多读取maxPages页，未读完时hasMore为true
+    private static final String EXTRACT_ASSETS_SCRIPT =
+        "var root = arguments[0], headerMap = arguments[1], fields = arguments[2], nextSelector = arguments[3]," +
+        "    maxPages = arguments[4], settleMs = arguments[5], pageTimeoutMs = arguments[6]," +
+        "    done = arguments[arguments.length - 1];" +
+        "var records = [], pages = 0;" +
+        "function text(el) { return (el.innerText || el.textContent || '').trim(); }" +
+        "function columns() {" +
+        "  var headers = root.querySelectorAll('thead th, [role=columnheader]'), idx = {};" +
+        "  for (var i = 0; i < headers.length; i++) {" +
+        "    var field = headerMap[text(headers[i])];" +
+        "    if (field && !(field in idx)) { idx[field] = i; }" +
+        "  }" +
+        "  return idx;" +
+        "}" +
+        "function readRows(idx, seen) {" +
+        "  var rows = root.querySelectorAll('tbody tr');" +
+        "  for (var i = 0; i < rows.length; i++) {" +
+        "    var cells = rows[i].querySelectorAll('td, [role=cell], [role=gridcell]');" +
+        "    if (!cells.length) { continue; }" +
+        "    var key = rows[i].getAttribute('data-row-key') || rows[i].getAttribute('aria-rowindex') || text(rows[i]);" +
+        "    if (seen[key]) { continue; }" +
+        "    seen[key] = true;" +
+        "    records.push(fields.map(function (f) { return idx[f] === undefined || !cells[idx[f]] ? null : text(cells[idx[f]]); }));" +
+        "  }" +
+        "}" +
+        "function scroller() {" +
+        "  var s = root.querySelector('.el-table__body-wrapper, .el-scrollbar__wrap, [data-virtual-scroll]');" +
+        "  return s && s.scrollHeight > s.clientHeight + 1 ? s : null;" +
+        "}" +
+        "function readPage(next) {" +
+        "  var idx = columns(), seen = {}, s = scroller();" +
+        "  if (!s) { readRows(idx, seen); next(); return; }" +
+        "  s.scrollTop = 0;" +
+        "  (function step() {" +
+        "    setTimeout(function () {" +
+        "      readRows(idx, seen);" +
+        "      if (s.scrollTop + s.clientHeight >= s.scrollHeight - 1) { next(); return; }" +
+        "      s.scrollTop += s.clientHeight;" +
+        "      step();" +
+        "    }, settleMs);" +
+        "  })();" +
+        "}" +
+        "function nextButton() {" +
+        "  var b = nextSelector ? document.querySelector(nextSelector) : null;" +
+        "  return b && !b.disabled && !b.classList.contains('is-disabled') && b.getAttribute('aria-disabled') !== 'true' ? b : null;" +
+        "}" +
+        "function firstRow() { var r = root.querySelector('tbody tr'); return r ? text(r) : ''; }" +
+        "(function loop() {" +
+        "  readPage(function () {" +
+        "    pages++;" +
+        "    var b = nextButton();" +
+        "    if (!b || pages >= maxPages) { done({records: records, hasMore: !!b}); return; }" +
+        "    var before = firstRow(), waited = 0;" +
+        "    b.click();" +
+        "    (function waitForPage() {" +
+        "      if (firstRow() !== before) { loop(); return; }" +
+        "      if (waited >= pageTimeoutMs) { done({records: records, hasMore: true, error: 'page change timeout'}); return; }" +
+        "      waited += 50;" +
+        "      setTimeout(waitForPage, 50);" +
+        "    })();" +
+        "  });" +
+        "})();";
 
-    @FindBy(xpath = "//div[contains(@class,'asset-list')]")
-    private WebElement assetList;
+    private final String searchApi;
+    private final Map<String, String> gridColumns;
+    private final String nextPageSelector;
+    private final int pagesPerCall;
+    private final int scrollSettleMillis;
 
-    @FindBy(xpath = "//select[@id='searchType']")
-    private WebElement searchTypeSelect;
-
-    @FindBy(xpath = "//input[@id='searchValue']")
-    private WebElement searchValueInput;
-
-    @FindBy(xpath = "//button[contains(text(),'搜索')]")
-    private WebElement searchButton;
-
-    @FindBy(xpath = "//div[contains(@class,'no-results')]")
-    private WebElement noResultsMessage;
+    private static final By ASSET_MANAGEMENT_LINK =
+        LocatorRegistry.locator("AssetPage.assetManagementLink", By.xpath("//a[contains(text(),'资产管理')]"));
+    private static final By ASSET_LIST =
+        LocatorRegistry.locator("AssetPage.assetList", By.xpath("//div[contains(@class,'asset-list')]"));
+    private static final By SEARCH_TYPE_SELECT =
+        LocatorRegistry.locator("AssetPage.searchTypeSelect", By.xpath("//select[@id='searchType']"));
+    private static final By SEARCH_VALUE_INPUT =
+        LocatorRegistry.locator("AssetPage.searchValueInput", By.xpath("//input[@id='searchValue']"));
+    private static final By SEARCH_BUTTON =
+        LocatorRegistry.locator("AssetPage.searchButton", By.xpath("//button[contains(text(),'搜索')]"));
+    private static final By NO_RESULTS_MESSAGE =
+        LocatorRegistry.locator("AssetPage.noResultsMessage", By.xpath("//div[contains(@class,'no-results')]"));
 
     public AssetPage(WebDriver driver) {
-        this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        PageFactory.initElements(driver, this);
+        super(driver, Duration.ofSeconds(10));
+        ConfigReader config = new ConfigReader();
+        this.searchApi = config.getProperty("asset.api.search.path", "");
+        this.gridColumns = parseColumns(config.getProperty("asset.grid.columns",
+            "资产名称:asset_name,IP地址:ip_address,MAC地址:mac_address,状态:status,分组:group"));
+        this.nextPageSelector = config.getProperty("asset.grid.next.selector", ".el-pagination .btn-next");
+        this.pagesPerCall = config.getIntProperty("asset.grid.pages.per.call", 20);
+        this.scrollSettleMillis = config.getIntProperty("asset.grid.scroll.settle.ms", 50);
     }
 
+    @Override
     public void navigateToAssetManagement() {
         logger.info("导航到资产管理页面");
+        double routeStart = markRouteStart(ASSET_LIST);
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(assetManagementLink)).click();
-            wait.until(ExpectedConditions.visibilityOf(assetList));
+            timed("navigate", () -> {
+                click(ASSET_MANAGEMENT_LINK);
+                wait.until(ExpectedConditions.visibilityOfElementLocated(ASSET_LIST));
+                waitForNetworkIdle();
+            });
         } catch (Exception e) {
             logger.error("导航到资产管理页面失败", e);
             throw new RuntimeException("导航到资产管理页面失败", e);
         }
+        checkRoutePerformance("asset-list", routeStart);
     }
 
+    @Override
     public void searchAsset(String searchType, String searchValue) {
         logger.info("搜索资产 - 类型: {}, 值: {}", searchType, searchValue);
         try {
-            wait.until(ExpectedConditions.elementToBeClickable(searchTypeSelect));
-            org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(searchTypeSelect);
-            select.selectByVisibleText(searchType);
-
-            searchValueInput.clear();
-            searchValueInput.sendKeys(searchValue);
-            searchButton.click();
-            
-            // 等待搜索结果加载
-            Thread.sleep(1000);
+            timed("search", () -> {
+                org.openqa.selenium.support.ui.Select select = new org.openqa.selenium.support.ui.Select(
+                    cachedClickable(SEARCH_TYPE_SELECT));
+                select.selectByVisibleText(searchType);
+
+                type(SEARCH_VALUE_INPUT, searchValue);
+
+                // 配置了搜索接口时等待该接口返回，否则等待网络空闲
+                NetworkMonitor.RequestWatch searchRequest = searchApi.isEmpty() ? null : watchRequest(searchApi);
+                click(SEARCH_BUTTON);
+
+                // 等待搜索结果加载
+                if (searchRequest != null) {
+                    searchRequest.await(timeout);
+                }
+                waitForNetworkIdle();
+            });
         } catch (Exception e) {
             logger.error("搜索资产失败", e);
             throw new RuntimeException("搜索资产失败", e);
         }
     }
 
+    @Override
     public boolean isAssetFound(String searchValue) {
         logger.info("检查资产是否找到: {}", searchValue);
         try {
-            return wait.until(ExpectedConditions.visibilityOf(assetList))
-                    .getText().contains(searchValue);
+            return timed("checkResult", () -> extractAssets().stream().anyMatch(asset -> asset.matches(searchValue)));
         } catch (Exception e) {
             logger.error("检查资产是否找到失败", e);
             return false;
         }
     }
 
+    /**
+     * 读取资产列表的全部行（包括后续分页和虚拟滚动未渲染的行）
+     */
+    @Override
+    public List<AssetRecord> extractAssets() {
+        List<AssetRecord> assets = new ArrayList<>();
+        forEachAsset(assets::add);
+        return assets;
+    }
+
+    /**
+     * 逐批读取资产列表并交给consumer，内存中只保留当前一批
+     * 每次脚本调用在浏览器内处理至多asset.grid.pages.per.call页，只有资产很多时才需要多次往返
+     */
+    @Override
+    public void forEachAsset(Consumer<AssetRecord> consumer) {
+        timed("extractAssets", () -> {
+            WebElement list = elements.get(ASSET_LIST, false, this::waitForElementVisible);
+            WebDriver.Timeouts timeouts = driver.manage().timeouts();
+            Duration previousTimeout = timeouts.getScriptTimeout();
+            timeouts.scriptTimeout(timeout.multipliedBy(pagesPerCall));
+            try {
+                long rows = 0;
+                int calls = 0;
+                boolean hasMore = true;
+                while (hasMore) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                        EXTRACT_ASSETS_SCRIPT, list, gridColumns, AssetRecord.FIELDS, nextPageSelector,
+                        pagesPerCall, scrollSettleMillis, timeout.toMillis());
+                    calls++;
+                    for (Object row : (List<?>) result.get("records")) {
+                        consumer.accept(AssetRecord.of((List<?>) row));
+                        rows++;
+                    }
+                    if (result.get("error") != null) {
+                        throw new RuntimeException("读取资产列表翻页超时，已读取" + rows + "条");
+                    }
+                    hasMore = Boolean.TRUE.equals(result.get("hasMore"));
+                }
+                logger.debug("读取资产列表{}条，脚本调用{}次", rows, calls);
+            } finally {
+                timeouts.scriptTimeout(previousTimeout);
+            }
+        });
+    }
+
+    @Override
     public boolean isNoAssetFound() {
         logger.info("检查是否没有找到资产");
         try {
-            return wait.until(ExpectedConditions.visibilityOf(noResultsMessage))
-                    .isDisplayed();
+            return timed("checkNoResult", () -> wait.until(ExpectedConditions.visibilityOfElementLocated(NO_RESULTS_MESSAGE))
+                    .isDisplayed());
         } catch (Exception e) {
             logger.error("检查是否没有找到资产失败", e);
             return false;
@@ -94,11 +231,25 @@ public class AssetPage {
     public boolean isAssetListDisplayed() {
         logger.info("检查资产列表是否显示");
         try {
-            return wait.until(ExpectedConditions.visibilityOf(assetList))
-                    .isDisplayed();
+            return timed("checkListDisplayed", () -> wait.until(ExpectedConditions.visibilityOfElementLocated(ASSET_LIST))
+                    .isDisplayed());
         } catch (Exception e) {
             logger.error("检查资产列表显示状态失败", e);
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 解析"资产名称:asset_name,IP地址:ip_address"形式的中文名称到字段映射，表格列和搜索类型共用
+     */
+    static Map<String, String> parseColumns(String value) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (String pair : value.split(",")) {
+            int colon = pair.indexOf(':');
+            if (colon > 0) {
+                columns.put(pair.substring(0, colon).trim(), pair.substring(colon + 1).trim());
+            }
+        }
+        return columns;
+    }
+}
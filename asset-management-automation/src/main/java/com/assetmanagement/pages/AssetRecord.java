@@ -0,0 +1,143 @@
+package com.assetmanagement.pages;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 资产列表中的一行，字段与testdata/assets.csv的列一致
+ */
+public final class AssetRecord {
+    public static final List<String> FIELDS = List.of("asset_name", "ip_address", "mac_address", "status", "group");
+
+    private final String assetName;
+    private final String ipAddress;
+    private final String macAddress;
+    private final String status;
+    private final String group;
+
+    public AssetRecord(String assetName, String ipAddress, String macAddress, String status, String group) {
+        this.assetName = assetName;
+        this.ipAddress = ipAddress;
+        this.macAddress = macAddress;
+        this.status = status;
+        this.group = group;
+    }
+
+    /**
+     * 按FIELDS顺序排列的字段值创建记录，缺少的列为null
+     */
+    public static AssetRecord of(List<?> values) {
+        String[] fields = new String[FIELDS.size()];
+        for (int i = 0; i < fields.length && i < values.size(); i++) {
+            fields[i] = values.get(i) == null ? null : String.valueOf(values.get(i));
+        }
+        return new AssetRecord(fields[0], fields[1], fields[2], fields[3], fields[4]);
+    }
+
+    /**
+     * 从CSV行或接口返回的JSON对象创建记录
+     */
+    public static AssetRecord fromMap(Map<String, ?> map) {
+        return of(FIELDS.stream().map(map::get).toList());
+    }
+
+    public String getAssetName() {
+        return assetName;
+    }
+
+    public String getIpAddress() {
+        return ipAddress;
+    }
+
+    public String getMacAddress() {
+        return macAddress;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public String get(String field) {
+        switch (field) {
+            case "asset_name":
+                return assetName;
+            case "ip_address":
+                return ipAddress;
+            case "mac_address":
+                return macAddress;
+            case "status":
+                return status;
+            case "group":
+                return group;
+            default:
+                throw new IllegalArgumentException("未知的资产字段: " + field);
+        }
+    }
+
+    /**
+     * 以assets.csv列名为键的字段值
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String field : FIELDS) {
+            map.put(field, get(field));
+        }
+        return map;
+    }
+
+    /**
+     * 任一字段与给定值完全相等即匹配，test-PC-1不会匹配test-PC-12；MAC地址忽略大小写和分隔符差异
+     */
+    public boolean matches(String value) {
+        if (value == null) {
+            return false;
+        }
+        String expected = value.trim();
+        return expected.equals(trim(assetName)) || expected.equals(trim(ipAddress))
+            || expected.equals(trim(status)) || expected.equals(trim(group))
+            || (macAddress != null && normalizeMac(expected).equals(normalizeMac(macAddress)));
+    }
+
+    /**
+     * MAC地址统一为大写冒号分隔，作为对账的键
+     */
+    public static String normalizeMac(String mac) {
+        return mac == null ? null : mac.trim().toUpperCase(Locale.ROOT).replace('-', ':');
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AssetRecord)) {
+            return false;
+        }
+        AssetRecord that = (AssetRecord) o;
+        return Objects.equals(assetName, that.assetName) && Objects.equals(ipAddress, that.ipAddress)
+            && Objects.equals(macAddress, that.macAddress) && Objects.equals(status, that.status)
+            && Objects.equals(group, that.group);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(assetName, ipAddress, macAddress, status, group);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.asList(assetName, ipAddress, macAddress, status, group).toString();
+    }
+}
@@ -0,0 +1,49 @@
+package com.assetmanagement.pages;
+
+import com.assetmanagement.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 资产搜索页面对象接口
+ * 浏览器实现（AssetPage）验证页面渲染，HTTP实现（HttpAssetPage）直接调用平台接口验证数据
+ */
+public interface AssetSearchPage {
+
+    void navigateToAssetManagement();
+
+    void searchAsset(String searchType, String searchValue);
+
+    boolean isAssetFound(String searchValue);
+
+    boolean isNoAssetFound();
+
+    /**
+     * 当前搜索结果中的全部资产
+     */
+    List<AssetRecord> extractAssets();
+
+    /**
+     * 逐条处理当前搜索结果，适合数据量很大的对账
+     */
+    default void forEachAsset(Consumer<AssetRecord> consumer) {
+        extractAssets().forEach(consumer);
+    }
+
+    /**
+     * 按asset.page.mode（browser|http）创建页面对象，只有浏览器模式才会向driverSupplier租用会话
+     */
+    static AssetSearchPage create(ConfigReader config, Supplier<WebDriver> driverSupplier) {
+        if (isHttpMode(config)) {
+            return new HttpAssetPage(config);
+        }
+        return new AssetPage(driverSupplier.get());
+    }
+
+    static boolean isHttpMode(ConfigReader config) {
+        return "http".equalsIgnoreCase(config.getProperty("asset.page.mode", "browser").trim());
+    }
+}
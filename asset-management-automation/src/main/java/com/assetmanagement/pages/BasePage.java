@@ -1,6 +1,14 @@
 package com.assetmanagement.pages;
 
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.metrics.StepTimer;
+import com.assetmanagement.utils.NetworkMonitor;
+import com.assetmanagement.utils.PerformanceBudget;
+import com.assetmanagement.utils.PerformanceCollector;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -8,18 +16,126 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class BasePage {
     protected static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+
+    // 在浏览器内一次性定位并读取多个元素的状态，可见性判断近似于WebElement.isDisplayed
+    private static final String QUERY_ELEMENTS_SCRIPT =
+        "var locators = arguments[0], props = arguments[1], result = [];" +
+        "function byLinkText(text, partial) {" +
+        "  var links = document.getElementsByTagName('a');" +
+        "  for (var i = 0; i < links.length; i++) {" +
+        "    var t = (links[i].innerText || '').trim();" +
+        "    if (partial ? t.indexOf(text) >= 0 : t === text) { return links[i]; }" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "function find(using, value, fast) {" +
+        "  if (fast) {" +
+        "    var selector = fast[location.pathname + location.hash.split('?')[0]];" +
+        "    var hit = null;" +
+        "    if (selector) {" +
+        "      try { var m = document.querySelectorAll(selector); if (m.length === 1) { hit = m[0]; } } catch (e) {}" +
+        "    }" +
+        "    if (hit) { return hit; }" +
+        "  }" +
+        "  switch (using) {" +
+        "    case 'css selector': return document.querySelector(value);" +
+        "    case 'xpath': return document.evaluate(value, document, null," +
+        "      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "    case 'tag name': return document.getElementsByTagName(value)[0] || null;" +
+        "    case 'link text': return byLinkText(value, false);" +
+        "    case 'partial link text': return byLinkText(value, true);" +
+        "  }" +
+        "  return null;" +
+        "}" +
+        "function visible(el) {" +
+        "  for (var e = el; e && e.nodeType === 1; e = e.parentElement) {" +
+        "    var style = window.getComputedStyle(e);" +
+        "    if (style.display === 'none' || style.opacity === '0') { return false; }" +
+        "  }" +
+        "  var s = window.getComputedStyle(el);" +
+        "  return s.visibility !== 'hidden' && s.visibility !== 'collapse' && el.getClientRects().length > 0;" +
+        "}" +
+        "for (var i = 0; i < locators.length; i++) {" +
+        "  var el = find(locators[i][0], locators[i][1], locators[i][2]);" +
+        "  var state = {present: !!el};" +
+        "  if (el) {" +
+        "    if (props.visible) { state.visible = visible(el); }" +
+        "    if (props.enabled) { state.enabled = !el.disabled && !el.classList.contains('is-disabled'); }" +
+        "    if (props.text) { state.text = (el.innerText || el.textContent || '').trim(); }" +
+        "    if (props.rect) {" +
+        "      var r = el.getBoundingClientRect();" +
+        "      state.x = Math.round(r.left + window.pageXOffset); state.y = Math.round(r.top + window.pageYOffset);" +
+        "      state.width = Math.round(r.width); state.height = Math.round(r.height);" +
+        "      state.top = r.top; state.viewportHeight = window.innerHeight;" +
+        "    }" +
+        "  }" +
+        "  result.push(state);" +
+        "}" +
+        "return result;";
+
     protected final WebDriver driver;
     protected final WebDriverWait wait;
+    protected final Duration timeout;
+    protected final ElementCache elements;
+    protected final PerformanceCollector performance;
 
     public BasePage(WebDriver driver) {
+        this(driver, Duration.ofSeconds(10));
+    }
+
+    public BasePage(WebDriver driver, Duration timeout) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.timeout = timeout;
+        this.wait = new WebDriverWait(driver, timeout);
+        this.elements = new ElementCache(driver);
+        this.performance = new PerformanceCollector(driver);
         logger.info("BasePage initialized");
     }
 
+    /**
+     * 计时执行一个页面操作，耗时按"页面类名.步骤名"记入延迟直方图
+     */
+    protected void timed(String step, Runnable action) {
+        timed(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * 开启网络采集时，操作期间发出的请求在HAR中归入同名页面
+     */
+    protected <T> T timed(String step, Supplier<T> action) {
+        String name = stepName(step);
+        NetworkMonitor monitor = NetworkMonitor.isCaptureEnabled() ? NetworkMonitor.forDriver(driver) : null;
+        if (monitor != null) {
+            monitor.beginAction(name);
+        }
+        try {
+            return StepTimer.time(name, action);
+        } finally {
+            if (monitor != null) {
+                monitor.endAction();
+            }
+        }
+    }
+
+    private String stepName(String step) {
+        return getClass().getSimpleName() + "." + step;
+    }
+
     protected WebElement waitForElement(By locator) {
         return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
     }
@@ -32,23 +148,48 @@ public class BasePage {
         return wait.until(ExpectedConditions.elementToBeClickable(locator));
     }
 
+    /**
+     * 取得可点击的元素，同一页面上重复使用时复用已定位的引用
+     */
+    protected WebElement cachedClickable(By locator) {
+        return elements.get(locator, true, this::waitForElementClickable);
+    }
+
+    /**
+     * 对缓存的元素执行操作，元素在操作过程中失效时重新定位后再执行一次
+     */
+    protected void interact(By locator, Consumer<WebElement> action) {
+        try {
+            action.accept(cachedClickable(locator));
+        } catch (StaleElementReferenceException e) {
+            logger.debug("元素{}在操作中失效，重新定位后重试", locator);
+            elements.invalidate(locator);
+            action.accept(cachedClickable(locator));
+        }
+    }
+
     protected void click(By locator) {
-        waitForElementClickable(locator).click();
+        interact(locator, WebElement::click);
     }
 
     protected void type(By locator, String text) {
-        WebElement element = waitForElementVisible(locator);
-        element.clear();
-        element.sendKeys(text);
+        interact(locator, element -> {
+            element.clear();
+            element.sendKeys(text);
+        });
     }
 
     protected String getText(By locator) {
-        return waitForElementVisible(locator).getText();
+        // 每次轮询只需一次往返：同时判断可见性并读取文本
+        return wait.until(d -> {
+            ElementState state = queryElement(locator, EnumSet.of(ElementProperty.VISIBLE, ElementProperty.TEXT));
+            return state.isVisible() ? state.getText() : null;
+        });
     }
 
     protected boolean isElementPresent(By locator) {
         try {
-            waitForElement(locator);
+            wait.until(d -> queryElement(locator, EnumSet.of(ElementProperty.PRESENT)).isPresent());
             return true;
         } catch (Exception e) {
             return false;
@@ -57,15 +198,173 @@ public class BasePage {
 
     protected boolean isElementVisible(By locator) {
         try {
-            waitForElementVisible(locator);
+            wait.until(d -> queryElement(locator, EnumSet.of(ElementProperty.VISIBLE)).isVisible());
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * 查询单个元素的状态，一次JavaScript调用完成
+     */
+    protected ElementState queryElement(By locator, Set<ElementProperty> properties) {
+        return queryElements(List.of(locator), properties).get(locator);
+    }
+
+    /**
+     * 批量查询多个元素的状态，所有可远程定位的locator只需一次JavaScript调用
+     * 返回结果按传入顺序排列，未找到的元素present为false
+     */
+    protected Map<By, ElementState> queryElements(Collection<By> locators, Set<ElementProperty> properties) {
+        Map<By, ElementState> states = new LinkedHashMap<>();
+        List<By> remotable = new ArrayList<>();
+        List<List<Object>> parameters = new ArrayList<>();
+        for (By locator : locators) {
+            states.put(locator, null);
+            List<Object> remote = remoteParameters(locator);
+            if (remote != null) {
+                remotable.add(locator);
+                parameters.add(remote);
+            }
+        }
+
+        if (!remotable.isEmpty()) {
+            Map<String, Boolean> flags = Map.of(
+                "visible", properties.contains(ElementProperty.VISIBLE),
+                "enabled", properties.contains(ElementProperty.ENABLED),
+                "text", properties.contains(ElementProperty.TEXT),
+                "rect", properties.contains(ElementProperty.RECT));
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> results = (List<Map<String, Object>>) ((JavascriptExecutor) driver)
+                .executeScript(QUERY_ELEMENTS_SCRIPT, parameters, flags);
+            for (int i = 0; i < remotable.size(); i++) {
+                states.put(remotable.get(i), toElementState(remotable.get(i), results.get(i)));
+            }
+        }
+
+        // 自定义By无法在浏览器内求值，逐个走WebDriver查询
+        for (Map.Entry<By, ElementState> entry : states.entrySet()) {
+            if (entry.getValue() == null) {
+                entry.setValue(queryWithWebDriver(entry.getKey(), properties));
+            }
+        }
+        return states;
+    }
+
+    /**
+     * 可在浏览器内求值的locator对应的脚本参数，无法远程定位时返回null
+     */
+    static List<Object> remoteParameters(By locator) {
+        if (locator instanceof RegisteredLocator) {
+            // 登记的定位器先尝试已推导出的快速选择器
+            RegisteredLocator registered = (RegisteredLocator) locator;
+            if (registered.getOriginal() instanceof By.Remotable) {
+                By.Remotable.Parameters remote = ((By.Remotable) registered.getOriginal()).getRemoteParameters();
+                return List.of(remote.using(), remote.value(), registered.getRewrites());
+            }
+        } else if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters remote = ((By.Remotable) locator).getRemoteParameters();
+            return List.of(remote.using(), remote.value());
+        }
+        return null;
+    }
+
+    /**
+     * 将脚本返回的单个结果转换为ElementState，缺失的属性按未查询处理
+     */
+    static ElementState toElementState(By locator, Map<String, Object> result) {
+        if (!Boolean.TRUE.equals(result.get("present"))) {
+            return ElementState.absent(locator);
+        }
+        Rectangle rect = null;
+        if (result.containsKey("x")) {
+            rect = new Rectangle(toInt(result.get("x")), toInt(result.get("y")),
+                toInt(result.get("height")), toInt(result.get("width")));
+        }
+        return new ElementState(locator, true,
+            Boolean.TRUE.equals(result.get("visible")),
+            Boolean.TRUE.equals(result.get("enabled")),
+            (String) result.get("text"),
+            rect,
+            rect != null && isInViewport(result.get("top"), result.get("viewportHeight")));
+    }
+
+    /**
+     * 元素顶部相对视口的位置落在[0, 视口高度]内即视为在视口中
+     */
+    static boolean isInViewport(Object top, Object viewportHeight) {
+        if (top == null || viewportHeight == null) {
+            return false;
+        }
+        double y = ((Number) top).doubleValue();
+        return y >= 0 && y <= ((Number) viewportHeight).doubleValue();
+    }
+
+    private ElementState queryWithWebDriver(By locator, Set<ElementProperty> properties) {
+        List<WebElement> elements = driver.findElements(locator);
+        if (elements.isEmpty()) {
+            return ElementState.absent(locator);
+        }
+        WebElement element = elements.get(0);
+        boolean visible = properties.contains(ElementProperty.VISIBLE) && element.isDisplayed();
+        boolean enabled = properties.contains(ElementProperty.ENABLED) && element.isEnabled();
+        String text = properties.contains(ElementProperty.TEXT) ? element.getText() : null;
+        Rectangle rect = properties.contains(ElementProperty.RECT) ? element.getRect() : null;
+        return new ElementState(locator, true, visible, enabled, text, rect, false);
+    }
+
+    private static int toInt(Object value) {
+        return value == null ? 0 : ((Number) value).intValue();
+    }
+
     protected void waitForPageLoad() {
         wait.until(webDriver -> ((org.openqa.selenium.JavascriptExecutor) webDriver)
                 .executeScript("return document.readyState").equals("complete"));
+        waitForNetworkIdle();
+    }
+
+    /**
+     * 等待页面上没有进行中的请求（包括页面加载后SPA发出的XHR）
+     */
+    protected void waitForNetworkIdle() {
+        NetworkMonitor.forDriver(driver).waitForIdle(networkQuietPeriod(), timeout);
+    }
+
+    /**
+     * 在触发操作前登记要等待的接口请求，操作后调用await等待该请求完成
+     */
+    protected NetworkMonitor.RequestWatch watchRequest(String urlFragment) {
+        return NetworkMonitor.forDriver(driver).watch(urlFragment);
+    }
+
+    /**
+     * SPA路由切换前调用，readyLocator首次可见的时刻作为渲染完成时间
+     */
+    protected double markRouteStart(By readyLocator) {
+        By locator = readyLocator instanceof RegisteredLocator ? ((RegisteredLocator) readyLocator).getOriginal() : readyLocator;
+        return performance.markRouteStart(locator);
+    }
+
+    /**
+     * 采集整页加载的前端性能数据并检查perf.budget.<page>.*预算
+     */
+    protected void checkNavigationPerformance(String page) {
+        if (performance.isEnabled()) {
+            PerformanceBudget.fromConfig().enforce(performance.collectNavigation(page));
+        }
+    }
+
+    /**
+     * 采集从markRouteStart开始的路由切换性能数据并检查预算
+     */
+    protected void checkRoutePerformance(String page, double routeStart) {
+        if (performance.isEnabled()) {
+            PerformanceBudget.fromConfig().enforce(performance.collectRoute(page, routeStart));
+        }
+    }
+
+    private static Duration networkQuietPeriod() {
+        return Duration.ofMillis(ConfigManager.current().getLong("network.idle.quiet.ms", 500));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.assetmanagement.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 页面对象内已定位元素的缓存
+ * 复用前用一次脚本调用校验：路由（路径+hash路由）未变、元素仍挂在文档上且需要时可交互才算命中；
+ * 页面重新加载后旧引用会抛出StaleElementReferenceException，同样按未命中处理并重新定位
+ * 局部重绘只要元素仍挂在文档上就继续复用，不在页面上安装全局的MutationObserver
+ */
+public class ElementCache {
+    private static final Logger logger = LoggerFactory.getLogger(ElementCache.class);
+
+    private static final String VALIDATE_SCRIPT =
+        "var el = arguments[0];" +
+        "var interactable = !!el && el.isConnected && !el.disabled && el.getClientRects().length > 0" +
+        "  && window.getComputedStyle(el).visibility !== 'hidden';" +
+        "return [location.pathname + location.hash.split('?')[0], !!el && el.isConnected, interactable];";
+
+    private final WebDriver driver;
+    private final Map<By, Entry> entries = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * 取得缓存的元素，校验不通过时用locate重新定位并放入缓存
+     * requireInteractable为true时，缓存的元素还必须可见且未禁用
+     */
+    public WebElement get(By locator, boolean requireInteractable, Function<By, WebElement> locate) {
+        Entry entry = entries.get(locator);
+        if (entry != null) {
+            Validation validation = validate(entry.element);
+            if (validation != null && validation.connected && validation.route.equals(entry.route)
+                && (!requireInteractable || validation.interactable)) {
+                hits++;
+                return entry.element;
+            }
+            entries.remove(locator);
+            logger.debug("缓存的元素{}已失效（{}），重新定位", locator, describe(entry, validation));
+        }
+
+        misses++;
+        WebElement element = locate.apply(locator);
+        Validation validation = validate(element);
+        if (validation != null) {
+            entries.put(locator, new Entry(element, validation.route));
+        }
+        return element;
+    }
+
+    public void invalidate(By locator) {
+        entries.remove(locator);
+    }
+
+    /**
+     * 整页跳转后调用，丢弃全部缓存
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private Validation validate(WebElement element) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            List<?> result = (List<?>) ((JavascriptExecutor) driver).executeScript(VALIDATE_SCRIPT, element);
+            return new Validation((String) result.get(0),
+                Boolean.TRUE.equals(result.get(1)), Boolean.TRUE.equals(result.get(2)));
+        } catch (StaleElementReferenceException e) {
+            return null;
+        }
+    }
+
+    private static String describe(Entry entry, Validation validation) {
+        if (validation == null) {
+            return "引用已失效";
+        }
+        if (!validation.route.equals(entry.route)) {
+            return "路由变化 " + entry.route + " -> " + validation.route;
+        }
+        if (!validation.connected) {
+            return "DOM变化后元素已移除";
+        }
+        return "元素当前不可交互";
+    }
+
+    private static class Entry {
+        private final WebElement element;
+        private final String route;
+
+        Entry(WebElement element, String route) {
+            this.element = element;
+            this.route = route;
+        }
+    }
+
+    private static class Validation {
+        private final String route;
+        private final boolean connected;
+        private final boolean interactable;
+
+        Validation(String route, boolean connected, boolean interactable) {
+            this.route = route;
+            this.connected = connected;
+            this.interactable = interactable;
+        }
+    }
+}
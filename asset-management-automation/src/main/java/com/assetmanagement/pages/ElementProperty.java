@@ -0,0 +1,12 @@
+package com.assetmanagement.pages;
+
+/**
+ * 批量查询元素状态时可选的属性
+ */
+public enum ElementProperty {
+    PRESENT,
+    VISIBLE,
+    ENABLED,
+    TEXT,
+    RECT
+}
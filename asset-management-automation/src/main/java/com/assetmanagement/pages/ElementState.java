@@ -0,0 +1,76 @@
+package com.assetmanagement.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+
+/**
+ * 一次批量查询得到的单个元素状态，未查询的属性保持默认值
+ */
+public class ElementState {
+    private final By locator;
+    private final boolean present;
+    private final boolean visible;
+    private final boolean enabled;
+    private final String text;
+    private final Rectangle rect;
+    private final boolean inViewport;
+
+    public ElementState(By locator, boolean present, boolean visible, boolean enabled,
+                        String text, Rectangle rect, boolean inViewport) {
+        this.locator = locator;
+        this.present = present;
+        this.visible = visible;
+        this.enabled = enabled;
+        this.text = text;
+        this.rect = rect;
+        this.inViewport = inViewport;
+    }
+
+    public static ElementState absent(By locator) {
+        return new ElementState(locator, false, false, false, null, null, false);
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 可见且可用，相当于elementToBeClickable
+     */
+    public boolean isClickable() {
+        return visible && enabled;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Rectangle getRect() {
+        return rect;
+    }
+
+    /**
+     * 元素顶部是否位于当前视口内
+     */
+    public boolean isInViewport() {
+        return inViewport;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ElementState{%s, present=%s, visible=%s, enabled=%s, text=%s}",
+            locator, present, visible, enabled, text);
+    }
+}
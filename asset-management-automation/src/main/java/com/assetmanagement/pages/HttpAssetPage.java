@@ -0,0 +1,199 @@
+package com.assetmanagement.pages;
+
+import com.assetmanagement.metrics.StepTimer;
+import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.utils.HttpClientFactory;
+import com.assetmanagement.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 不启动浏览器的资产页面对象，直接调用平台的登录和资产查询接口
+ * 所有实例共享一个HttpClient（连接池和Cookie），登录token按服务地址和账号在JVM内缓存
+ */
+public class HttpAssetPage implements AssetSearchPage {
+    private static final Logger logger = LoggerFactory.getLogger(HttpAssetPage.class);
+    private static final String STEP_PREFIX = HttpAssetPage.class.getSimpleName() + ".";
+
+    private static final HttpClient client = HttpClientFactory.create(Duration.ofSeconds(10),
+        new CookieManager(null, CookiePolicy.ACCEPT_ALL));
+    // 服务地址|用户名 -> token，接口只用Cookie维持会话时为空字符串
+    private static final Map<String, String> tokens = new ConcurrentHashMap<>();
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final String loginPath;
+    private final String searchPath;
+    private final String typeParam;
+    private final String valueParam;
+    private final Map<String, String> searchFields;
+    private final Duration timeout;
+    private List<Map<String, Object>> results = List.of();
+
+    public HttpAssetPage(ConfigReader config) {
+        this(config, config.getBaseUrl(), config.getUsername(), config.getPassword());
+    }
+
+    public HttpAssetPage(ConfigReader config, String baseUrl, String username, String password) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.username = username;
+        this.password = password;
+        this.loginPath = config.getProperty("asset.http.login.path", "/api/login");
+        this.searchPath = config.getProperty("asset.http.search.path", "/api/assets");
+        this.typeParam = config.getProperty("asset.http.search.type.param", "type");
+        this.valueParam = config.getProperty("asset.http.search.value.param", "q");
+        this.searchFields = AssetPage.parseColumns(config.getProperty("asset.http.search.fields", ""));
+        this.timeout = Duration.ofMillis(config.getIntProperty("asset.http.timeout.ms", 10000));
+    }
+
+    @Override
+    public void navigateToAssetManagement() {
+        logger.info("检查资产接口是否可访问");
+        try {
+            StepTimer.time(STEP_PREFIX + "navigate", () -> {
+                HttpResponse<String> response = get(searchPath);
+                if (response.statusCode() / 100 != 2) {
+                    throw new RuntimeException("资产接口返回异常状态码: " + response.statusCode());
+                }
+            });
+        } catch (Exception e) {
+            logger.error("访问资产接口失败", e);
+            throw new RuntimeException("访问资产接口失败", e);
+        }
+    }
+
+    @Override
+    public void searchAsset(String searchType, String searchValue) {
+        logger.info("搜索资产 - 类型: {}, 值: {}", searchType, searchValue);
+        try {
+            results = StepTimer.time(STEP_PREFIX + "search", () -> {
+                String query = encode(typeParam) + "=" + encode(searchFields.getOrDefault(searchType, searchType))
+                    + "&" + encode(valueParam) + "=" + encode(searchValue);
+                HttpResponse<String> response = get(searchPath + (searchPath.contains("?") ? "&" : "?") + query);
+                if (response.statusCode() / 100 != 2) {
+                    throw new RuntimeException("资产搜索接口返回异常状态码: " + response.statusCode());
+                }
+                return JsonUtils.findRecords(response.body());
+            });
+            logger.debug("搜索返回{}条资产", results.size());
+        } catch (Exception e) {
+            logger.error("搜索资产失败", e);
+            throw new RuntimeException("搜索资产失败", e);
+        }
+    }
+
+    @Override
+    public boolean isAssetFound(String searchValue) {
+        logger.info("检查资产是否找到: {}", searchValue);
+        return StepTimer.time(STEP_PREFIX + "checkResult", () -> extractAssets().stream()
+            .anyMatch(asset -> asset.matches(searchValue)));
+    }
+
+    @Override
+    public List<AssetRecord> extractAssets() {
+        return results.stream().map(AssetRecord::fromMap).toList();
+    }
+
+    @Override
+    public boolean isNoAssetFound() {
+        logger.info("检查是否没有找到资产");
+        return StepTimer.time(STEP_PREFIX + "checkNoResult", () -> results.isEmpty());
+    }
+
+    /**
+     * 最近一次搜索返回的资产记录
+     */
+    public List<Map<String, Object>> getResults() {
+        return results;
+    }
+
+    /**
+     * 带登录态发送GET请求，会话失效（401）时重新登录一次
+     */
+    private HttpResponse<String> get(String path) {
+        try {
+            HttpResponse<String> response = send(path, ensureLoggedIn());
+            if (response.statusCode() == 401) {
+                logger.info("接口会话已失效，重新登录");
+                tokens.remove(sessionKey());
+                response = send(path, ensureLoggedIn());
+            }
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException("请求资产接口失败: " + path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("请求资产接口被中断: " + path, e);
+        }
+    }
+
+    private HttpResponse<String> send(String path, String token) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(timeout)
+            .header("Accept", "application/json")
+            .GET();
+        if (!token.isEmpty()) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+    }
+
+    private String ensureLoggedIn() throws IOException, InterruptedException {
+        String key = sessionKey();
+        String token = tokens.get(key);
+        if (token != null) {
+            return token;
+        }
+        synchronized (tokens) {
+            token = tokens.get(key);
+            if (token == null) {
+                token = login();
+                tokens.put(key, token);
+            }
+        }
+        return token;
+    }
+
+    private String login() throws IOException, InterruptedException {
+        logger.info("通过接口登录: {}", username);
+        Map<String, String> body = new HashMap<>();
+        body.put("username", username);
+        body.put("password", password);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + loginPath))
+            .timeout(timeout)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(JsonUtils.toJson(body)))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (response.statusCode() / 100 != 2) {
+            throw new RuntimeException("接口登录失败，状态码: " + response.statusCode());
+        }
+        String token = JsonUtils.findToken(response.body());
+        return token == null ? "" : token;
+    }
+
+    private String sessionKey() {
+        return baseUrl + "|" + username;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
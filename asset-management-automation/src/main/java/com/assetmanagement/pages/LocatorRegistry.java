@@ -0,0 +1,273 @@
+package com.assetmanagement.pages;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.utils.JsonUtils;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 页面对象定位器的集中登记处
+ * 记录每个定位器的查找耗时和匹配数，发现慢定位器、多重匹配或全文档XPath文本扫描时，
+ * 在当前DOM上为匹配到的元素推导等价的id、data属性或带作用域的CSS选择器，按页面版本（路径+路由）缓存
+ * 推导结果每次使用都会在浏览器内校验唯一性，页面改版后找不到或不再唯一时自动回退到原始定位器
+ */
+public class LocatorRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(LocatorRegistry.class);
+    private static final LocatorRegistry GLOBAL = new LocatorRegistry();
+
+    // 为元素推导唯一的CSS选择器，依次尝试id、稳定属性和从最近的带id祖先开始的类名路径
+    // 不使用:nth-of-type等位置选择器，DOM变化后位置路径可能悄悄指向另一个元素
+    private static final String DERIVE_SCRIPT =
+        "var el = arguments[0];" +
+        "function unique(sel) {" +
+        "  try { var m = document.querySelectorAll(sel); return m.length === 1 && m[0] === el; }" +
+        "  catch (e) { return false; }" +
+        "}" +
+        "function quote(v) { return '\"' + v.replace(/\\\\/g, '\\\\\\\\').replace(/\"/g, '\\\\\"') + '\"'; }" +
+        "if (el.id && unique('#' + CSS.escape(el.id))) { return ['id', '#' + CSS.escape(el.id)]; }" +
+        "var attrs = ['data-testid', 'data-test', 'data-qa', 'data-id', 'name', 'aria-label', 'placeholder'];" +
+        "var tag = el.tagName.toLowerCase();" +
+        "for (var i = 0; i < attrs.length; i++) {" +
+        "  var v = el.getAttribute(attrs[i]);" +
+        "  if (v) { var s = tag + '[' + attrs[i] + '=' + quote(v) + ']'; if (unique(s)) { return ['attribute', s]; } }" +
+        "}" +
+        "var parts = [];" +
+        "for (var e = el, depth = 0; e && e.nodeType === 1 && depth < 8; e = e.parentElement, depth++) {" +
+        "  if (e !== el && e.id) { parts.unshift('#' + CSS.escape(e.id)); }" +
+        "  else {" +
+        "    var seg = e.tagName.toLowerCase();" +
+        "    var cls = Array.prototype.filter.call(e.classList, function (c) {" +
+        "      return !/^(is-|active|hover|focus|selected)/.test(c) && !/--/.test(c); }).slice(0, 2);" +
+        "    if (cls.length) { seg += '.' + cls.map(function (c) { return CSS.escape(c); }).join('.'); }" +
+        "    parts.unshift(seg);" +
+        "  }" +
+        "  if (unique(parts.join(' > '))) { return ['scoped css', parts.join(' > ')]; }" +
+        "  if (e !== el && e.id) { break; }" +
+        "}" +
+        "return null;";
+
+    private final Map<String, RegisteredLocator> locators = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    // 定位器名称 -> 页面版本 -> 推导出的选择器
+    private final Map<String, Map<String, Rewrite>> rewrites = new ConcurrentHashMap<>();
+    // 推导失败过的"定位器名称|页面版本"，不再重复推导，避免每次回退查找都多一次往返
+    private final Set<String> underivable = ConcurrentHashMap.newKeySet();
+
+    public static LocatorRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * 登记定位器，名称约定为"页面类名.字段名"；同名重复登记返回已有的定位器
+     */
+    public static By locator(String name, By original) {
+        return GLOBAL.register(name, original);
+    }
+
+    public RegisteredLocator register(String name, By original) {
+        return locators.computeIfAbsent(name, key -> new RegisteredLocator(key, original, this));
+    }
+
+    /**
+     * 当前缓存的各页面版本的快速选择器，供浏览器内脚本直接使用
+     */
+    Map<String, String> rewritesFor(String name) {
+        Map<String, Rewrite> byVersion = rewrites.get(name);
+        if (byVersion == null) {
+            return Map.of();
+        }
+        Map<String, String> selectors = new LinkedHashMap<>();
+        byVersion.forEach((version, rewrite) -> selectors.put(version, rewrite.selector));
+        return selectors;
+    }
+
+    void recordFastLookup(String name, long nanos) {
+        stats(name).fast.add(nanos);
+    }
+
+    /**
+     * 记录一次原始定位器查找，必要时为当前页面版本推导快速选择器
+     */
+    void recordLookup(RegisteredLocator locator, WebDriver driver, String version, List<WebElement> matches, long nanos) {
+        Stats stat = stats(locator.getName());
+        stat.original.add(nanos);
+        stat.maxMatches = Math.max(stat.maxMatches, matches.size());
+        if (matches.isEmpty() || !(driver instanceof JavascriptExecutor)) {
+            return;
+        }
+
+        String reason = reasonToOptimize(locator.getOriginal(), matches.size(), nanos);
+        if (reason == null) {
+            return;
+        }
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        try {
+            if (version == null) {
+                version = (String) js.executeScript("return location.pathname + location.hash.split('?')[0];");
+            }
+            String versionKey = locator.getName() + "|" + version;
+            if (underivable.contains(versionKey)) {
+                return;
+            }
+            Map<String, Rewrite> byVersion = rewrites.computeIfAbsent(locator.getName(), key -> new ConcurrentHashMap<>());
+            if (byVersion.containsKey(version)) {
+                // 已推导过但在当前DOM上失效，重新推导
+                byVersion.remove(version);
+            }
+            List<?> derived = (List<?>) js.executeScript(DERIVE_SCRIPT, matches.get(0));
+            if (derived == null) {
+                underivable.add(versionKey);
+                logger.debug("无法为定位器{}在{}上推导快速选择器，此页面版本不再尝试", locator, version);
+                return;
+            }
+            Rewrite rewrite = new Rewrite(version, (String) derived.get(0), (String) derived.get(1), reason, nanos);
+            byVersion.put(version, rewrite);
+            logger.info("定位器{}在{}上改写为{} ({}，原始查找{}ms)", locator, version, rewrite.selector, reason,
+                String.format(Locale.ROOT, "%.1f", nanos / 1e6));
+        } catch (RuntimeException e) {
+            logger.debug("推导定位器{}失败: {}", locator, e.getMessage());
+        }
+    }
+
+    static String reasonToOptimize(By original, int matches, long nanos) {
+        ConfigSnapshot config = ConfigManager.current();
+        if (!config.getBoolean("locator.optimize.enabled", true)) {
+            return null;
+        }
+        if (matches > 1) {
+            return "匹配到" + matches + "个元素";
+        }
+        if (nanos >= config.getLong("locator.slow.ms", 50) * 1_000_000) {
+            return "查找较慢";
+        }
+        String text = original.toString();
+        if (text.startsWith("By.xpath:") && (text.contains("text()") || text.startsWith("By.xpath: //"))) {
+            return "XPath全文档扫描";
+        }
+        return null;
+    }
+
+    private Stats stats(String name) {
+        return stats.computeIfAbsent(name, key -> new Stats());
+    }
+
+    /**
+     * 各定位器的查找统计和改写记录
+     */
+    public List<Map<String, Object>> getReport() {
+        List<Map<String, Object>> report = new ArrayList<>();
+        for (RegisteredLocator locator : new TreeMap<>(locators).values()) {
+            Stats stat = stats.get(locator.getName());
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("name", locator.getName());
+            entry.put("original", locator.getOriginal().toString());
+            entry.put("lookups", stat == null ? 0 : stat.original.count);
+            entry.put("avgMillis", stat == null ? 0 : stat.original.avgMillis());
+            entry.put("maxMatches", stat == null ? 0 : stat.maxMatches);
+            entry.put("fastLookups", stat == null ? 0 : stat.fast.count);
+            entry.put("fastAvgMillis", stat == null ? 0 : stat.fast.avgMillis());
+            List<Map<String, Object>> changes = new ArrayList<>();
+            for (Rewrite rewrite : rewrites.getOrDefault(locator.getName(), Map.of()).values()) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("page", rewrite.version);
+                change.put("strategy", rewrite.strategy);
+                change.put("selector", rewrite.selector);
+                change.put("reason", rewrite.reason);
+                change.put("originalMillis", Math.round(rewrite.originalNanos / 1e4) / 100.0);
+                changes.add(change);
+            }
+            entry.put("rewrites", changes);
+            report.add(entry);
+        }
+        return report;
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder(String.format("%-40s %8s %10s %8s %10s  %s%n",
+            "定位器", "查找次数", "平均(ms)", "快速次数", "快速(ms)", "改写"));
+        for (Map<String, Object> entry : getReport()) {
+            text.append(String.format(Locale.ROOT, "%-40s %8d %10.2f %8d %10.2f",
+                entry.get("name"), entry.get("lookups"), entry.get("avgMillis"),
+                entry.get("fastLookups"), entry.get("fastAvgMillis")));
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> changes = (List<Map<String, Object>>) entry.get("rewrites");
+            for (Map<String, Object> change : changes) {
+                text.append(String.format("  [%s] %s -> %s (%s)", change.get("page"), entry.get("original"),
+                    change.get("selector"), change.get("reason")));
+            }
+            text.append(System.lineSeparator());
+        }
+        return text.toString();
+    }
+
+    /**
+     * 写出locator-report.json和locator-report.txt，没有任何查找记录时不写
+     */
+    public void writeReport(Path dir) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("locator-report.json"), JsonUtils.toJson(getReport()), StandardCharsets.UTF_8);
+            Files.writeString(dir.resolve("locator-report.txt"), toText(), StandardCharsets.UTF_8);
+            logger.info("定位器报告已写入: {}", dir.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error("写入定位器报告失败", e);
+        }
+    }
+
+    private static class Rewrite {
+        private final String version;
+        private final String strategy;
+        private final String selector;
+        private final String reason;
+        private final long originalNanos;
+
+        Rewrite(String version, String strategy, String selector, String reason, long originalNanos) {
+            this.version = version;
+            this.strategy = strategy;
+            this.selector = selector;
+            this.reason = reason;
+            this.originalNanos = originalNanos;
+        }
+    }
+
+    private static class Stats {
+        private final Timing original = new Timing();
+        private final Timing fast = new Timing();
+        private volatile int maxMatches;
+    }
+
+    private static class Timing {
+        private long count;
+        private long totalNanos;
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+        }
+
+        synchronized double avgMillis() {
+            return count == 0 ? 0 : Math.round(totalNanos / (double) count / 1e4) / 100.0;
+        }
+    }
+}
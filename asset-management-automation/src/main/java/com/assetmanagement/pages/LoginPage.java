@@ -1,244 +1,269 @@
 package com.assetmanagement.pages;
 
+import com.assetmanagement.resilience.CircuitBreaker;
+import com.assetmanagement.resilience.CircuitOpenException;
+import com.assetmanagement.resilience.FailureClassifier;
+import com.assetmanagement.resilience.FailureType;
+import com.assetmanagement.resilience.RetryPolicy;
 import com.assetmanagement.utils.CaptchaHandler;
 import com.assetmanagement.utils.LoginHelper;
 import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.utils.PageSourceDumper;
+import com.assetmanagement.utils.SessionSnapshotCache;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
-import java.net.ConnectException;
-import java.util.concurrent.TimeUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
-public class LoginPage {
+public class LoginPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(LoginPage.class);
-    private final WebDriver driver;
-    private final WebDriverWait wait;
     private final LoginHelper loginHelper;
     private final CaptchaHandler captchaHandler;
     private final ConfigReader config;
-    private static final int MAX_RETRIES = 3;
-    private static final int RETRY_DELAY_SECONDS = 5;
+    private final RetryPolicy retryPolicy = RetryPolicy.fromConfig();
+    private final CircuitBreaker circuitBreaker;
     
     // 页面元素定位器
-    private final By usernameInput = By.cssSelector("input[type='text'][placeholder='请输入用户名']");
-    private final By passwordInput = By.cssSelector("input[type='password'][placeholder='请输入密码']");
-    private final By captchaInput = By.cssSelector("input[type='text'][placeholder='请输入验证码']");
-    private final By loginButton = By.cssSelector(".el-button--primary");
-    private final By captchaImage = By.cssSelector(".captcha-img");
-    private final By errorMessage = By.cssSelector(".el-message.el-message--error");
+    private final By usernameInput =
+        LocatorRegistry.locator("LoginPage.usernameInput", By.cssSelector("input[type='text'][placeholder='请输入用户名']"));
+    private final By passwordInput =
+        LocatorRegistry.locator("LoginPage.passwordInput", By.cssSelector("input[type='password'][placeholder='请输入密码']"));
+    private final By captchaInput =
+        LocatorRegistry.locator("LoginPage.captchaInput", By.cssSelector("input[type='text'][placeholder='请输入验证码']"));
+    private final By loginButton =
+        LocatorRegistry.locator("LoginPage.loginButton", By.cssSelector(".el-button--primary"));
+    private final By captchaImage =
+        LocatorRegistry.locator("LoginPage.captchaImage", By.cssSelector(".captcha-img"));
+    private final By errorMessage =
+        LocatorRegistry.locator("LoginPage.errorMessage", By.cssSelector(".el-message.el-message--error"));
+    private final By userInfo =
+        LocatorRegistry.locator("LoginPage.userInfo", By.cssSelector(".user-info, .user-profile, .avatar"));
+    // 最近一次提交登录时记录的路由开始时间，用于登录后首页的渲染性能
+    private double loginRouteStart = -1;
 
     public LoginPage(WebDriver driver, LoginHelper loginHelper, CaptchaHandler captchaHandler) {
-        this.driver = driver;
-        this.config = new ConfigReader();
-        int timeout = Integer.parseInt(config.getProperty("webdriver.wait.timeout", "30"));
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
+        this(driver, new ConfigReader(), loginHelper, captchaHandler);
+    }
+
+    private LoginPage(WebDriver driver, ConfigReader config, LoginHelper loginHelper, CaptchaHandler captchaHandler) {
+        super(driver, Duration.ofSeconds(Integer.parseInt(config.getProperty("webdriver.wait.timeout", "30"))));
+        this.config = config;
         this.loginHelper = loginHelper;
         this.captchaHandler = captchaHandler;
+        this.circuitBreaker = CircuitBreaker.forKey(config.getBaseUrl());
         logger.info("LoginPage initialized with WebDriver and helpers");
     }
 
     public void navigateToLoginPage(String url) {
         logger.info("Navigating to login page: {}", url);
-        int retryCount = 0;
-        while (retryCount < MAX_RETRIES) {
-            try {
+        try {
+            retryPolicy.run("打开登录页", circuitBreaker, () -> timed("navigate", () -> {
                 driver.get(url);
-                
-                // 等待页面加载完成
-                wait.until(driver -> {
-                    String readyState = ((JavascriptExecutor) driver)
-                        .executeScript("return document.readyState").toString();
-                    logger.debug("Page ready state: {}", readyState);
-                    return "complete".equals(readyState);
-                });
-                
+                elements.clear();
+
+                // 等待页面加载完成，包括加载后SPA发出的接口请求
+                waitForPageLoad();
+
                 // 验证页面标题或其他元素以确保正确加载
                 wait.until(ExpectedConditions.or(
                     ExpectedConditions.titleContains("教育终端云平台"),
                     ExpectedConditions.presenceOfElementLocated(usernameInput)
                 ));
-                
-                logger.info("Successfully navigated to login page");
-                logger.debug("Page title: {}", driver.getTitle());
-                logger.debug("Current URL: {}", driver.getCurrentUrl());
-                return;
-                
-            } catch (TimeoutException e) {
-                logger.error("Page load timeout (attempt {}): {}", retryCount + 1, e.getMessage());
-                retryCount++;
-                if (retryCount < MAX_RETRIES) {
-                    logger.info("Retrying in {} seconds...", RETRY_DELAY_SECONDS);
-                    try {
-                        TimeUnit.SECONDS.sleep(RETRY_DELAY_SECONDS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("页面加载重试被中断", ie);
-                    }
-                }
-            } catch (WebDriverException e) {
-                logger.error("Failed to load login page (attempt {}): {}", retryCount + 1, e.getMessage());
-                if (e.getMessage().contains("ERR_CONNECTION_REFUSED")) {
-                    throw new RuntimeException("无法连接到服务器，请确认服务器是否正常运行", e);
-                }
-                retryCount++;
-                if (retryCount < MAX_RETRIES) {
-                    logger.info("Retrying in {} seconds...", RETRY_DELAY_SECONDS);
-                    try {
-                        TimeUnit.SECONDS.sleep(RETRY_DELAY_SECONDS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("页面加载重试被中断", ie);
-                    }
-                } else {
-                    throw e;
-                }
+            }));
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (FailureClassifier.classify(e) == FailureType.SERVER_UNREACHABLE) {
+                throw new RuntimeException("无法连接到服务器，请确认服务器是否正常运行", e);
             }
+            throw e;
         }
-        throw new RuntimeException("页面加载失败，已达到最大重试次数");
+
+        checkNavigationPerformance("login");
+        logger.info("Successfully navigated to login page");
+        logger.debug("Page title: {}", driver.getTitle());
+        logger.debug("Current URL: {}", driver.getCurrentUrl());
     }
 
     public void login(String username, String password) {
         logger.info("Attempting to login with username: {}", username);
-        int retryCount = 0;
-        
-        while (retryCount < MAX_RETRIES) {
-            try {
-                // 等待页面完全加载
-                wait.until(driver -> {
-                    String readyState = ((JavascriptExecutor) driver)
-                        .executeScript("return document.readyState").toString();
-                    logger.debug("Login page ready state: {}", readyState);
-                    return "complete".equals(readyState);
-                });
+        try {
+            retryPolicy.execute("登录", circuitBreaker, () -> {
+                submitLogin(username, password);
+                return null;
+            }, (attempt, failure) -> {
+                if (FailureClassifier.classify(failure) == FailureType.TIMEOUT) {
+                    PageSourceDumper.dump(driver, "login-timeout")
+                        .ifPresent(file -> logger.info("Page source at timeout: {}", file));
+                } else if (FailureClassifier.classify(failure) == FailureType.ELEMENT_INTERCEPTED) {
+                    clickLoginWithJavaScript();
+                }
+            });
+        } catch (CircuitOpenException e) {
+            throw e;
+        } catch (TimeoutException | ElementClickInterceptedException e) {
+            throw new RuntimeException("登录失败，已达到最大重试次数", e);
+        } catch (RuntimeException e) {
+            PageSourceDumper.dump(driver, "login-failure")
+                .ifPresent(file -> logger.info("Page source at failure: {}", file));
+            throw new RuntimeException("登录过程中发生未预期的错误: " + e.getMessage(), e);
+        }
+        // 预算检查放在重试之外，超出预算不应触发重新登录
+        checkRoutePerformance("dashboard", loginRouteStart);
+    }
 
-                // 等待并输入用户名
-                logger.debug("Waiting for username input field...");
-                WebElement userElement = wait.until(ExpectedConditions.elementToBeClickable(
-                    wait.until(ExpectedConditions.presenceOfElementLocated(usernameInput))
-                ));
-                userElement.clear();
-                userElement.sendKeys(username);
-                logger.debug("Username entered successfully");
+    private void submitLogin(String username, String password) {
+        // 等待页面完全加载
+        timed("pageLoad", this::waitForPageLoad);
 
-                // 等待并输入密码
-                logger.debug("Waiting for password input field...");
-                WebElement passElement = wait.until(ExpectedConditions.elementToBeClickable(
-                    wait.until(ExpectedConditions.presenceOfElementLocated(passwordInput))
-                ));
-                passElement.clear();
-                passElement.sendKeys(password);
-                logger.debug("Password entered successfully");
+        // 等待并输入用户名
+        timed("fillUsername", () -> {
+            logger.debug("Waiting for username input field...");
+            type(usernameInput, username);
+            logger.debug("Username entered successfully");
+        });
 
-                // 处理验证码
-                if (isCaptchaPresent()) {
-                    logger.info("Captcha detected, attempting to handle...");
-                    try {
-                        captchaHandler.handleCaptcha();
-                        logger.info("Captcha handled successfully");
-                    } catch (InterruptedException e) {
-                        logger.error("Captcha handling interrupted: {}", e.getMessage());
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("验证码处理被中断", e);
-                    }
+        // 等待并输入密码
+        timed("fillPassword", () -> {
+            logger.debug("Waiting for password input field...");
+            type(passwordInput, password);
+            logger.debug("Password entered successfully");
+        });
+
+        // 处理验证码
+        if (isCaptchaPresent()) {
+            logger.info("Captcha detected, attempting to handle...");
+            timed("captcha", () -> {
+                try {
+                    captchaHandler.handleCaptcha();
+                    logger.info("Captcha handled successfully");
+                } catch (InterruptedException e) {
+                    logger.error("Captcha handling interrupted: {}", e.getMessage());
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("验证码处理被中断", e);
                 }
+            });
+        }
 
-                // 点击登录按钮
-                logger.debug("Waiting for login button to be clickable...");
-                WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(
-                    wait.until(ExpectedConditions.presenceOfElementLocated(loginButton))
-                ));
-                
-                // 确保按钮在视图中
+        // 点击登录按钮
+        timed("submit", () -> {
+            logger.debug("Waiting for login button to be clickable...");
+            loginRouteStart = markRouteStart(userInfo);
+            interact(loginButton, loginBtn -> {
+                // 确保按钮在视图中，位置和视口高度在一次查询中取得
                 ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", loginBtn);
-                wait.until(driver -> {
-                    Rectangle rect = loginBtn.getRect();
-                    return rect.getY() >= 0 && rect.getY() <= ((Long) ((JavascriptExecutor) driver)
-                        .executeScript("return window.innerHeight")).intValue();
-                });
-                
+                wait.until(driver -> queryElement(loginButton, EnumSet.of(ElementProperty.RECT)).isInViewport());
+
                 logger.debug("Clicking login button...");
                 loginBtn.click();
-                logger.info("Login form submitted successfully");
+            });
+            logger.info("Login form submitted successfully");
+        });
+
+        // 等待登录结果
+        boolean loggedIn = timed("waitForResult", () -> {
+            wait.until(driver -> {
+                String currentUrl = driver.getCurrentUrl();
+                boolean urlChanged = !currentUrl.contains("login");
+                logger.debug("Checking login result - Current URL: {}", currentUrl);
 
-                // 等待登录结果
-                wait.until(driver -> {
-                    String currentUrl = driver.getCurrentUrl();
-                    boolean urlChanged = !currentUrl.contains("login");
-                    logger.debug("Checking login result - Current URL: {}", currentUrl);
-                    
-                    if (!urlChanged) {
-                        // 检查是否有错误消息
-                        try {
-                            WebElement error = driver.findElement(errorMessage);
-                            if (error.isDisplayed()) {
-                                String errorText = error.getText();
-                                logger.warn("Login error message displayed: {}", errorText);
-                                if (errorText.contains("验证码错误")) {
-                                    // 如果是验证码错误，刷新验证码并重试
-                                    logger.info("Captcha error detected, will retry with new captcha");
-                                    return true;
-                                }
-                                return true;
-                            }
-                        } catch (NoSuchElementException ignored) {
-                            logger.debug("No error message found, continuing to wait for URL change");
+                if (!urlChanged) {
+                    // 检查是否有错误消息，存在性、可见性和文本一次取得
+                    ElementState error = queryElement(errorMessage,
+                        EnumSet.of(ElementProperty.VISIBLE, ElementProperty.TEXT));
+                    if (error.isVisible()) {
+                        String errorText = error.getText();
+                        logger.warn("Login error message displayed: {}", errorText);
+                        if (errorText.contains("验证码错误")) {
+                            // 如果是验证码错误，刷新验证码并重试
+                            logger.info("Captcha error detected, will retry with new captcha");
+                            return true;
                         }
+                        return true;
                     }
-                    return urlChanged;
-                });
-                
-                if (!isLoggedIn()) {
-                    logger.warn("URL changed but login status check failed");
-                    throw new RuntimeException("登录可能失败，请检查登录状态");
+                    logger.debug("No error message found, continuing to wait for URL change");
                 }
-                
-                logger.info("Login successful - Current URL: {}", driver.getCurrentUrl());
+                return urlChanged;
+            });
+            return isLoggedIn();
+        });
+
+        if (!loggedIn) {
+            logger.warn("URL changed but login status check failed");
+            throw new RuntimeException("登录可能失败，请检查登录状态");
+        }
+        
+        logger.info("Login successful - Current URL: {}", driver.getCurrentUrl());
+        if (isSessionCacheEnabled()) {
+            loginHelper.captureSession(username);
+        }
+    }
+
+    /**
+     * 登录按钮被遮挡时尝试用JavaScript点击
+     */
+    private void clickLoginWithJavaScript() {
+        try {
+            WebElement loginBtn = elements.get(loginButton, false, driver::findElement);
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", loginBtn);
+            logger.info("Attempted alternative click using JavaScript");
+        } catch (Exception je) {
+            logger.error("JavaScript click also failed: {}", je.getMessage());
+        }
+    }
+
+    /**
+     * 确保当前会话已登录：优先恢复缓存的会话快照，快照失效时透明地重新走UI登录
+     */
+    public void ensureLoggedIn(String username, String password) {
+        String baseUrl = config.getBaseUrl();
+        if (!isSessionCacheEnabled()) {
+            navigateToLoginPage(config.getLoginUrl());
+            login(username, password);
+            return;
+        }
+
+        if (restoreCachedSession(username, baseUrl)) {
+            return;
+        }
+
+        // 同一用户只允许一个线程走UI登录，其余线程等待后直接复用快照
+        ReentrantLock lock = SessionSnapshotCache.lockFor(username, baseUrl);
+        lock.lock();
+        try {
+            if (restoreCachedSession(username, baseUrl)) {
                 return;
-                
-            } catch (TimeoutException e) {
-                logger.error("Login operation timed out (attempt {}): {}", retryCount + 1, e.getMessage());
-                logger.debug("Page source at timeout: {}", driver.getPageSource());
-                retryCount++;
-                if (retryCount < MAX_RETRIES) {
-                    logger.info("Retrying login in {} seconds...", RETRY_DELAY_SECONDS);
-                    try {
-                        TimeUnit.SECONDS.sleep(RETRY_DELAY_SECONDS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("登录重试被中断", ie);
-                    }
-                }
-            } catch (ElementClickInterceptedException e) {
-                logger.error("Login button click intercepted (attempt {}): {}", retryCount + 1, e.getMessage());
-                // 尝试使用JavaScript点击
-                try {
-                    WebElement loginBtn = driver.findElement(loginButton);
-                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", loginBtn);
-                    logger.info("Attempted alternative click using JavaScript");
-                } catch (Exception je) {
-                    logger.error("JavaScript click also failed: {}", je.getMessage());
-                }
-                retryCount++;
-                if (retryCount < MAX_RETRIES) {
-                    logger.info("Retrying login in {} seconds...", RETRY_DELAY_SECONDS);
-                    try {
-                        TimeUnit.SECONDS.sleep(RETRY_DELAY_SECONDS);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        throw new RuntimeException("登录重试被中断", ie);
-                    }
-                }
-            } catch (Exception e) {
-                logger.error("Failed to perform login (attempt {}): {}", retryCount + 1, e.getMessage());
-                logger.debug("Page source at failure: {}", driver.getPageSource());
-                throw new RuntimeException("登录过程中发生未预期的错误: " + e.getMessage(), e);
             }
+            logger.info("No valid cached session for user {}, performing UI login", username);
+            navigateToLoginPage(config.getLoginUrl());
+            login(username, password);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean restoreCachedSession(String username, String baseUrl) {
+        if (!loginHelper.restoreSession(username)) {
+            return false;
         }
-        throw new RuntimeException("登录失败，已达到最大重试次数");
+        if (isLoggedIn()) {
+            logger.info("Logged in from cached session for user: {}", username);
+            return true;
+        }
+        // 服务端会话已过期，被重定向回登录页
+        logger.info("Cached session for user {} was rejected by server, discarding it", username);
+        SessionSnapshotCache.invalidate(username, baseUrl);
+        return false;
+    }
+
+    private boolean isSessionCacheEnabled() {
+        return Boolean.parseBoolean(config.getProperty("session.cache.enabled", "true"));
     }
 
     public boolean isLoggedIn() {
@@ -254,7 +279,7 @@ public class LoginPage {
             if (isLoggedIn) {
                 try {
                     wait.until(ExpectedConditions.presenceOfElementLocated(
-                        By.cssSelector(".user-info, .user-profile, .avatar")
+                        userInfo
                     ));
                 } catch (TimeoutException e) {
                     logger.warn("User info element not found after URL change");
@@ -272,8 +297,12 @@ public class LoginPage {
 
     public boolean isLoginErrorDisplayed() {
         try {
-            WebElement error = wait.until(ExpectedConditions.presenceOfElementLocated(errorMessage));
-            boolean isDisplayed = error.isDisplayed();
+            ElementState error = wait.until(driver -> {
+                ElementState state = queryElement(errorMessage,
+                    EnumSet.of(ElementProperty.VISIBLE, ElementProperty.TEXT));
+                return state.isPresent() ? state : null;
+            });
+            boolean isDisplayed = error.isVisible();
             if (isDisplayed) {
                 logger.debug("Login error message: {}", error.getText());
             }
@@ -287,6 +316,25 @@ public class LoginPage {
         }
     }
 
+    /**
+     * 一次查询取得登录表单所有元素的状态
+     */
+    public Map<By, ElementState> getLoginFormState() {
+        return queryElements(
+            List.of(usernameInput, passwordInput, captchaInput, loginButton, captchaImage, errorMessage),
+            EnumSet.of(ElementProperty.VISIBLE, ElementProperty.ENABLED, ElementProperty.TEXT));
+    }
+
+    /**
+     * 用户名、密码输入框和登录按钮均可交互
+     */
+    public boolean isLoginFormReady() {
+        Map<By, ElementState> form = getLoginFormState();
+        return form.get(usernameInput).isClickable()
+            && form.get(passwordInput).isClickable()
+            && form.get(loginButton).isClickable();
+    }
+
     private boolean isCaptchaPresent() {
         try {
             return !driver.findElements(captchaImage).isEmpty();
@@ -0,0 +1,90 @@
+package com.assetmanagement.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 在LocatorRegistry中登记的定位器
+ * 单元素查找时优先使用为当前页面版本推导出的快速CSS选择器，找不到或匹配不唯一时回退到原始定位器；
+ * 多元素查找和在元素内部的查找始终使用原始定位器，保持原有语义
+ */
+public class RegisteredLocator extends By {
+    // 一次往返内取得页面版本并尝试快速选择器，只接受唯一匹配
+    private static final String FAST_FIND_SCRIPT =
+        "var version = location.pathname + location.hash.split('?')[0];" +
+        "var selector = arguments[0][version];" +
+        "var el = null;" +
+        "if (selector) {" +
+        "  try { var m = document.querySelectorAll(selector); if (m.length === 1) { el = m[0]; } } catch (e) {}" +
+        "}" +
+        "return [version, el];";
+
+    private final String name;
+    private final By original;
+    private final LocatorRegistry registry;
+
+    RegisteredLocator(String name, By original, LocatorRegistry registry) {
+        this.name = name;
+        this.original = original;
+        this.registry = registry;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public By getOriginal() {
+        return original;
+    }
+
+    /**
+     * 各页面版本下推导出的快速选择器
+     */
+    Map<String, String> getRewrites() {
+        return registry.rewritesFor(name);
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        if (!(context instanceof WebDriver) || !(context instanceof JavascriptExecutor)) {
+            return original.findElement(context);
+        }
+        Map<String, String> rewrites = registry.rewritesFor(name);
+        String version = null;
+        if (!rewrites.isEmpty()) {
+            long start = System.nanoTime();
+            List<?> result = (List<?>) ((JavascriptExecutor) context).executeScript(FAST_FIND_SCRIPT, rewrites);
+            version = (String) result.get(0);
+            if (result.get(1) instanceof WebElement) {
+                registry.recordFastLookup(name, System.nanoTime() - start);
+                return (WebElement) result.get(1);
+            }
+        }
+
+        long start = System.nanoTime();
+        List<WebElement> matches = original.findElements(context);
+        long elapsed = System.nanoTime() - start;
+        registry.recordLookup(this, (WebDriver) context, version, matches, elapsed);
+        if (matches.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return matches.get(0);
+    }
+
+    @Override
+    public List<WebElement> findElements(SearchContext context) {
+        return original.findElements(context);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + original + ")";
+    }
+}
@@ -0,0 +1,411 @@
+package com.assetmanagement.reconcile;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.pages.AssetRecord;
+import com.assetmanagement.utils.CsvParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 按键字段（默认mac_address）对比期望资产清单和界面读取的资产行
+ * 先流式读入期望行建立哈希表，再逐行探测界面行，差异一经确定立即交给sink
+ * 期望行超过内存上限时改为grace hash join：两边都按键的哈希溢写到磁盘分区，再逐个分区在内存中连接，
+ * 单个分区仍超过上限时换一个哈希种子继续拆分，内存中同时只保留一个分区的期望行
+ */
+public class AssetReconciler {
+    private static final Logger logger = LoggerFactory.getLogger(AssetReconciler.class);
+    private static final int MAX_REPARTITION_DEPTH = 3;
+
+    private final String keyField;
+    private final List<String> fields;
+    private final int memoryRows;
+    private final int partitions;
+    private final Path workDir;
+    private final int sampleSize;
+
+    public AssetReconciler(String keyField, List<String> fields, int memoryRows, int partitions, Path workDir,
+                           int sampleSize) {
+        this.keyField = keyField;
+        this.fields = List.copyOf(fields);
+        this.memoryRows = memoryRows;
+        this.partitions = partitions;
+        this.workDir = workDir;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * 按reconcile.*配置创建，未配置比较字段时比较assets.csv除键以外的所有列
+     */
+    public static AssetReconciler fromConfig() {
+        ConfigSnapshot config = ConfigManager.current();
+        String key = config.get("reconcile.key", "mac_address").trim();
+        String configured = config.get("reconcile.fields", "").trim();
+        List<String> fields = configured.isEmpty()
+            ? AssetRecord.FIELDS.stream().filter(field -> !field.equals(key)).toList()
+            : Arrays.stream(configured.split(",")).map(String::trim).filter(field -> !field.isEmpty()).toList();
+        return new AssetReconciler(key, fields,
+            config.getInt("reconcile.memory.rows", 200000),
+            config.getInt("reconcile.partitions", 16),
+            Paths.get(config.get("reconcile.work.dir", "target/reconcile")),
+            config.getInt("reconcile.sample.size", 50));
+    }
+
+    /**
+     * 开始一次对账，先全部addExpected再addActual，最后调用finish
+     */
+    public Session start(Consumer<Discrepancy> sink) {
+        return new Session(sink);
+    }
+
+    public Session start() {
+        return start(discrepancy -> { });
+    }
+
+    /**
+     * 便捷方法：对比两个行流
+     */
+    public ReconciliationResult reconcile(Stream<? extends Map<String, String>> expected,
+                                          Stream<? extends Map<String, String>> actual) {
+        try (Session session = start()) {
+            expected.forEach(session::addExpected);
+            actual.forEach(session::addActual);
+            return session.finish();
+        }
+    }
+
+    public class Session implements Closeable {
+        private final Consumer<Discrepancy> sink;
+        private final ReconciliationResult result = new ReconciliationResult(keyField, sampleSize);
+        // 未溢写时的期望行：键 -> 比较字段
+        private Map<String, String[]> build = new HashMap<>();
+        // 未溢写时已被界面行连接过的键，用于识别界面上重复的键
+        private Set<String> probed = new HashSet<>();
+        private Path spillDir;
+        private PartitionWriters expectedSpill;
+        private PartitionWriters actualSpill;
+        private boolean probing;
+
+        private Session(Consumer<Discrepancy> sink) {
+            this.sink = sink;
+        }
+
+        public void addExpected(Map<String, String> row) {
+            if (probing) {
+                throw new IllegalStateException("期望行必须在界面行之前全部加入");
+            }
+            String[] values = project(row);
+            if (values == null) {
+                result.countWithoutKey();
+                return;
+            }
+            result.countExpected();
+            if (expectedSpill != null) {
+                expectedSpill.write(values);
+                return;
+            }
+            if (build.putIfAbsent(values[0], values) != null) {
+                emit(new Discrepancy(Discrepancy.Type.DUPLICATE, values[0], toMap(values), null, List.of()));
+            } else if (build.size() > memoryRows) {
+                spill();
+            }
+        }
+
+        public void addActual(Map<String, String> row) {
+            probing = true;
+            String[] values = project(row);
+            if (values == null) {
+                result.countWithoutKey();
+                return;
+            }
+            result.countActual();
+            if (actualSpill != null) {
+                actualSpill.write(values);
+            } else {
+                probe(build, probed, values);
+            }
+        }
+
+        /**
+         * 输出剩余的缺失行并返回结果；溢写过时在这里逐个分区连接
+         */
+        public ReconciliationResult finish() {
+            if (actualSpill == null) {
+                emitMissing(build);
+                build = new HashMap<>();
+                probed = new HashSet<>();
+                return result;
+            }
+            List<Path> expectedFiles = expectedSpill.close();
+            List<Path> actualFiles = actualSpill.close();
+            result.setPartitions(partitions);
+            for (int i = 0; i < partitions; i++) {
+                joinPartition(expectedFiles.get(i), actualFiles.get(i), 1);
+            }
+            deleteSpillDir();
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (expectedSpill != null) {
+                expectedSpill.close();
+                actualSpill.close();
+            }
+            deleteSpillDir();
+        }
+
+        private void spill() {
+            try {
+                Files.createDirectories(workDir);
+                spillDir = Files.createTempDirectory(workDir, "reconcile-");
+            } catch (IOException e) {
+                throw new UncheckedIOException("创建对账临时目录失败", e);
+            }
+            logger.info("期望行超过{}行，按{}溢写到{}个磁盘分区: {}", memoryRows, keyField, partitions, spillDir);
+            expectedSpill = new PartitionWriters(spillDir, "expected", partitions, 0);
+            actualSpill = new PartitionWriters(spillDir, "actual", partitions, 0);
+            build.values().forEach(expectedSpill::write);
+            build = new HashMap<>();
+        }
+
+        private void joinPartition(Path expectedFile, Path actualFile, int depth) {
+            Map<String, String[]> table = new HashMap<>();
+            // 分区确定能放进内存后才输出重复行，否则拆分后重新读取时会重复输出
+            List<String[]> duplicates = new ArrayList<>();
+            boolean tooLarge = false;
+            try (CsvParser parser = new CsvParser(Files.newBufferedReader(expectedFile, StandardCharsets.UTF_8))) {
+                String[] values;
+                while ((values = parser.readRecord()) != null) {
+                    if (table.putIfAbsent(values[0], values) != null) {
+                        duplicates.add(values);
+                    }
+                    if (table.size() > memoryRows && depth <= MAX_REPARTITION_DEPTH) {
+                        tooLarge = true;
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取对账分区失败: " + expectedFile, e);
+            }
+            if (tooLarge) {
+                repartition(expectedFile, actualFile, depth);
+                return;
+            }
+            for (String[] duplicate : duplicates) {
+                emit(new Discrepancy(Discrepancy.Type.DUPLICATE, duplicate[0], toMap(duplicate), null, List.of()));
+            }
+
+            Set<String> probedKeys = new HashSet<>();
+            try (CsvParser parser = new CsvParser(Files.newBufferedReader(actualFile, StandardCharsets.UTF_8))) {
+                String[] values;
+                while ((values = parser.readRecord()) != null) {
+                    probe(table, probedKeys, values);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("读取对账分区失败: " + actualFile, e);
+            }
+            emitMissing(table);
+        }
+
+        /**
+         * 分区仍然放不进内存（键分布倾斜）时换哈希种子再拆分一次
+         */
+        private void repartition(Path expectedFile, Path actualFile, int depth) {
+            logger.debug("对账分区{}超过内存上限，进行第{}次拆分", expectedFile.getFileName(), depth);
+            String prefix = expectedFile.getFileName().toString().replace("expected-", "").replace(".csv", "");
+            PartitionWriters expected = new PartitionWriters(spillDir, prefix + "-expected", partitions, depth);
+            PartitionWriters actual = new PartitionWriters(spillDir, prefix + "-actual", partitions, depth);
+            copyInto(expectedFile, expected);
+            copyInto(actualFile, actual);
+            List<Path> expectedFiles = expected.close();
+            List<Path> actualFiles = actual.close();
+            for (int i = 0; i < partitions; i++) {
+                joinPartition(expectedFiles.get(i), actualFiles.get(i), depth + 1);
+            }
+        }
+
+        private void copyInto(Path file, PartitionWriters writers) {
+            try (CsvParser parser = new CsvParser(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+                String[] values;
+                while ((values = parser.readRecord()) != null) {
+                    writers.write(values);
+                }
+                Files.delete(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("拆分对账分区失败: " + file, e);
+            }
+        }
+
+        /**
+         * 同一个键在界面上再次出现时按重复处理，而不是当成多出的资产
+         */
+        private void probe(Map<String, String[]> table, Set<String> probedKeys, String[] actual) {
+            if (!probedKeys.add(actual[0])) {
+                emit(new Discrepancy(Discrepancy.Type.DUPLICATE, actual[0], null, toMap(actual), List.of()));
+                return;
+            }
+            String[] expected = table.remove(actual[0]);
+            if (expected == null) {
+                emit(new Discrepancy(Discrepancy.Type.EXTRA, actual[0], null, toMap(actual), List.of()));
+                return;
+            }
+            List<String> mismatched = new ArrayList<>();
+            for (int i = 0; i < fields.size(); i++) {
+                if (!expected[i + 1].equals(actual[i + 1])) {
+                    mismatched.add(fields.get(i));
+                }
+            }
+            if (mismatched.isEmpty()) {
+                result.countMatched();
+            } else {
+                emit(new Discrepancy(Discrepancy.Type.MISMATCH, actual[0], toMap(expected), toMap(actual), mismatched));
+            }
+        }
+
+        private void emitMissing(Map<String, String[]> remaining) {
+            remaining.values().stream()
+                .sorted(Comparator.comparing(values -> values[0]))
+                .forEach(values -> emit(new Discrepancy(Discrepancy.Type.MISSING, values[0], toMap(values), null, List.of())));
+        }
+
+        private void emit(Discrepancy discrepancy) {
+            result.record(discrepancy);
+            sink.accept(discrepancy);
+        }
+
+        private void deleteSpillDir() {
+            if (spillDir == null) {
+                return;
+            }
+            try (Stream<Path> files = Files.walk(spillDir)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException e) {
+                logger.warn("删除对账临时目录失败: {}", spillDir);
+            }
+            spillDir = null;
+        }
+    }
+
+    /**
+     * 取出键和比较字段，空值按空字符串比较；没有键的行返回null
+     */
+    private String[] project(Map<String, String> row) {
+        String key = normalizeKey(row.get(keyField));
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        String[] values = new String[fields.size() + 1];
+        values[0] = key;
+        for (int i = 0; i < fields.size(); i++) {
+            String value = row.get(fields.get(i));
+            values[i + 1] = value == null ? "" : value.trim();
+        }
+        return values;
+    }
+
+    private String normalizeKey(String key) {
+        if ("mac_address".equals(keyField)) {
+            return AssetRecord.normalizeMac(key);
+        }
+        return key == null ? null : key.trim();
+    }
+
+    private Map<String, String> toMap(String[] values) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            map.put(fields.get(i), values[i + 1]);
+        }
+        return map;
+    }
+
+    static int partitionOf(String key, int partitions, int seed) {
+        int hash = key.hashCode() * (31 + 2 * seed) + seed * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, partitions);
+    }
+
+    /**
+     * 一组分区文件的写入器，每行按CSV格式写出，读回时复用CsvParser
+     */
+    private static class PartitionWriters {
+        private final List<Path> files = new ArrayList<>();
+        private final List<Writer> writers = new ArrayList<>();
+        private final int seed;
+        private boolean closed;
+
+        PartitionWriters(Path dir, String prefix, int partitions, int seed) {
+            this.seed = seed;
+            try {
+                for (int i = 0; i < partitions; i++) {
+                    Path file = dir.resolve(prefix + "-" + i + ".csv");
+                    files.add(file);
+                    writers.add(new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 16 * 1024));
+                }
+            } catch (IOException e) {
+                close();
+                throw new UncheckedIOException("创建对账分区文件失败", e);
+            }
+        }
+
+        void write(String[] values) {
+            Writer writer = writers.get(partitionOf(values[0], writers.size(), seed));
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(quote(values[i]));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException("写入对账分区失败", e);
+            }
+        }
+
+        List<Path> close() {
+            if (!closed) {
+                closed = true;
+                for (Writer writer : writers) {
+                    try {
+                        writer.close();
+                    } catch (IOException e) {
+                        logger.warn("关闭对账分区文件失败: {}", e.getMessage());
+                    }
+                }
+            }
+            return files;
+        }
+
+        private static String quote(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
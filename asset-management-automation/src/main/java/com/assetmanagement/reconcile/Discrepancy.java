@@ -0,0 +1,70 @@
+package com.assetmanagement.reconcile;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 对账发现的一处差异：期望有但界面上没有、界面多出、字段不一致，或期望数据、界面数据中键重复
+ */
+public class Discrepancy {
+
+    public enum Type {
+        MISSING, EXTRA, MISMATCH, DUPLICATE
+    }
+
+    private final Type type;
+    private final String key;
+    private final Map<String, String> expected;
+    private final Map<String, String> actual;
+    private final List<String> fields;
+
+    Discrepancy(Type type, String key, Map<String, String> expected, Map<String, String> actual, List<String> fields) {
+        this.type = type;
+        this.key = key;
+        this.expected = expected;
+        this.actual = actual;
+        this.fields = fields;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 期望数据中参与比较的字段，EXTRA和界面重复的DUPLICATE时为null
+     */
+    public Map<String, String> getExpected() {
+        return expected;
+    }
+
+    /**
+     * 界面数据中参与比较的字段，MISSING和期望重复的DUPLICATE时为null
+     */
+    public Map<String, String> getActual() {
+        return actual;
+    }
+
+    /**
+     * 不一致的字段，只有MISMATCH时非空
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public String toString() {
+        if (type != Type.MISMATCH) {
+            return type + " " + key;
+        }
+        StringBuilder text = new StringBuilder(type + " " + key + ":");
+        for (String field : fields) {
+            text.append(' ').append(field).append(' ').append(expected.get(field))
+                .append(" -> ").append(actual.get(field)).append(';');
+        }
+        return text.toString();
+    }
+}
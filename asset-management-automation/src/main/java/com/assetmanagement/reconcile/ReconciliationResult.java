@@ -0,0 +1,128 @@
+package com.assetmanagement.reconcile;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 对账结果：各类差异的计数、按字段统计的不一致次数和前若干条差异样例
+ */
+public class ReconciliationResult {
+    private final String keyField;
+    private final int sampleSize;
+    private final Map<Discrepancy.Type, Long> counts = new EnumMap<>(Discrepancy.Type.class);
+    private final Map<String, Long> fieldMismatches = new TreeMap<>();
+    private final List<Discrepancy> samples = new ArrayList<>();
+    private long expectedRows;
+    private long actualRows;
+    private long matchedRows;
+    private long rowsWithoutKey;
+    private int partitions;
+
+    ReconciliationResult(String keyField, int sampleSize) {
+        this.keyField = keyField;
+        this.sampleSize = sampleSize;
+        for (Discrepancy.Type type : Discrepancy.Type.values()) {
+            counts.put(type, 0L);
+        }
+    }
+
+    void record(Discrepancy discrepancy) {
+        counts.merge(discrepancy.getType(), 1L, Long::sum);
+        if (discrepancy.getType() == Discrepancy.Type.MISMATCH) {
+            for (String field : discrepancy.getFields()) {
+                fieldMismatches.merge(field, 1L, Long::sum);
+            }
+        }
+        if (samples.size() < sampleSize) {
+            samples.add(discrepancy);
+        }
+    }
+
+    void countExpected() {
+        expectedRows++;
+    }
+
+    void countActual() {
+        actualRows++;
+    }
+
+    void countMatched() {
+        matchedRows++;
+    }
+
+    void countWithoutKey() {
+        rowsWithoutKey++;
+    }
+
+    void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public long getExpectedRows() {
+        return expectedRows;
+    }
+
+    public long getActualRows() {
+        return actualRows;
+    }
+
+    public long getMatchedRows() {
+        return matchedRows;
+    }
+
+    public long getCount(Discrepancy.Type type) {
+        return counts.get(type);
+    }
+
+    public long getRowsWithoutKey() {
+        return rowsWithoutKey;
+    }
+
+    /**
+     * 溢写到磁盘的分区数，全部在内存中完成时为0
+     */
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public List<Discrepancy> getSamples() {
+        return samples;
+    }
+
+    public boolean isClean() {
+        return counts.values().stream().allMatch(count -> count == 0) && rowsWithoutKey == 0;
+    }
+
+    public String getSummary() {
+        return String.format("期望%d行，界面%d行，一致%d行，缺失%d，多出%d，字段不一致%d，期望重复%d，缺少%s%d",
+            expectedRows, actualRows, matchedRows, getCount(Discrepancy.Type.MISSING), getCount(Discrepancy.Type.EXTRA),
+            getCount(Discrepancy.Type.MISMATCH), getCount(Discrepancy.Type.DUPLICATE), keyField, rowsWithoutKey);
+    }
+
+    /**
+     * 适合作为报告附件的文本：汇总、按字段的不一致计数和差异样例
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder(getSummary()).append(System.lineSeparator());
+        if (partitions > 0) {
+            text.append("磁盘分区: ").append(partitions).append(System.lineSeparator());
+        }
+        if (!fieldMismatches.isEmpty()) {
+            text.append(System.lineSeparator()).append("字段不一致次数:").append(System.lineSeparator());
+            fieldMismatches.forEach((field, count) ->
+                text.append(String.format("  %-20s %d%n", field, count)));
+        }
+        if (!samples.isEmpty()) {
+            long total = counts.values().stream().mapToLong(Long::longValue).sum();
+            text.append(System.lineSeparator())
+                .append(String.format("差异样例（%d/%d）:%n", samples.size(), total));
+            for (Discrepancy sample : samples) {
+                text.append("  ").append(sample).append(System.lineSeparator());
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,122 @@
+package com.assetmanagement.resilience;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 整个测试运行共享的熔断器，按服务地址（base.url）区分
+ * 连续failureThreshold次服务端失败后打开，打开期间直接拒绝调用；
+ * 经过openDuration后进入半开状态，只放行一个探测调用，成功则关闭，失败则重新打开
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String key;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    public CircuitBreaker(String key, int failureThreshold, Duration openDuration) {
+        this(key, failureThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(String key, int failureThreshold, Duration openDuration, LongSupplier clock) {
+        this.key = key;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.clock = clock;
+    }
+
+    /**
+     * 按circuit.failure.threshold和circuit.open.seconds创建的全局熔断器
+     */
+    public static CircuitBreaker forKey(String key) {
+        return breakers.computeIfAbsent(key, k -> {
+            ConfigSnapshot config = ConfigManager.current();
+            return new CircuitBreaker(k, config.getInt("circuit.failure.threshold", 3),
+                Duration.ofSeconds(config.getInt("circuit.open.seconds", 30)));
+        });
+    }
+
+    /**
+     * 已存在的熔断器当前是否拒绝调用，不会触发半开探测
+     */
+    public static boolean isRejecting(String key) {
+        CircuitBreaker breaker = breakers.get(key);
+        return breaker != null && breaker.isRejecting();
+    }
+
+    /**
+     * 调用前申请许可，熔断器打开时抛出CircuitOpenException
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN) {
+            long elapsed = clock.getAsLong() - openedAt;
+            if (elapsed < openNanos) {
+                throw new CircuitOpenException(key, (openNanos - elapsed) / 1_000_000);
+            }
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+            logger.info("熔断器进入半开状态，放行一次探测调用: {}", key);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                throw new CircuitOpenException(key, 0);
+            }
+            probeInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            logger.info("探测调用成功，熔断器关闭: {}", key);
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+            probeInFlight = false;
+            logger.warn("连续{}次服务端失败，熔断器打开{}秒: {}", consecutiveFailures, openNanos / 1_000_000_000, key);
+        }
+    }
+
+    /**
+     * 调用以非服务端原因失败（例如元素超时或Error）时归还半开探测名额，不改变熔断器状态和失败计数
+     */
+    public synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private synchronized boolean isRejecting() {
+        return (state == State.OPEN && clock.getAsLong() - openedAt < openNanos)
+            || (state == State.HALF_OPEN && probeInFlight);
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
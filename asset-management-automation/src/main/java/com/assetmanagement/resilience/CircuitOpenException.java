@@ -0,0 +1,17 @@
+package com.assetmanagement.resilience;
+
+/**
+ * 熔断器处于打开状态时拒绝调用，不再等待超时
+ */
+public class CircuitOpenException extends RuntimeException {
+    private final String key;
+
+    public CircuitOpenException(String key, long retryAfterMillis) {
+        super("服务不可达，熔断器已打开: " + key + "，" + Math.max(0, retryAfterMillis / 1000) + "秒后尝试恢复");
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
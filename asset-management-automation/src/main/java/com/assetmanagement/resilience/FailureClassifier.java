@@ -0,0 +1,60 @@
+package com.assetmanagement.resilience;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+
+/**
+ * 按异常类型和浏览器错误码对失败进行分类，会沿着cause链查找
+ */
+public final class FailureClassifier {
+    // Chromium内核浏览器导航失败时的网络错误码
+    private static final String[] UNREACHABLE_CODES = {
+        "ERR_CONNECTION_REFUSED", "ERR_CONNECTION_RESET", "ERR_CONNECTION_CLOSED", "ERR_CONNECTION_TIMED_OUT",
+        "ERR_NAME_NOT_RESOLVED", "ERR_ADDRESS_UNREACHABLE", "ERR_INTERNET_DISCONNECTED", "ERR_EMPTY_RESPONSE"
+    };
+
+    private FailureClassifier() {
+        // 私有构造函数，防止实例化
+    }
+
+    public static FailureType classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof ConnectException || t instanceof UnknownHostException
+                || t instanceof NoRouteToHostException || isUnreachableMessage(t.getMessage())) {
+                return FailureType.SERVER_UNREACHABLE;
+            }
+        }
+        for (Throwable t = failure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof ElementClickInterceptedException) {
+                return FailureType.ELEMENT_INTERCEPTED;
+            }
+            if (t instanceof StaleElementReferenceException) {
+                return FailureType.STALE_ELEMENT;
+            }
+            if (t instanceof TimeoutException || t instanceof SocketTimeoutException
+                || t instanceof HttpTimeoutException) {
+                return FailureType.TIMEOUT;
+            }
+        }
+        return FailureType.FATAL;
+    }
+
+    private static boolean isUnreachableMessage(String message) {
+        if (message == null) {
+            return false;
+        }
+        for (String code : UNREACHABLE_CODES) {
+            if (message.contains(code)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
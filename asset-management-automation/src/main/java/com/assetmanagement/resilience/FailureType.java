@@ -0,0 +1,36 @@
+package com.assetmanagement.resilience;
+
+/**
+ * 失败分类，决定是否重试以及是否计入熔断器
+ */
+public enum FailureType {
+    /** 连接被拒绝、域名无法解析等，服务不可达 */
+    SERVER_UNREACHABLE(true, true),
+    /** 页面加载或等待超时；元素等待超时多半是页面慢或定位问题，不计入熔断器 */
+    TIMEOUT(true, false),
+    /** 点击被遮挡，页面仍在渲染 */
+    ELEMENT_INTERCEPTED(true, false),
+    /** 元素在操作过程中被重新渲染 */
+    STALE_ELEMENT(true, false),
+    /** 其他错误，重试无意义 */
+    FATAL(false, false);
+
+    private final boolean retryable;
+    private final boolean serverFailure;
+
+    FailureType(boolean retryable, boolean serverFailure) {
+        this.retryable = retryable;
+        this.serverFailure = serverFailure;
+    }
+
+    public boolean isRetryable() {
+        return retryable;
+    }
+
+    /**
+     * 是否说明服务端有问题，只有这类失败会计入熔断器
+     */
+    public boolean isServerFailure() {
+        return serverFailure;
+    }
+}
@@ -0,0 +1,124 @@
+package com.assetmanagement.resilience;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 指数退避加随机抖动的重试策略
+ * 只重试可重试的失败；配置了熔断器时服务端失败计入熔断器，熔断器打开后立即停止重试
+ */
+public class RetryPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final int maxAttempts;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final double multiplier;
+    private final double jitter;
+
+    public RetryPolicy(int maxAttempts, Duration initialDelay, Duration maxDelay, double multiplier, double jitter) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialDelayMillis = initialDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.multiplier = multiplier;
+        this.jitter = Math.min(1.0, Math.max(0.0, jitter));
+    }
+
+    /**
+     * 按retry.*配置创建
+     */
+    public static RetryPolicy fromConfig() {
+        ConfigSnapshot config = ConfigManager.current();
+        return new RetryPolicy(
+            config.getInt("retry.max.attempts", 3),
+            Duration.ofMillis(config.getLong("retry.initial.delay.ms", 1000)),
+            Duration.ofMillis(config.getLong("retry.max.delay.ms", 8000)),
+            config.getDouble("retry.multiplier", 2.0),
+            config.getDouble("retry.jitter", 0.5));
+    }
+
+    public void run(String operation, CircuitBreaker breaker, Runnable action) {
+        execute(operation, breaker, () -> {
+            action.run();
+            return null;
+        }, null);
+    }
+
+    /**
+     * 执行操作，breaker为null时不经过熔断器；onRetry在每次重试等待前调用，参数为失败次数和失败异常
+     */
+    public <T> T execute(String operation, CircuitBreaker breaker, Supplier<T> action,
+                         BiConsumer<Integer, RuntimeException> onRetry) {
+        for (int attempt = 1; ; attempt++) {
+            if (breaker != null) {
+                breaker.acquirePermission();
+            }
+            try {
+                T result = action.get();
+                if (breaker != null) {
+                    breaker.onSuccess();
+                }
+                return result;
+            } catch (CircuitOpenException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                FailureType type = FailureClassifier.classify(e);
+                if (breaker != null) {
+                    if (type.isServerFailure()) {
+                        breaker.onFailure();
+                    } else {
+                        // 元素超时等失败不能说明服务端恢复，只归还探测名额，不清零失败计数
+                        breaker.releaseProbe();
+                    }
+                }
+                logger.error("{} 失败 (第{}次, {}): {}", operation, attempt, type, e.getMessage());
+                if (!type.isRetryable() || attempt >= maxAttempts
+                    || (breaker != null && breaker.getState() == CircuitBreaker.State.OPEN)) {
+                    throw e;
+                }
+                if (onRetry != null) {
+                    onRetry.accept(attempt, e);
+                }
+                long delay = delayMillis(attempt);
+                logger.info("{}ms后重试 {}", delay, operation);
+                sleep(operation, delay);
+            } catch (Error e) {
+                // 否则半开状态的探测名额一直被占用，熔断器再也不会关闭
+                if (breaker != null) {
+                    breaker.releaseProbe();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 第attempt次失败后的等待时间：initialDelay * multiplier^(attempt-1)，不超过maxDelay，
+     * 再在[1 - jitter, 1]倍之间随机，避免并行测试同时重试
+     */
+    long delayMillis(int attempt) {
+        double base = Math.min(maxDelayMillis, initialDelayMillis * Math.pow(multiplier, attempt - 1));
+        double factor = 1.0 - jitter * ThreadLocalRandom.current().nextDouble();
+        return Math.round(base * factor);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    private static void sleep(String operation, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(operation + " 重试被中断", e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.assetmanagement.simulator;
+
+import com.assetmanagement.utils.ConfigReader;
+
+import java.time.Duration;
+
+/**
+ * 终端集群模拟的参数
+ */
+public class FleetProfile {
+    private final String baseUrl;
+    private final int terminals;
+    private final String registerPath;
+    private final String heartbeatPath;
+    private final Duration heartbeatInterval;
+    private final double heartbeatJitter;
+    private final Duration startupSpread;
+    private final Duration duration;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    public FleetProfile(String baseUrl, int terminals, String registerPath, String heartbeatPath,
+                        Duration heartbeatInterval, double heartbeatJitter, Duration startupSpread,
+                        Duration duration, Duration requestTimeout, int maxInFlight) {
+        if (terminals < 1) {
+            throw new IllegalArgumentException("终端数量必须大于0: " + terminals);
+        }
+        if (heartbeatJitter < 0 || heartbeatJitter >= 1) {
+            throw new IllegalArgumentException("心跳抖动比例必须在[0, 1)之间: " + heartbeatJitter);
+        }
+        this.baseUrl = baseUrl;
+        this.terminals = terminals;
+        this.registerPath = registerPath;
+        this.heartbeatPath = heartbeatPath;
+        this.heartbeatInterval = heartbeatInterval;
+        this.heartbeatJitter = heartbeatJitter;
+        this.startupSpread = startupSpread;
+        this.duration = duration;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * 从simulator.*配置项读取，服务地址使用base.url
+     */
+    public static FleetProfile fromConfig(ConfigReader config) {
+        return new FleetProfile(
+            config.getBaseUrl(),
+            config.getIntProperty("simulator.terminals", 10000),
+            config.getProperty("simulator.register.path", "/api/terminal/register"),
+            config.getProperty("simulator.heartbeat.path", "/api/terminal/heartbeat"),
+            Duration.ofSeconds(config.getIntProperty("simulator.heartbeat.interval.seconds", 30)),
+            Double.parseDouble(config.getProperty("simulator.heartbeat.jitter", "0.2")),
+            Duration.ofSeconds(config.getIntProperty("simulator.startup.spread.seconds", 60)),
+            Duration.ofSeconds(config.getIntProperty("simulator.duration.seconds", 300)),
+            Duration.ofMillis(config.getIntProperty("simulator.request.timeout.ms", 10000)),
+            config.getIntProperty("simulator.max.inflight", 2000));
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getTerminals() {
+        return terminals;
+    }
+
+    public String getRegisterPath() {
+        return registerPath;
+    }
+
+    public String getHeartbeatPath() {
+        return heartbeatPath;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    /**
+     * 心跳间隔的随机浮动比例，0.2表示在间隔的±20%内均匀分布
+     */
+    public double getHeartbeatJitter() {
+        return heartbeatJitter;
+    }
+
+    /**
+     * 所有终端的启动时间在该时长内均匀分散，避免同时注册
+     */
+    public Duration getStartupSpread() {
+        return startupSpread;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * 同时进行中的请求上限，保护模拟器所在机器的连接数
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("terminals=%d, heartbeat=%ds±%.0f%%, spread=%ds, duration=%ds, baseUrl=%s",
+            terminals, heartbeatInterval.toSeconds(), heartbeatJitter * 100, startupSpread.toSeconds(),
+            duration.toSeconds(), baseUrl);
+    }
+}
@@ -0,0 +1,97 @@
+package com.assetmanagement.simulator;
+
+import com.assetmanagement.metrics.LatencyHistogram;
+import com.assetmanagement.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 终端集群模拟结果：注册成功数以及注册、心跳的应答延迟和吞吐量
+ */
+public class FleetReport {
+    private static final Logger logger = LoggerFactory.getLogger(FleetReport.class);
+
+    private final FleetProfile profile;
+    private final MetricsRegistry registry;
+    private final int registered;
+    private final Duration elapsed;
+
+    public FleetReport(FleetProfile profile, MetricsRegistry registry, int registered, Duration elapsed) {
+        this.profile = profile;
+        this.registry = registry;
+        this.registered = registered;
+        this.elapsed = elapsed;
+    }
+
+    public int getRegistered() {
+        return registered;
+    }
+
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    public long getCount(String step) {
+        LatencyHistogram histogram = registry.getHistograms().get(step);
+        return histogram == null ? 0 : histogram.getTotalCount();
+    }
+
+    public long getErrors(String step) {
+        return registry.getErrorCount(step);
+    }
+
+    /**
+     * 以微秒为单位的应答延迟百分位
+     */
+    public long getLatencyAtPercentile(String step, double percentile) {
+        LatencyHistogram histogram = registry.getHistograms().get(step);
+        return histogram == null ? 0 : histogram.getValueAtPercentile(percentile);
+    }
+
+    public double getThroughput(String step) {
+        double seconds = elapsed.toMillis() / 1000.0;
+        return seconds == 0 ? 0 : getCount(step) / seconds;
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder();
+        out.append("终端集群模拟: ").append(profile).append('\n');
+        out.append(String.format(Locale.ROOT, "注册成功: %d/%d, 总耗时: %.1fs%n",
+            registered, profile.getTerminals(), elapsed.toMillis() / 1000.0));
+        out.append(String.format("%-12s %10s %8s %10s %10s %10s %10s %10s%n",
+            "请求", "次数", "失败", "吞吐(/s)", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)"));
+        for (Map.Entry<String, LatencyHistogram> entry : registry.getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            out.append(String.format(Locale.ROOT, "%-12s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                entry.getKey(), histogram.getTotalCount(), registry.getErrorCount(entry.getKey()),
+                getThroughput(entry.getKey()),
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(95) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getMax() / 1000.0));
+        }
+        return out.toString();
+    }
+
+    /**
+     * 写出fleet-report.txt以及JSON和Prometheus格式的延迟统计
+     */
+    public void write(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("fleet-report.txt"), toText(), StandardCharsets.UTF_8);
+            registry.export(dir, "fleet-latency");
+            logger.info("终端集群模拟报告已写入: {}", dir);
+        } catch (IOException e) {
+            logger.error("写入终端集群模拟报告失败: {}", e.getMessage());
+        }
+    }
+}
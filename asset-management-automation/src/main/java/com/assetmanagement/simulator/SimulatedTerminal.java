@@ -0,0 +1,93 @@
+package com.assetmanagement.simulator;
+
+import org.openqa.selenium.json.Json;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 一台模拟终端：固定的硬件标识，加上缓慢变化的CPU、内存、磁盘和温度指标
+ * 只由自己的虚拟线程访问，不需要同步
+ */
+public class SimulatedTerminal {
+    private static final Json JSON = new Json();
+
+    private final int index;
+    private final String terminalId;
+    private final String macAddress;
+    private final String ipAddress;
+    private final Random random;
+    private double cpuUsage;
+    private double memoryUsage;
+    private double diskUsage;
+    private double temperature;
+    private String token;
+
+    public SimulatedTerminal(int index) {
+        this.index = index;
+        this.terminalId = String.format("SIM-%06d", index);
+        this.macAddress = String.format("02:00:%02X:%02X:%02X:%02X",
+            (index >> 24) & 0xFF, (index >> 16) & 0xFF, (index >> 8) & 0xFF, index & 0xFF);
+        this.ipAddress = String.format("10.%d.%d.%d", (index >> 16) & 0xFF, (index >> 8) & 0xFF, index & 0xFF);
+        this.random = new Random(index);
+        this.cpuUsage = 5 + random.nextDouble() * 30;
+        this.memoryUsage = 30 + random.nextDouble() * 40;
+        this.diskUsage = 20 + random.nextDouble() * 60;
+        this.temperature = 35 + random.nextDouble() * 15;
+    }
+
+    public String getTerminalId() {
+        return terminalId;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String registrationBody() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("terminalId", terminalId);
+        body.put("hostname", "sim-pc-" + index);
+        body.put("macAddress", macAddress);
+        body.put("ipAddress", ipAddress);
+        body.put("osVersion", "Windows 10 22H2");
+        body.put("agentVersion", "1.0.0-sim");
+        return JSON.toJson(body);
+    }
+
+    /**
+     * 生成下一次心跳：各项指标在上一次的基础上随机游走
+     */
+    public String nextHeartbeatBody() {
+        cpuUsage = walk(cpuUsage, 8, 1, 100);
+        memoryUsage = walk(memoryUsage, 3, 5, 98);
+        diskUsage = walk(diskUsage, 0.2, 1, 99);
+        temperature = walk(temperature, 1.5, 25, 95);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("terminalId", terminalId);
+        if (token != null) {
+            body.put("token", token);
+        }
+        body.put("timestamp", Instant.now().toString());
+        body.put("cpuUsage", round(cpuUsage));
+        body.put("memoryUsage", round(memoryUsage));
+        body.put("diskUsage", round(diskUsage));
+        body.put("cpuTemperature", round(temperature));
+        return JSON.toJson(body);
+    }
+
+    private double walk(double value, double step, double min, double max) {
+        return Math.min(max, Math.max(min, value + random.nextGaussian() * step));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
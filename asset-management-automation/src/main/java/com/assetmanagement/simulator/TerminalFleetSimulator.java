@@ -0,0 +1,158 @@
+package com.assetmanagement.simulator;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.metrics.MetricsRegistry;
+import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.utils.HttpClientFactory;
+import com.assetmanagement.utils.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 终端集群模拟器：每台终端一个虚拟线程，先注册，再按带抖动的间隔发送硬件健康心跳
+ * 记录注册和心跳的服务端应答延迟，用于观察服务端接入能力随终端规模的变化
+ */
+public class TerminalFleetSimulator {
+    private static final Logger logger = LoggerFactory.getLogger(TerminalFleetSimulator.class);
+
+    public static final String STEP_REGISTER = "register";
+    public static final String STEP_HEARTBEAT = "heartbeat";
+
+    private static final int MAX_REGISTER_ATTEMPTS = 3;
+
+    private final FleetProfile profile;
+    private final HttpClient client;
+    private final Semaphore inFlight;
+    private final MetricsRegistry registry = new MetricsRegistry();
+    private final AtomicInteger registered = new AtomicInteger();
+
+    public TerminalFleetSimulator(FleetProfile profile) {
+        this.profile = profile;
+        this.client = HttpClientFactory.create(profile.getRequestTimeout());
+        this.inFlight = new Semaphore(profile.getMaxInFlight());
+    }
+
+    /**
+     * 运行到配置的时长结束，返回注册和心跳的统计
+     */
+    public FleetReport run() {
+        logger.info("开始终端集群模拟: {}", profile);
+        long start = System.nanoTime();
+        long deadline = start + profile.getStartupSpread().plus(profile.getDuration()).toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < profile.getTerminals(); i++) {
+                SimulatedTerminal terminal = new SimulatedTerminal(i);
+                long startAt = start + profile.getStartupSpread().toNanos() * i / profile.getTerminals();
+                executor.submit(() -> runTerminal(terminal, startAt, deadline));
+            }
+            // close()会等待所有终端线程结束
+        }
+
+        FleetReport report = new FleetReport(profile, registry, registered.get(),
+            Duration.ofNanos(System.nanoTime() - start));
+        logger.info("终端集群模拟结束\n{}", report.toText());
+        return report;
+    }
+
+    private void runTerminal(SimulatedTerminal terminal, long startAt, long deadline) {
+        try {
+            sleepUntil(startAt);
+            if (!register(terminal, deadline)) {
+                return;
+            }
+            registered.incrementAndGet();
+            while (true) {
+                long next = System.nanoTime() + jitteredInterval();
+                if (next >= deadline) {
+                    return;
+                }
+                sleepUntil(next);
+                send(STEP_HEARTBEAT, profile.getHeartbeatPath(), terminal.nextHeartbeatBody());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean register(SimulatedTerminal terminal, long deadline) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_REGISTER_ATTEMPTS && System.nanoTime() < deadline; attempt++) {
+            HttpResponse<String> response = send(STEP_REGISTER, profile.getRegisterPath(), terminal.registrationBody());
+            if (response != null && isSuccess(response)) {
+                terminal.setToken(JsonUtils.findToken(response.body()));
+                return true;
+            }
+            // 注册失败按指数退避重试，避免所有终端同时重试
+            TimeUnit.MILLISECONDS.sleep((long) (500 * Math.pow(2, attempt - 1) * (1 + ThreadLocalRandom.current().nextDouble())));
+        }
+        logger.debug("终端注册失败: {}", terminal.getTerminalId());
+        return false;
+    }
+
+    /**
+     * 发送一次请求并记录应答延迟，非2xx应答和异常计为失败
+     */
+    private HttpResponse<String> send(String step, String path, String body) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(profile.getBaseUrl() + path))
+            .timeout(profile.getRequestTimeout())
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+        inFlight.acquire();
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            success = isSuccess(response);
+            return response;
+        } catch (IOException e) {
+            logger.debug("{}请求失败: {}", step, e.getMessage());
+            return null;
+        } finally {
+            inFlight.release();
+            registry.histogram(step).recordNanos(System.nanoTime() - start);
+            if (!success) {
+                registry.recordError(step);
+            }
+        }
+    }
+
+    private long jitteredInterval() {
+        double jitter = profile.getHeartbeatJitter();
+        double factor = jitter == 0 ? 1 : 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return (long) (profile.getHeartbeatInterval().toNanos() * factor);
+    }
+
+    private static boolean isSuccess(HttpResponse<String> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+
+    private static void sleepUntil(long nanoTime) throws InterruptedException {
+        long remaining = nanoTime - System.nanoTime();
+        if (remaining > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    /**
+     * 按simulator.*配置运行一次模拟，报告写入simulator.report.dir
+     */
+    public static void main(String[] args) {
+        FleetReport report = new TerminalFleetSimulator(FleetProfile.fromConfig(new ConfigReader())).run();
+        report.write(Paths.get(ConfigManager.current().get("simulator.report.dir", "target/simulator")));
+    }
+}
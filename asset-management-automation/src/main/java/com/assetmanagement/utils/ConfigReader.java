@@ -1,64 +1,39 @@
 package com.assetmanagement.utils;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
 
+/**
+ * 配置读取入口，所有实例共享ConfigManager中的同一份已解析快照
+ * 每次读取都取当前快照，配置文件变化后无需重启即可生效
+ */
 public class 
 
 
 
 ConfigReader {
-    private static final Logger logger = LoggerFactory.getLogger(ConfigReader.class);
-    private Properties properties;
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
 
     public ConfigReader() {
-        properties = new Properties();
-        try {
-            properties.load(new FileInputStream("src/main/resources/config/config.properties"));
-            logger.info("Configuration loaded successfully");
-        } catch (IOException e) {
-            logger.error("Error loading configuration file", e);
-            throw new RuntimeException("Failed to load configuration file", e);
-        }
+        // 配置由ConfigManager统一加载，这里不再读取文件
     }
 
     public String getProperty(String key, String defaultValue) {
-        String value = properties.getProperty(key, defaultValue);
-        return resolveVariables(value);
-    }
-
-    private String resolveVariables(String value) {
-        if (value == null) {
-            return null;
-        }
-
-        Matcher matcher = VARIABLE_PATTERN.matcher(value);
-        StringBuffer result = new StringBuffer();
-        
-        while (matcher.find()) {
-            String varName = matcher.group(1);
-            String replacement = properties.getProperty(varName);
-            
-            if (replacement == null) {
-                logger.warn("Variable ${" + varName + "} not found in properties");
-                replacement = matcher.group(0); // 保持原样
-            } else {
-                // 递归解析变量
-                replacement = resolveVariables(replacement);
-            }
-            
-            matcher.appendReplacement(result, Matcher.quoteReplacement(replacement));
-        }
-        
-        matcher.appendTail(result);
-        return result.toString();
+        return ConfigManager.current().get(key, defaultValue);
+    }
+
+    public int getIntProperty(String key, int defaultValue) {
+        return ConfigManager.current().getInt(key, defaultValue);
+    }
+
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+        return ConfigManager.current().getBoolean(key, defaultValue);
+    }
+
+    /**
+     * 当前配置快照，需要连续读取多个配置项且要求一致时使用
+     */
+    public ConfigSnapshot snapshot() {
+        return ConfigManager.current();
     }
 
     public String getBrowserType() {
@@ -66,11 +41,11 @@ ConfigReader {
     }
 
     public boolean isHeadless() {
-        return Boolean.parseBoolean(getProperty("browser.headless", "false"));
+        return getBooleanProperty("browser.headless", false);
     }
 
     public int getTimeout() {
-        return Integer.parseInt(getProperty("browser.timeout", "30"));
+        return getIntProperty("browser.timeout", 30);
     }
 
     public String getBaseUrl() {
@@ -115,6 +90,6 @@ ConfigReader {
     }
 
     public boolean isScreenshotOnFailure() {
-        return Boolean.parseBoolean(getProperty("screenshot.on.failure", "true"));
+        return getBooleanProperty("screenshot.on.failure", true);
     }
 } 
\ No newline at end of file
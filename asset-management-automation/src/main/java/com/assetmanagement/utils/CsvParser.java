@@ -0,0 +1,131 @@
+package com.assetmanagement.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按RFC 4180逐条读取CSV记录
+ * 支持双引号包裹的字段、字段内的逗号和换行以及""转义，CRLF和LF换行均可
+ */
+public class CsvParser implements Closeable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long recordNumber;
+    private boolean firstRead = true;
+
+    public CsvParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一条记录，到达文件末尾返回null，空行被跳过
+     */
+    public String[] readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean quotedField = false;
+        boolean sawAnything = false;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (inQuotes) {
+                    throw new IOException("CSV第" + (recordNumber + 1) + "条记录的引号未闭合");
+                }
+                if (!sawAnything) {
+                    return null;
+                }
+                fields.add(field.toString());
+                break;
+            }
+            sawAnything = true;
+
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"' && field.length() == 0 && !quotedField) {
+                inQuotes = true;
+                quotedField = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                quotedField = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (fields.isEmpty() && field.length() == 0 && !quotedField) {
+                    // 空行
+                    sawAnything = false;
+                    continue;
+                }
+                fields.add(field.toString());
+                break;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        recordNumber++;
+        return fields.toArray(new String[0]);
+    }
+
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        limit = reader.read(buffer, 0, buffer.length);
+        position = 0;
+        if (limit > 0 && firstRead) {
+            firstRead = false;
+            // 跳过UTF-8 BOM
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+                return fill();
+            }
+        }
+        return limit > 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
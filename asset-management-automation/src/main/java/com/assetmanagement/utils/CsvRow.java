@@ -0,0 +1,70 @@
+package com.assetmanagement.utils;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * 不可变的CSV行，所有行共享同一份表头索引，只保存字段值数组
+ */
+public class CsvRow extends AbstractMap<String, String> {
+    private final String[] headers;
+    private final Map<String, Integer> index;
+    private final String[] values;
+
+    CsvRow(String[] headers, Map<String, Integer> index, String[] values) {
+        this.headers = headers;
+        this.index = index;
+        this.values = values;
+    }
+
+    @Override
+    public String get(Object key) {
+        Integer i = index.get(key);
+        return i == null ? null : values[i];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return headers.length;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, String>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < headers.length;
+                    }
+
+                    @Override
+                    public Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int i = next++;
+                        return new SimpleImmutableEntry<>(headers[i], values[i]);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return headers.length;
+            }
+        };
+    }
+}
@@ -0,0 +1,100 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 浏览器驱动解析，每个JVM每种浏览器只解析一次
+ * 依次查找：webdriver.edge.driver系统属性、配置的webdriver.edge.driver路径、webdriver.drivers.dir目录（默认tools/drivers）
+ * 本地都找不到时默认直接报错并列出查找过的路径，只有webdriver.download.enabled=true时才通过WebDriverManager联网下载
+ */
+public final class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final Map<String, String> EXECUTABLES = Map.of(
+        "edge", "msedgedriver",
+        "chrome", "chromedriver",
+        "firefox", "geckodriver");
+    private static final Map<String, Path> resolved = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 解析驱动路径并写入webdriver.<browser>.driver系统属性，结果在JVM内缓存
+     */
+    public static Path resolve(String browser) {
+        String key = browser.toLowerCase(Locale.ROOT);
+        return resolved.computeIfAbsent(key, DriverBinaryResolver::resolveOnce);
+    }
+
+    private static Path resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String property = "webdriver." + browser + ".driver";
+        ConfigSnapshot config = ConfigManager.current();
+        List<Path> candidates = candidates(browser, System.getProperty(property), config.get(property),
+            Paths.get(config.get("webdriver.drivers.dir", "tools/drivers")));
+        Path driver = locate(candidates);
+        if (driver == null) {
+            if (!config.getBoolean("webdriver.download.enabled", false)) {
+                throw new RuntimeException("未找到" + browser + "浏览器驱动，已查找: " + candidates
+                    + "。请通过" + property + "指定驱动路径，或设置webdriver.download.enabled=true允许联网下载");
+            }
+            logger.warn("本地未找到{}浏览器驱动(已查找: {})，通过WebDriverManager联网下载", browser, candidates);
+            io.github.bonigarcia.wdm.WebDriverManager manager = io.github.bonigarcia.wdm.WebDriverManager.getInstance(browser);
+            manager.setup();
+            driver = Paths.get(manager.getDownloadedDriverPath());
+        }
+        System.setProperty(property, driver.toString());
+        logger.info("{}浏览器驱动: {} (解析耗时{}ms)", browser, driver, (System.nanoTime() - start) / 1_000_000);
+        return driver;
+    }
+
+    /**
+     * 只在本地查找驱动，找不到时返回null
+     */
+    static Path locate(String browser, String systemPath, String configuredPath, Path driversDir) {
+        return locate(candidates(browser, systemPath, configuredPath, driversDir));
+    }
+
+    private static Path locate(List<Path> candidates) {
+        for (Path candidate : candidates) {
+            if (isExecutable(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按查找顺序列出本地候选路径：系统属性、配置路径、驱动目录下的可执行文件
+     */
+    static List<Path> candidates(String browser, String systemPath, String configuredPath, Path driversDir) {
+        List<Path> candidates = new ArrayList<>();
+        for (String candidate : new String[]{systemPath, configuredPath}) {
+            if (candidate != null && !candidate.isBlank()) {
+                candidates.add(Paths.get(candidate.trim()));
+            }
+        }
+        String executable = EXECUTABLES.getOrDefault(browser, browser + "driver");
+        for (String name : new String[]{executable, executable + ".exe"}) {
+            candidates.add(driversDir.resolve(name).toAbsolutePath());
+        }
+        return candidates;
+    }
+
+    private static boolean isExecutable(Path path) {
+        return Files.isRegularFile(path) && Files.isExecutable(path);
+    }
+}
@@ -0,0 +1,247 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.metrics.MetricsRegistry;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 客户端Grid会话调度
+ * 会话请求按浏览器类型排队，根据/status中各节点的空闲槽位和maxSessions放行，Grid繁忙时等待而不是失败
+ * 排队等待和会话创建耗时记入MetricsRegistry（grid.queueWait.<浏览器>、grid.sessionCreate.<浏览器>）
+ */
+public class GridSessionScheduler {
+    private static final Logger logger = LoggerFactory.getLogger(GridSessionScheduler.class);
+    private static volatile GridSessionScheduler instance;
+
+    private final URL gridUrl;
+    private final long pollMillis;
+    private final Duration timeout;
+    private final HttpClient client = HttpClientFactory.create(Duration.ofSeconds(5));
+    private final Deque<Ticket> queue = new ArrayDeque<>();
+    // 已放行、正在创建的会话数，按浏览器区分
+    private final Map<String, Integer> creating = new HashMap<>();
+    // 已创建但可能还没反映在Grid状态里的会话的完成时间
+    private final Map<String, Deque<Long>> created = new HashMap<>();
+    private GridStatus status;
+    private String lastError = "尚未取得Grid状态";
+    private Thread poller;
+
+    public GridSessionScheduler(String gridUrl, Duration pollInterval, Duration timeout) {
+        try {
+            this.gridUrl = URI.create(gridUrl).toURL();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            throw new IllegalArgumentException("grid.url格式错误: " + gridUrl, e);
+        }
+        this.pollMillis = Math.max(50, pollInterval.toMillis());
+        this.timeout = timeout;
+    }
+
+    public static GridSessionScheduler getInstance() {
+        if (instance == null) {
+            synchronized (GridSessionScheduler.class) {
+                if (instance == null) {
+                    ConfigSnapshot config = ConfigManager.current();
+                    instance = new GridSessionScheduler(
+                        config.get("grid.url", "http://localhost:4444"),
+                        Duration.ofMillis(config.getLong("grid.status.poll.ms", 500)),
+                        Duration.ofSeconds(config.getLong("grid.session.timeout.seconds", 300)));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 排队等到有匹配的空闲槽位后创建远程会话
+     */
+    public WebDriver newSession(Capabilities capabilities) {
+        String browser = capabilities.getBrowserName().toLowerCase();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        MetricsRegistry metrics = MetricsRegistry.global();
+
+        while (true) {
+            // 每次排队单独记录，创建失败重新排队时不重复计入之前的等待
+            long queueStart = System.nanoTime();
+            awaitSlot(browser, deadline);
+            long queued = System.nanoTime() - queueStart;
+            metrics.histogram("grid.queueWait." + browser).recordNanos(queued);
+
+            long createStart = System.nanoTime();
+            try {
+                WebDriver driver = new Augmenter().augment(new RemoteWebDriver(gridUrl, capabilities));
+                finished(browser, true);
+                metrics.histogram("grid.sessionCreate." + browser).recordNanos(System.nanoTime() - createStart);
+                logger.info("Grid会话已创建: {}，排队{}ms，创建{}ms", browser, queued / 1_000_000,
+                    (System.nanoTime() - createStart) / 1_000_000);
+                return driver;
+            } catch (SessionNotCreatedException e) {
+                // 其他客户端抢先占用了槽位，重新排队
+                metrics.recordError("grid.sessionCreate." + browser);
+                finished(browser, false);
+                if (System.nanoTime() >= deadline) {
+                    throw new RuntimeException("创建Grid会话失败: " + browser, e);
+                }
+                logger.warn("Grid会话创建失败，重新排队: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                metrics.recordError("grid.sessionCreate." + browser);
+                finished(browser, false);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 同一浏览器的请求先到先得；正在创建和刚创建、状态里还看不到的会话都占用槽位
+     */
+    private synchronized void awaitSlot(String browser, long deadline) {
+        Ticket ticket = new Ticket(browser);
+        queue.addLast(ticket);
+        ensurePoller();
+        try {
+            while (true) {
+                if (status != null && status.capacity(browser) == 0) {
+                    throw new RuntimeException("Selenium Grid中没有支持" + browser + "的节点: " + gridUrl);
+                }
+                if (status != null && isHead(ticket)
+                        && status.freeSlots(browser) - pending(browser) > 0) {
+                    creating.merge(browser, 1, Integer::sum);
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("等待Grid会话超时(" + timeout.toSeconds() + "秒)，浏览器: " + browser
+                        + "，排队请求: " + queue.size() + "，" + lastError);
+                }
+                wait(Math.max(1, Math.min(remaining / 1_000_000, pollMillis)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待Grid会话被中断", e);
+        } finally {
+            queue.remove(ticket);
+            notifyAll();
+        }
+    }
+
+    private int pending(String browser) {
+        Deque<Long> recent = created.get(browser);
+        return creating.getOrDefault(browser, 0) + (recent == null ? 0 : recent.size());
+    }
+
+    private synchronized void finished(String browser, boolean success) {
+        creating.computeIfPresent(browser, (key, count) -> count > 1 ? count - 1 : null);
+        if (success) {
+            created.computeIfAbsent(browser, key -> new ArrayDeque<>()).addLast(System.nanoTime());
+        }
+        notifyAll();
+    }
+
+    private boolean isHead(Ticket ticket) {
+        for (Ticket queued : queue) {
+            if (queued.browser.equals(ticket.browser)) {
+                return queued == ticket;
+            }
+        }
+        return false;
+    }
+
+    public synchronized int getQueueLength() {
+        return queue.size();
+    }
+
+    private void ensurePoller() {
+        if (poller != null && poller.isAlive()) {
+            return;
+        }
+        poller = new Thread(this::poll, "grid-status-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+
+    /**
+     * 有请求排队时定期刷新Grid状态，队列为空时退出
+     * 退出时丢弃状态，之后的请求要等到新取得的状态才放行，不会按过期的快照判断
+     */
+    private void poll() {
+        while (true) {
+            synchronized (this) {
+                if (queue.isEmpty()) {
+                    poller = null;
+                    status = null;
+                    // 新状态在这些会话创建之后获取，已经包含它们
+                    created.clear();
+                    lastError = "尚未取得Grid状态";
+                    return;
+                }
+            }
+            refreshStatus();
+            try {
+                Thread.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void refreshStatus() {
+        long fetchStart = System.nanoTime();
+        GridStatus fresh = null;
+        String error = null;
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(gridUrl.toString().replaceAll("/+$", "") + "/status"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            fresh = GridStatus.parse(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "获取Grid状态被中断";
+        } catch (Exception e) {
+            error = "无法获取Grid状态: " + e.getMessage();
+        }
+        synchronized (this) {
+            if (fresh != null) {
+                status = fresh;
+                // 请求发出前已创建的会话已经体现在这次状态里
+                for (Deque<Long> recent : created.values()) {
+                    while (!recent.isEmpty() && recent.peekFirst() < fetchStart) {
+                        recent.pollFirst();
+                    }
+                }
+                lastError = fresh.isReady() ? "" : "Grid未就绪";
+            } else {
+                lastError = error;
+                logger.warn(error);
+            }
+            notifyAll();
+        }
+    }
+
+    private static class Ticket {
+        private final String browser;
+
+        Ticket(String browser) {
+            this.browser = browser;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.assetmanagement.utils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selenium Grid /status接口返回的节点和槽位快照
+ * 每个节点的可用槽位数同时受空闲槽位和maxSessions限制
+ */
+public class GridStatus {
+    private final boolean ready;
+    private final List<Map<String, Object>> nodes;
+
+    private GridStatus(boolean ready, List<Map<String, Object>> nodes) {
+        this.ready = ready;
+        this.nodes = nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static GridStatus parse(String body) {
+        Object root = JsonUtils.parse(body);
+        if (!(root instanceof Map)) {
+            throw new IllegalArgumentException("无法解析Grid状态: " + body);
+        }
+        Object value = ((Map<String, Object>) root).getOrDefault("value", root);
+        Map<String, Object> status = value instanceof Map ? (Map<String, Object>) value : Map.of();
+        Object nodes = status.get("nodes");
+        return new GridStatus(Boolean.TRUE.equals(status.get("ready")),
+            nodes instanceof List ? (List<Map<String, Object>>) nodes : List.of());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 当前可立即创建的指定浏览器会话数
+     */
+    public int freeSlots(String browserName) {
+        return count(browserName, true);
+    }
+
+    /**
+     * 所有在线节点能同时运行的指定浏览器会话总数，为0表示没有节点支持该浏览器
+     */
+    public int capacity(String browserName) {
+        return count(browserName, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int count(String browserName, boolean freeOnly) {
+        int total = 0;
+        for (Map<String, Object> node : nodes) {
+            if (!"UP".equals(node.get("availability"))) {
+                continue;
+            }
+            Object slots = node.get("slots");
+            if (!(slots instanceof List)) {
+                continue;
+            }
+            int busy = 0;
+            int matching = 0;
+            for (Map<String, Object> slot : (List<Map<String, Object>>) slots) {
+                boolean occupied = slot.get("session") != null;
+                if (occupied) {
+                    busy++;
+                }
+                Object stereotype = slot.get("stereotype");
+                if (stereotype instanceof Map && browserName.equalsIgnoreCase(
+                        String.valueOf(((Map<String, Object>) stereotype).get("browserName")))
+                        && (!freeOnly || !occupied)) {
+                    matching++;
+                }
+            }
+            int maxSessions = node.get("maxSessions") instanceof Number
+                ? ((Number) node.get("maxSessions")).intValue() : ((List<?>) slots).size();
+            total += Math.min(matching, Math.max(0, freeOnly ? maxSessions - busy : maxSessions));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,82 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.net.CookieHandler;
+import java.net.http.HttpClient;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+
+/**
+ * 创建访问被测平台接口用的HttpClient
+ * 默认校验证书和主机名；测试环境使用自签名证书时在配置中显式开启http.trust.all.certs
+ */
+public final class HttpClientFactory {
+    private static final Logger logger = LoggerFactory.getLogger(HttpClientFactory.class);
+    // 进程启动后只读取一次，与JVM级的主机名校验开关保持一致
+    private static final boolean TRUST_ALL = ConfigManager.current().getBoolean("http.trust.all.certs", false);
+
+    static {
+        if (TRUST_ALL) {
+            // JDK在HttpClient实现类初始化时只读取一次该属性，对进程内所有HttpClient生效
+            System.setProperty("jdk.internal.httpclient.disableHostnameVerification", "true");
+            logger.warn("http.trust.all.certs=true，进程内的HttpClient不校验证书和主机名");
+        }
+    }
+
+    private HttpClientFactory() {
+        // 私有构造函数，防止实例化
+    }
+
+    public static HttpClient create(Duration connectTimeout) {
+        return create(connectTimeout, null);
+    }
+
+    /**
+     * 创建带Cookie管理的HttpClient，用于需要保持登录会话的接口调用
+     */
+    public static HttpClient create(Duration connectTimeout, CookieHandler cookieHandler) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(connectTimeout)
+            .followRedirects(HttpClient.Redirect.NORMAL);
+        if (cookieHandler != null) {
+            builder.cookieHandler(cookieHandler);
+        }
+        if (TRUST_ALL) {
+            builder.sslContext(trustAllContext());
+        }
+        return builder.build();
+    }
+
+    private static SSLContext trustAllContext() {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {
+            }
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, new TrustManager[]{trustAll}, null);
+            return context;
+        } catch (GeneralSecurityException e) {
+            logger.error("创建SSLContext失败", e);
+            throw new RuntimeException("创建SSLContext失败", e);
+        }
+    }
+}
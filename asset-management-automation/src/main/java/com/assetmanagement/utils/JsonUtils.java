@@ -0,0 +1,79 @@
+package com.assetmanagement.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 解析平台接口应答的工具方法，兼容直接返回数据和{code, data}包装两种格式
+ */
+public final class JsonUtils {
+    private static final Json JSON = new Json();
+    // 分页接口常见的列表字段名
+    private static final String[] LIST_KEYS = {"list", "records", "rows", "items", "content"};
+
+    private JsonUtils() {
+        // 私有构造函数，防止实例化
+    }
+
+    public static String toJson(Object value) {
+        return JSON.toJson(value);
+    }
+
+    /**
+     * 解析JSON文本，内容为空或不是合法JSON时返回null
+     */
+    public static Object parse(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            return JSON.toType(body, Object.class);
+        } catch (JsonException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 从{token}或{data: {token}}中取出token，没有时返回null
+     */
+    public static String findToken(String body) {
+        Object root = unwrap(parse(body));
+        if (root instanceof Map) {
+            Object token = ((Map<?, ?>) root).get("token");
+            return token == null ? null : String.valueOf(token);
+        }
+        return null;
+    }
+
+    /**
+     * 从应答中取出记录列表：根节点即列表，或在data以及data.list/records/rows等字段中
+     * 找不到列表时返回空列表
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> findRecords(String body) {
+        Object root = unwrap(parse(body));
+        if (root instanceof Map) {
+            for (String key : LIST_KEYS) {
+                Object value = ((Map<?, ?>) root).get(key);
+                if (value instanceof List) {
+                    root = value;
+                    break;
+                }
+            }
+        }
+        if (root instanceof List) {
+            return (List<Map<String, Object>>) root;
+        }
+        return List.of();
+    }
+
+    private static Object unwrap(Object root) {
+        if (root instanceof Map && ((Map<?, ?>) root).get("data") != null) {
+            return ((Map<?, ?>) root).get("data");
+        }
+        return root;
+    }
+}
@@ -1,10 +1,15 @@
 package com.assetmanagement.utils;
 
 import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
 import org.openqa.selenium.html5.LocalStorage;
@@ -128,4 +133,77 @@ public class LoginHelper {
             throw new RuntimeException("Failed to login with all available methods", lastException);
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 登录成功后采集Cookie和localStorage，存入会话快照缓存
+     */
+    public SessionSnapshot captureSession(String username) {
+        try {
+            List<Cookie> cookies = new ArrayList<>(driver.manage().getCookies());
+            @SuppressWarnings("unchecked")
+            Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(
+                "var data = {};" +
+                "for (var i = 0; i < window.localStorage.length; i++) {" +
+                "  var k = window.localStorage.key(i); data[k] = window.localStorage.getItem(k);" +
+                "}" +
+                "return data;");
+            Map<String, String> localStorage = new HashMap<>();
+            if (storage != null) {
+                storage.forEach((k, v) -> localStorage.put(k, v == null ? null : v.toString()));
+            }
+
+            Instant now = Instant.now();
+            long ttlSeconds = Long.parseLong(config.getProperty("session.cache.ttl.seconds", "1800"));
+            Instant expiresAt = now.plus(Duration.ofSeconds(ttlSeconds));
+            for (Cookie cookie : cookies) {
+                if (cookie.getExpiry() != null && cookie.getExpiry().toInstant().isBefore(expiresAt)) {
+                    expiresAt = cookie.getExpiry().toInstant();
+                }
+            }
+
+            SessionSnapshot snapshot = new SessionSnapshot(username, config.getBaseUrl(), cookies,
+                localStorage, driver.getCurrentUrl(), now, expiresAt);
+            SessionSnapshotCache.put(snapshot);
+            logger.info("Captured session for user {}: {} cookies, {} localStorage entries",
+                username, cookies.size(), localStorage.size());
+            return snapshot;
+        } catch (Exception e) {
+            logger.warn("Failed to capture session for user {}: {}", username, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 将缓存的会话快照恢复到当前会话，成功后停留在登录后的落地页
+     * 没有可用快照时返回false
+     */
+    public boolean restoreSession(String username) {
+        SessionSnapshot snapshot = SessionSnapshotCache.get(username, config.getBaseUrl());
+        if (snapshot == null) {
+            return false;
+        }
+        try {
+            // 先访问一下首页，确保域名正确
+            driver.get(snapshot.getBaseUrl());
+
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : snapshot.getCookies()) {
+                driver.manage().addCookie(cookie);
+            }
+            if (!snapshot.getLocalStorage().isEmpty()) {
+                ((JavascriptExecutor) driver).executeScript(
+                    "var data = arguments[0];" +
+                    "for (var k in data) { window.localStorage.setItem(k, data[k]); }",
+                    snapshot.getLocalStorage());
+            }
+
+            driver.get(snapshot.getLandingUrl());
+            logger.info("Restored cached session for user: {}", username);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to restore cached session for user {}: {}", username, e.getMessage());
+            SessionSnapshotCache.invalidate(username, config.getBaseUrl());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.metrics.ApiCallStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 从DevTools Network事件整理出每个请求的时间分段，按请求开始时所处的页面操作分组，导出为HAR 1.2
+ * 只保存请求行、状态和各阶段耗时，默认不保存请求头和响应头以降低开销
+ */
+public class NetworkCapture {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkCapture.class);
+    private static final String NO_ACTION = "(无页面操作)";
+
+    private final boolean captureHeaders;
+    private final int maxEntries;
+    private final Map<String, Entry> pending = new ConcurrentHashMap<>();
+    private final List<Entry> finished = new ArrayList<>();
+    // 页面操作 -> 首个请求的开始时间
+    private final Map<String, Double> pages = new LinkedHashMap<>();
+    private int dropped;
+
+    public NetworkCapture(boolean captureHeaders, int maxEntries) {
+        this.captureHeaders = captureHeaders;
+        this.maxEntries = maxEntries;
+    }
+
+    @SuppressWarnings("unchecked")
+    void onRequestWillBeSent(Map<String, Object> params, String action) {
+        String requestId = String.valueOf(params.get("requestId"));
+        Map<String, Object> redirect = (Map<String, Object>) params.get("redirectResponse");
+        if (redirect != null) {
+            // 重定向沿用同一个requestId，先结束上一跳
+            Entry previous = pending.remove(requestId);
+            if (previous != null) {
+                previous.response(redirect, captureHeaders);
+                finish(previous, number(params.get("timestamp")), number(redirect.get("encodedDataLength")));
+            }
+        }
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        Entry entry = new Entry(action == null ? NO_ACTION : action,
+            String.valueOf(request.get("method")), String.valueOf(request.get("url")),
+            number(params.get("wallTime")), number(params.get("timestamp")),
+            captureHeaders ? (Map<String, Object>) request.get("headers") : null);
+        pending.put(requestId, entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    void onResponseReceived(Map<String, Object> params) {
+        Entry entry = pending.get(String.valueOf(params.get("requestId")));
+        if (entry != null) {
+            entry.response((Map<String, Object>) params.get("response"), captureHeaders);
+        }
+    }
+
+    void onLoadingFinished(Map<String, Object> params) {
+        Entry entry = pending.remove(String.valueOf(params.get("requestId")));
+        if (entry != null) {
+            finish(entry, number(params.get("timestamp")), number(params.get("encodedDataLength")));
+        }
+    }
+
+    void onLoadingFailed(Map<String, Object> params) {
+        Entry entry = pending.remove(String.valueOf(params.get("requestId")));
+        if (entry != null) {
+            entry.errorText = String.valueOf(params.get("errorText"));
+            finish(entry, number(params.get("timestamp")), 0);
+        }
+    }
+
+    private void finish(Entry entry, double endTimestamp, double bodySize) {
+        entry.endTimestamp = endTimestamp;
+        entry.bodySize = (long) bodySize;
+        Map<String, Double> timings = entry.timings();
+        ApiCallStats.global().record(entry.method, entry.url, entry.action, entry.totalMillis(),
+            timings.get("wait"), entry.status);
+        synchronized (this) {
+            if (finished.size() >= maxEntries) {
+                dropped++;
+                return;
+            }
+            finished.add(entry);
+            pages.putIfAbsent(entry.action, entry.wallTime);
+        }
+    }
+
+    /**
+     * 导出已完成的请求为HAR并清空，尚未结束的请求留到下一次导出
+     */
+    public synchronized Map<String, Object> drainHar() {
+        List<Map<String, Object>> pageList = new ArrayList<>();
+        Map<String, String> pageIds = new LinkedHashMap<>();
+        for (Map.Entry<String, Double> page : pages.entrySet()) {
+            String id = "page_" + (pageIds.size() + 1);
+            pageIds.put(page.getKey(), id);
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", isoTime(page.getValue()));
+            har.put("id", id);
+            har.put("title", page.getKey());
+            har.put("pageTimings", Map.of());
+            pageList.add(har);
+        }
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Entry entry : finished) {
+            entries.add(entry.toHar(pageIds.get(entry.action)));
+        }
+        if (dropped > 0) {
+            logger.warn("网络请求超过{}条，{}条未写入HAR", maxEntries, dropped);
+        }
+        finished.clear();
+        pages.clear();
+        dropped = 0;
+
+        Map<String, Object> log = new LinkedHashMap<>();
+        log.put("version", "1.2");
+        log.put("creator", Map.of("name", "asset-management-automation", "version", "1.0"));
+        log.put("pages", pageList);
+        log.put("entries", entries);
+        return Map.of("log", log);
+    }
+
+    public synchronized int getFinishedCount() {
+        return finished.size();
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static String isoTime(double epochSeconds) {
+        return Instant.ofEpochMilli(Math.round(epochSeconds * 1000)).toString();
+    }
+
+    private static List<Map<String, Object>> headers(Map<String, Object> headers) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        if (headers != null) {
+            headers.forEach((name, value) -> list.add(Map.of("name", name, "value", String.valueOf(value))));
+        }
+        return list;
+    }
+
+    private static class Entry {
+        private final String action;
+        private final String method;
+        private final String url;
+        private final double wallTime;
+        private final double startTimestamp;
+        private final Map<String, Object> requestHeaders;
+        private Map<String, Object> responseHeaders;
+        private Map<String, Object> timing;
+        private int status;
+        private String statusText = "";
+        private String protocol = "";
+        private String mimeType = "";
+        private String errorText;
+        private double endTimestamp;
+        private long bodySize;
+
+        Entry(String action, String method, String url, double wallTime, double startTimestamp,
+              Map<String, Object> requestHeaders) {
+            this.action = action;
+            this.method = method;
+            this.url = url;
+            this.wallTime = wallTime;
+            this.startTimestamp = startTimestamp;
+            this.requestHeaders = requestHeaders;
+        }
+
+        @SuppressWarnings("unchecked")
+        void response(Map<String, Object> response, boolean captureHeaders) {
+            status = (int) number(response.get("status"));
+            statusText = String.valueOf(response.getOrDefault("statusText", ""));
+            protocol = String.valueOf(response.getOrDefault("protocol", ""));
+            mimeType = String.valueOf(response.getOrDefault("mimeType", ""));
+            timing = (Map<String, Object>) response.get("timing");
+            if (captureHeaders) {
+                responseHeaders = (Map<String, Object>) response.get("headers");
+            }
+        }
+
+        double totalMillis() {
+            return Math.max(0, (endTimestamp - startTimestamp) * 1000);
+        }
+
+        /**
+         * 按HAR规范拆分各阶段耗时，没有该阶段时为-1；ssl包含在connect中
+         */
+        Map<String, Double> timings() {
+            Map<String, Double> timings = new LinkedHashMap<>();
+            if (timing == null) {
+                // 缓存命中或请求失败时没有分段信息，全部计入wait
+                for (String phase : List.of("blocked", "dns", "connect", "ssl", "send")) {
+                    timings.put(phase, -1.0);
+                }
+                timings.put("wait", totalMillis());
+                timings.put("receive", 0.0);
+                return timings;
+            }
+            double requestTime = number(timing.get("requestTime"));
+            double dnsStart = number(timing.get("dnsStart"));
+            double connectStart = number(timing.get("connectStart"));
+            double sendStart = number(timing.get("sendStart"));
+            double sendEnd = number(timing.get("sendEnd"));
+            double headersEnd = number(timing.get("receiveHeadersEnd"));
+            double queued = Math.max(0, (requestTime - startTimestamp) * 1000);
+            double firstPhase = dnsStart >= 0 ? dnsStart : connectStart >= 0 ? connectStart : sendStart;
+            timings.put("blocked", round(queued + Math.max(0, firstPhase)));
+            timings.put("dns", phase(timing, "dnsStart", "dnsEnd"));
+            timings.put("connect", phase(timing, "connectStart", "connectEnd"));
+            timings.put("ssl", phase(timing, "sslStart", "sslEnd"));
+            timings.put("send", round(Math.max(0, sendEnd - sendStart)));
+            timings.put("wait", round(Math.max(0, headersEnd - sendEnd)));
+            double end = (endTimestamp - requestTime) * 1000;
+            timings.put("receive", round(Math.max(0, end - headersEnd)));
+            return timings;
+        }
+
+        Map<String, Object> toHar(String pageRef) {
+            Map<String, Double> timings = timings();
+            double time = 0;
+            for (Map.Entry<String, Double> phase : timings.entrySet()) {
+                if (!"ssl".equals(phase.getKey()) && phase.getValue() > 0) {
+                    time += phase.getValue();
+                }
+            }
+
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", method);
+            request.put("url", url);
+            request.put("httpVersion", protocol);
+            request.put("cookies", List.of());
+            request.put("headers", headers(requestHeaders));
+            request.put("queryString", List.of());
+            request.put("headersSize", -1);
+            request.put("bodySize", -1);
+
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", status);
+            response.put("statusText", errorText != null ? errorText : statusText);
+            response.put("httpVersion", protocol);
+            response.put("cookies", List.of());
+            response.put("headers", headers(responseHeaders));
+            response.put("content", Map.of("size", bodySize, "mimeType", mimeType));
+            response.put("redirectURL", "");
+            response.put("headersSize", -1);
+            response.put("bodySize", bodySize);
+
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("pageref", pageRef);
+            har.put("startedDateTime", isoTime(wallTime));
+            har.put("time", round(time));
+            har.put("request", request);
+            har.put("response", response);
+            har.put("cache", Map.of());
+            har.put("timings", timings);
+            return har;
+        }
+
+        private static double phase(Map<String, Object> timing, String start, String end) {
+            double from = number(timing.get(start));
+            double to = number(timing.get(end));
+            return from < 0 || to < 0 ? -1.0 : round(to - from);
+        }
+
+        private static double round(double millis) {
+            return Math.round(millis * 1000) / 1000.0;
+        }
+    }
+}
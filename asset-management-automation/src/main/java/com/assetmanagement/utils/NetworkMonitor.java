@@ -0,0 +1,297 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于DevTools Network域跟踪页面上正在进行的请求
+ * 用于等待网络空闲或等待某个接口请求完成，替代固定时长的sleep
+ * 浏览器不支持DevTools时退化为基于Resource Timing条目数量的轮询
+ * network.capture.enabled=true时还记录每个请求的时间分段，按页面操作分组，可导出为HAR
+ */
+public class NetworkMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkMonitor.class);
+    private static final Map<WebDriver, NetworkMonitor> monitors = new ConcurrentHashMap<>();
+
+    // 长连接类请求不会结束，不计入网络空闲判断
+    private static final Set<String> IGNORED_TYPES = Set.of("WebSocket", "EventSource", "Ping", "Manifest");
+
+    private final WebDriver driver;
+    private final Map<String, String> inFlight = new ConcurrentHashMap<>();
+    private final List<RequestWatch> watches = new CopyOnWriteArrayList<>();
+    private final Object lock = new Object();
+    private final NetworkCapture capture;
+    private final Deque<String> actions = new ConcurrentLinkedDeque<>();
+    private final boolean devToolsAttached;
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    private NetworkMonitor(WebDriver driver) {
+        this.driver = driver;
+        ConfigSnapshot config = ConfigManager.current();
+        this.capture = isCaptureEnabled()
+            ? new NetworkCapture(config.getBoolean("network.capture.headers", false),
+                config.getInt("network.capture.max.entries", 1000))
+            : null;
+        this.devToolsAttached = attachDevTools();
+    }
+
+    /**
+     * 不挂载DevTools、由调用方直接投递网络事件的监视器，用于单元测试
+     */
+    NetworkMonitor(WebDriver driver, NetworkCapture capture) {
+        this.driver = driver;
+        this.capture = capture;
+        this.devToolsAttached = true;
+    }
+
+    public static boolean isCaptureEnabled() {
+        return ConfigManager.current().getBoolean("network.capture.enabled", false);
+    }
+
+    /**
+     * 导出会话已采集的请求为HAR并清空；会话没有监视器或未开启采集时返回null
+     */
+    public static Map<String, Object> drainHar(WebDriver driver) {
+        NetworkMonitor monitor = monitors.get(driver);
+        if (monitor == null || monitor.capture == null) {
+            return null;
+        }
+        return monitor.capture.drainHar();
+    }
+
+    /**
+     * 获取WebDriver对应的监视器，同一会话只挂载一次DevTools监听
+     */
+    public static NetworkMonitor forDriver(WebDriver driver) {
+        return monitors.computeIfAbsent(driver, NetworkMonitor::new);
+    }
+
+    /**
+     * 会话销毁时移除对应的监视器
+     */
+    public static void remove(WebDriver driver) {
+        monitors.remove(driver);
+    }
+
+    public boolean isDevToolsAttached() {
+        return devToolsAttached;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * 标记页面操作开始，此后发出的请求归入该操作，嵌套操作以最内层为准
+     */
+    public void beginAction(String action) {
+        actions.push(action);
+    }
+
+    public void endAction() {
+        actions.poll();
+    }
+
+    /**
+     * 在触发操作前登记要等待的接口，避免请求在开始等待前就已完成
+     */
+    public RequestWatch watch(String urlFragment) {
+        RequestWatch watch = new RequestWatch(urlFragment);
+        if (devToolsAttached) {
+            watches.add(watch);
+        }
+        return watch;
+    }
+
+    /**
+     * 等待没有进行中的请求且持续quietPeriod没有新的网络活动
+     * 安静时间至少从开始等待时算起：点击后触发的请求事件可能还没送达，不能因为之前长时间空闲就立即返回
+     */
+    public void waitForIdle(Duration quietPeriod, Duration timeout) {
+        if (!devToolsAttached) {
+            waitForResourceTimingIdle(quietPeriod, timeout);
+            return;
+        }
+        long waitStart = System.nanoTime();
+        long deadline = waitStart + timeout.toNanos();
+        long quietNanos = quietPeriod.toNanos();
+        synchronized (lock) {
+            while (true) {
+                long now = System.nanoTime();
+                long idleFor = now - Math.max(lastActivityNanos, waitStart);
+                if (inFlight.isEmpty() && idleFor >= quietNanos) {
+                    return;
+                }
+                if (now >= deadline) {
+                    throw new TimeoutException(String.format(
+                        "等待网络空闲超时(%d ms)，仍有%d个请求未完成: %s",
+                        timeout.toMillis(), inFlight.size(), inFlight.values()));
+                }
+                long waitNanos = inFlight.isEmpty() ? quietNanos - idleFor : deadline - now;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, Math.max(1, Math.min(waitNanos, deadline - now)));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("等待网络空闲被中断", e);
+                }
+            }
+        }
+    }
+
+    private boolean attachDevTools() {
+        if (!(driver instanceof HasDevTools)) {
+            logger.info("当前WebDriver不支持DevTools，网络空闲等待退化为轮询");
+            return false;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            // 直接使用CDP原始事件名，不依赖具体浏览器版本的devtools包
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+            devTools.addListener(event("Network.requestWillBeSent"), this::onRequestWillBeSent);
+            devTools.addListener(event("Network.loadingFinished"), params -> onRequestDone(params, true));
+            devTools.addListener(event("Network.loadingFailed"), params -> onRequestDone(params, false));
+            if (capture != null) {
+                devTools.addListener(event("Network.responseReceived"), capture::onResponseReceived);
+            }
+            logger.debug("DevTools网络监听已挂载");
+            return true;
+        } catch (Exception e) {
+            logger.warn("挂载DevTools网络监听失败，网络空闲等待退化为轮询: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    void onRequestWillBeSent(Map<String, Object> params) {
+        String type = String.valueOf(params.get("type"));
+        Map<String, Object> request = (Map<String, Object>) params.get("request");
+        String url = request == null ? "" : String.valueOf(request.get("url"));
+        if (url.startsWith("data:")) {
+            return;
+        }
+        if (IGNORED_TYPES.contains(type)) {
+            return;
+        }
+        if (capture != null) {
+            capture.onRequestWillBeSent(params, actions.peek());
+        }
+        inFlight.put(String.valueOf(params.get("requestId")), url);
+        touch();
+    }
+
+    void onRequestDone(Map<String, Object> params, boolean success) {
+        if (capture != null) {
+            if (success) {
+                capture.onLoadingFinished(params);
+            } else {
+                capture.onLoadingFailed(params);
+            }
+        }
+        String url = inFlight.remove(String.valueOf(params.get("requestId")));
+        if (url == null) {
+            return;
+        }
+        for (RequestWatch watch : watches) {
+            if (url.contains(watch.urlFragment)) {
+                watches.remove(watch);
+                watch.future.complete(success);
+            }
+        }
+        touch();
+    }
+
+    private void touch() {
+        synchronized (lock) {
+            lastActivityNanos = System.nanoTime();
+            lock.notifyAll();
+        }
+    }
+
+    private void waitForResourceTimingIdle(Duration quietPeriod, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long lastCount = -1;
+        long stableSince = System.nanoTime();
+        while (true) {
+            Object result = ((JavascriptExecutor) driver).executeScript(
+                "return document.readyState === 'complete' ? performance.getEntriesByType('resource').length : -1;");
+            long count = ((Number) result).longValue();
+            long now = System.nanoTime();
+            if (count != lastCount || count < 0) {
+                lastCount = count;
+                stableSince = now;
+            } else if (now - stableSince >= quietPeriod.toNanos()) {
+                return;
+            }
+            if (now >= deadline) {
+                throw new TimeoutException("等待页面网络空闲超时(" + timeout.toMillis() + " ms)");
+            }
+            try {
+                Thread.sleep(Math.max(50, quietPeriod.toMillis() / 4));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("等待网络空闲被中断", e);
+            }
+        }
+    }
+
+    /**
+     * 对某个接口请求的等待句柄
+     */
+    public class RequestWatch {
+        private final String urlFragment;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+        private RequestWatch(String urlFragment) {
+            this.urlFragment = urlFragment;
+        }
+
+        /**
+         * 等待匹配的请求结束，返回请求是否成功
+         * 没有DevTools时无法识别具体请求，退化为等待网络空闲
+         */
+        public boolean await(Duration timeout) {
+            if (!devToolsAttached) {
+                waitForResourceTimingIdle(Duration.ofMillis(500), timeout);
+                return true;
+            }
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (java.util.concurrent.TimeoutException e) {
+                watches.remove(this);
+                throw new TimeoutException("等待接口请求完成超时: " + urlFragment);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("等待接口请求被中断", e);
+            } catch (ExecutionException e) {
+                throw new RuntimeException("等待接口请求失败: " + urlFragment, e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.assetmanagement.utils;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 一次页面加载或SPA路由切换的前端性能数据，时间单位毫秒
+ * 整页加载包含ttfb、domContentLoaded、load、fcp、lcp，路由切换包含render（路由开始到就绪元素可见）
+ * 两者都包含longTaskCount、totalBlockingTime、resourceCount、transferKb
+ */
+public class PageMetrics {
+    private final String page;
+    private final boolean navigation;
+    private final Map<String, Double> metrics;
+    private final List<List<Object>> slowestResources;
+
+    public PageMetrics(String page, boolean navigation, Map<String, Double> metrics, List<List<Object>> slowestResources) {
+        this.page = page;
+        this.navigation = navigation;
+        this.metrics = new LinkedHashMap<>(metrics);
+        this.slowestResources = slowestResources;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    /**
+     * true为整页加载，false为SPA路由切换
+     */
+    public boolean isNavigation() {
+        return navigation;
+    }
+
+    public Map<String, Double> getMetrics() {
+        return metrics;
+    }
+
+    public Double get(String metric) {
+        return metrics.get(metric);
+    }
+
+    /**
+     * 耗时最长的若干资源，每项为[url, 毫秒]
+     */
+    public List<List<Object>> getSlowestResources() {
+        return slowestResources;
+    }
+
+    public String toText() {
+        StringBuilder text = new StringBuilder(String.format("%s（%s）%n", page, navigation ? "页面加载" : "路由切换"));
+        metrics.forEach((name, value) -> text.append(String.format(Locale.ROOT, "  %-20s %10.1f%n", name, value)));
+        for (List<Object> resource : slowestResources) {
+            text.append(String.format("  慢资源 %s ms  %s%n", resource.get(1), resource.get(0)));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 失败时的页面源码转储
+ * 默认关闭，只有page.source.dump.enabled=true时才向浏览器取页面源码；压缩和落盘在后台线程完成，日志中只记录文件路径
+ */
+public final class PageSourceDumper {
+    private static final Logger logger = LoggerFactory.getLogger(PageSourceDumper.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final AtomicInteger sequence = new AtomicInteger();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final ThreadPoolExecutor writer = createWriter();
+
+    private PageSourceDumper() {
+        // 私有构造函数，防止实例化
+    }
+
+    /**
+     * 取当前页面源码并提交后台压缩写入，返回将要写入的文件；未启用、取源码失败或写入队列已满时返回空
+     */
+    public static Optional<Path> dump(WebDriver driver, String reason) {
+        ConfigSnapshot config = ConfigManager.current();
+        if (!config.getBoolean("page.source.dump.enabled", false)) {
+            return Optional.empty();
+        }
+        return dump(driver, reason, Paths.get(config.get("page.source.dir", "logs/page-source/")));
+    }
+
+    static Optional<Path> dump(WebDriver driver, String reason, Path dir) {
+        if (driver == null) {
+            return Optional.empty();
+        }
+        String source;
+        try {
+            // WebDriver不是线程安全的，取源码必须在测试线程完成
+            source = driver.getPageSource();
+        } catch (WebDriverException e) {
+            logger.warn("获取页面源码失败: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (source == null) {
+            return Optional.empty();
+        }
+        Path file = dir.resolve(fileName(reason));
+        pending.incrementAndGet();
+        try {
+            writer.execute(() -> {
+                try {
+                    write(file, source);
+                } finally {
+                    pending.decrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            logger.warn("页面源码写入队列已满，丢弃: {}", file.getFileName());
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * 等待已提交的转储写完
+     */
+    public static void flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (pending.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    static String fileName(String reason) {
+        String testId = MDC.get("testId");
+        String prefix = testId == null ? Thread.currentThread().getName() : testId;
+        return sanitize(prefix) + "_" + sanitize(reason) + "_" + LocalDateTime.now().format(TIMESTAMP)
+            + "_" + sequence.incrementAndGet() + ".html.gz";
+    }
+
+    private static void write(Path file, String source) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+                out.write(source.getBytes(StandardCharsets.UTF_8));
+            }
+            logger.debug("页面源码已保存: {} ({} 字符)", file, source.length());
+        } catch (IOException e) {
+            logger.error("Failed to save page source {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String sanitize(String value) {
+        return value.replaceAll("[^A-Za-z0-9._#-]", "_");
+    }
+
+    private static ThreadPoolExecutor createWriter() {
+        // 页面源码可能有几MB，队列有界以限制内存占用
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16), runnable -> {
+                Thread thread = new Thread(runnable, "page-source-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10_000), "page-source-writer-shutdown"));
+        return executor;
+    }
+}
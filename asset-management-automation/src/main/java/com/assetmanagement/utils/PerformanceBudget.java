@@ -0,0 +1,93 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 按页面声明的前端性能预算，配置为perf.budget.<页面>.<指标>=<上限>，例如perf.budget.login.lcp=1500
+ * 超出预算时按perf.budget.action处理：warn只记录警告，fail使当前测试失败
+ * 所有耗时类指标同时以perf.<页面>.<指标>记入延迟直方图，随耗时统计一起导出
+ */
+public class PerformanceBudget {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudget.class);
+    private static final String PREFIX = "perf.budget.";
+    private static final Set<String> TIME_METRICS = Set.of(
+        "ttfb", "domContentLoaded", "load", "fcp", "lcp", "render", "totalBlockingTime");
+
+    private final Map<String, Double> budgets;
+    private final boolean failOnViolation;
+
+    public PerformanceBudget(Map<String, Double> budgets, boolean failOnViolation) {
+        this.budgets = new TreeMap<>(budgets);
+        this.failOnViolation = failOnViolation;
+    }
+
+    public static PerformanceBudget fromConfig() {
+        ConfigSnapshot config = ConfigManager.current();
+        Map<String, Double> budgets = new TreeMap<>();
+        for (Map.Entry<String, String> entry : config.asMap().entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(PREFIX) && !key.equals(PREFIX + "action") && !entry.getValue().isBlank()) {
+                budgets.put(key.substring(PREFIX.length()), Double.parseDouble(entry.getValue().trim()));
+            }
+        }
+        String action = config.get("perf.budget.action", "warn").trim().toLowerCase(Locale.ROOT);
+        return new PerformanceBudget(budgets, "fail".equals(action));
+    }
+
+    /**
+     * 返回超出预算的指标说明，设置了预算却没有采集到的指标也算违反，避免检查静默通过
+     */
+    public List<String> violations(PageMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        String prefix = metrics.getPage() + ".";
+        for (Map.Entry<String, Double> budget : budgets.entrySet()) {
+            if (!budget.getKey().startsWith(prefix)) {
+                continue;
+            }
+            String metric = budget.getKey().substring(prefix.length());
+            Double value = metrics.get(metric);
+            if (value == null) {
+                violations.add(String.format(Locale.ROOT, "%s.%s 未采集到，无法检查预算 %.1f",
+                    metrics.getPage(), metric, budget.getValue()));
+            } else if (value > budget.getValue()) {
+                violations.add(String.format(Locale.ROOT, "%s.%s=%.1f 超出预算 %.1f",
+                    metrics.getPage(), metric, value, budget.getValue()));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * 记录指标并检查预算，metrics为null（未启用或采集失败）时什么也不做
+     */
+    public void enforce(PageMetrics metrics) {
+        if (metrics == null) {
+            return;
+        }
+        MetricsRegistry registry = MetricsRegistry.global();
+        metrics.getMetrics().forEach((metric, value) -> {
+            if (TIME_METRICS.contains(metric)) {
+                registry.histogram("perf." + metrics.getPage() + "." + metric).recordValue(Math.round(value * 1000));
+            }
+        });
+        List<String> violations = violations(metrics);
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (failOnViolation) {
+            throw new RuntimeException("前端性能超出预算: " + String.join("; ", violations));
+        }
+        logger.warn("前端性能超出预算: {}", String.join("; ", violations));
+    }
+}
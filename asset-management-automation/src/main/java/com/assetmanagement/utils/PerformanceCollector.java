@@ -0,0 +1,208 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 从浏览器读取Navigation Timing、Resource Timing、FCP、LCP和长任务数据
+ * LCP和长任务只能通过PerformanceObserver获得，首次调用时以buffered方式安装，能取到安装前已产生的条目
+ * 当前线程的测试采集到的数据保存在线程内，由测试扩展在测试结束时取出附加到报告
+ */
+public class PerformanceCollector {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceCollector.class);
+    private static final ThreadLocal<List<PageMetrics>> currentTest = new ThreadLocal<>();
+
+    private static final String INSTALL =
+        "if (!window.__amPerf) {" +
+        "  var p = window.__amPerf = {lcp: 0, longTasks: [], route: null};" +
+        "  try { performance.setResourceTimingBufferSize(2000); } catch (e) {}" +
+        "  try {" +
+        "    new PerformanceObserver(function (list) {" +
+        "      list.getEntries().forEach(function (e) { p.lcp = Math.max(p.lcp, e.renderTime || e.loadTime || e.startTime); });" +
+        "    }).observe({type: 'largest-contentful-paint', buffered: true});" +
+        "  } catch (e) {}" +
+        "  try {" +
+        "    new PerformanceObserver(function (list) {" +
+        "      list.getEntries().forEach(function (e) { p.longTasks.push([e.startTime, e.duration]); });" +
+        "    }).observe({type: 'longtask', buffered: true});" +
+        "  } catch (e) {}" +
+        "}";
+
+    // 记录路由开始时间，并在就绪元素首次可见时记录就绪时间
+    // 开始时已可见则渲染时间记为0，不再监听；监听器在元素出现或采集时断开，不会一直挂在页面上
+    private static final String MARK_ROUTE_SCRIPT = INSTALL +
+        "var using = arguments[0], value = arguments[1], p = window.__amPerf;" +
+        "function find() {" +
+        "  try {" +
+        "    return using === 'xpath'" +
+        "      ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+        "      : document.querySelector(value);" +
+        "  } catch (e) { return null; }" +
+        "}" +
+        "function ready() { var el = find(); return !!el && el.getClientRects().length > 0; }" +
+        "if (p.routeObserver) { p.routeObserver.disconnect(); p.routeObserver = null; }" +
+        "var route = p.route = {start: performance.now(), readyAt: null};" +
+        "if (value) {" +
+        "  if (ready()) {" +
+        "    route.readyAt = route.start;" +
+        "  } else {" +
+        "    var observer = p.routeObserver = new MutationObserver(function () {" +
+        "      if (route.readyAt === null && ready()) {" +
+        "        route.readyAt = performance.now();" +
+        "        observer.disconnect();" +
+        "        if (p.routeObserver === observer) { p.routeObserver = null; }" +
+        "      }" +
+        "    });" +
+        "    observer.observe(document.documentElement, {childList: true, subtree: true," +
+        "      attributes: true, attributeFilter: ['class', 'style', 'hidden']});" +
+        "  }" +
+        "}" +
+        "return route.start;";
+
+    private static final String COLLECT_SCRIPT = INSTALL +
+        "var routeStart = arguments[0], settle = arguments[1], done = arguments[arguments.length - 1];" +
+        "var p = window.__amPerf;" +
+        "setTimeout(function () {" +
+        "  var since = routeStart >= 0 ? routeStart : 0, m = {};" +
+        "  if (routeStart < 0) {" +
+        "    var nav = performance.getEntriesByType('navigation')[0];" +
+        "    if (nav) {" +
+        "      m.ttfb = nav.responseStart - nav.requestStart;" +
+        "      if (nav.domContentLoadedEventEnd > 0) { m.domContentLoaded = nav.domContentLoadedEventEnd; }" +
+        "      if (nav.loadEventEnd > 0) { m.load = nav.loadEventEnd; }" +
+        "    }" +
+        "    var fcp = performance.getEntriesByName('first-contentful-paint')[0];" +
+        "    if (fcp) { m.fcp = fcp.startTime; }" +
+        "    if (p.lcp > 0) { m.lcp = p.lcp; }" +
+        "  } else if (p.route && p.route.start === routeStart && p.route.readyAt !== null) {" +
+        "    m.render = p.route.readyAt - routeStart;" +
+        "  }" +
+        "  if (p.routeObserver) { p.routeObserver.disconnect(); p.routeObserver = null; }" +
+        "  var tasks = p.longTasks.filter(function (t) { return t[0] >= since; });" +
+        "  m.longTaskCount = tasks.length;" +
+        "  m.totalBlockingTime = tasks.reduce(function (sum, t) { return sum + Math.max(0, t[1] - 50); }, 0);" +
+        "  var resources = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= since; });" +
+        "  m.resourceCount = resources.length;" +
+        "  m.transferKb = resources.reduce(function (sum, r) { return sum + (r.transferSize || 0); }, 0) / 1024;" +
+        "  var slowest = resources.sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5)" +
+        "    .map(function (r) { return [r.name, Math.round(r.duration)]; });" +
+        "  done({metrics: m, slowest: slowest});" +
+        "}, settle);";
+
+    private final WebDriver driver;
+    private final boolean enabled;
+    private final int settleMillis;
+
+    public PerformanceCollector(WebDriver driver) {
+        ConfigSnapshot config = ConfigManager.current();
+        this.driver = driver;
+        this.enabled = config.getBoolean("perf.enabled", true) && driver instanceof JavascriptExecutor;
+        this.settleMillis = config.getInt("perf.settle.ms", 100);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * SPA路由切换开始前调用，返回浏览器内的开始时间，未启用时返回-1
+     * readyLocator首次可见的时刻作为路由渲染完成时间，只支持CSS和XPath定位
+     */
+    public double markRouteStart(By readyLocator) {
+        if (!enabled) {
+            return -1;
+        }
+        String using = "";
+        String value = "";
+        if (readyLocator instanceof By.Remotable) {
+            By.Remotable.Parameters remote = ((By.Remotable) readyLocator).getRemoteParameters();
+            using = remote.using();
+            value = String.valueOf(remote.value());
+        }
+        try {
+            Object start = ((JavascriptExecutor) driver).executeScript(MARK_ROUTE_SCRIPT, using, value);
+            return ((Number) start).doubleValue();
+        } catch (RuntimeException e) {
+            logger.debug("记录路由开始时间失败: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * 采集整页加载的性能数据
+     */
+    public PageMetrics collectNavigation(String page) {
+        return collect(page, -1);
+    }
+
+    /**
+     * 采集从markRouteStart开始的路由切换性能数据，routeStart无效时返回null
+     */
+    public PageMetrics collectRoute(String page, double routeStart) {
+        if (routeStart < 0) {
+            return null;
+        }
+        return collect(page, routeStart);
+    }
+
+    @SuppressWarnings("unchecked")
+    private PageMetrics collect(String page, double routeStart) {
+        if (!enabled) {
+            return null;
+        }
+        WebDriver.Timeouts timeouts = driver.manage().timeouts();
+        Duration previousTimeout = timeouts.getScriptTimeout();
+        try {
+            timeouts.scriptTimeout(Duration.ofMillis(settleMillis + 5000L));
+            Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(COLLECT_SCRIPT, routeStart, settleMillis);
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            ((Map<String, Object>) result.get("metrics")).forEach((name, value) ->
+                metrics.put(name, Math.round(((Number) value).doubleValue() * 10) / 10.0));
+            List<List<Object>> slowest = new ArrayList<>();
+            for (Object resource : (List<Object>) result.get("slowest")) {
+                slowest.add((List<Object>) resource);
+            }
+            PageMetrics pageMetrics = new PageMetrics(page, routeStart < 0, metrics, slowest);
+            logger.debug("前端性能 {}: {}", page, metrics);
+            List<PageMetrics> collected = currentTest.get();
+            if (collected != null) {
+                collected.add(pageMetrics);
+            }
+            return pageMetrics;
+        } catch (RuntimeException e) {
+            logger.warn("采集前端性能数据失败 {}: {}", page, e.getMessage());
+            return null;
+        } finally {
+            timeouts.scriptTimeout(previousTimeout);
+        }
+    }
+
+    /**
+     * 开始收集当前线程上一个测试的前端性能数据
+     */
+    public static void beginTest() {
+        currentTest.set(new ArrayList<>());
+    }
+
+    /**
+     * 结束收集并返回该测试采集到的数据
+     */
+    public static List<PageMetrics> endTest() {
+        List<PageMetrics> collected = currentTest.get();
+        currentTest.remove();
+        return collected == null ? List.of() : Collections.unmodifiableList(collected);
+    }
+}
@@ -6,40 +6,34 @@ import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ScreenshotUtils {
     private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtils.class);
     private final WebDriver driver;
-    private final ConfigReader config;
-    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
-    private final String screenshotDir;
+    // 毫秒精度加进程内序号，并行线程同一时刻截图也不会重名
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private final ScreenshotWriter writer;
 
-    public ScreenshotUtils(WebDriver driver, ConfigReader config) {
+    public ScreenshotUtils(WebDriver driver) {
         this.driver = driver;
-        this.config = config;
-        this.screenshotDir = config.getProperty("screenshot.dir", "logs/screenshots/");
-        createScreenshotDirectory();
+        this.writer = ScreenshotWriter.getInstance();
     }
 
-    private void createScreenshotDirectory() {
-        try {
-            Path dirPath = Paths.get(screenshotDir);
-            if (!Files.exists(dirPath)) {
-                Files.createDirectories(dirPath);
-                logger.info("Created screenshot directory: {}", dirPath);
-            }
-        } catch (IOException e) {
-            logger.error("Failed to create screenshot directory: {}", e.getMessage());
-        }
+    /**
+     * 仅为兼容保留，截图设置由ScreenshotWriter从全局配置读取
+     */
+    @Deprecated
+    public ScreenshotUtils(WebDriver driver, ConfigReader config) {
+        this(driver);
     }
 
+    /**
+     * 在测试线程上只取截图数据，转码和落盘交给后台写入器
+     */
     public void takeScreenshot(String prefix) {
         if (driver == null) {
             logger.error("WebDriver is null, cannot take screenshot");
@@ -48,16 +42,11 @@ public class ScreenshotUtils {
 
         try {
             String timestamp = LocalDateTime.now().format(DATE_TIME_FORMATTER);
-            String fileName = String.format("%s_%s.png", prefix, timestamp);
-            Path screenshotPath = Paths.get(screenshotDir, fileName);
+            String fileName = String.format("%s_%s_%d.%s", prefix, timestamp,
+                SEQUENCE.incrementAndGet(), writer.getExtension());
 
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            Files.copy(screenshot.toPath(), screenshotPath);
-            
-            logger.info("Screenshot saved: {}", screenshotPath);
-            
-        } catch (IOException e) {
-            logger.error("Failed to save screenshot: {}", e.getMessage());
+            byte[] screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+            writer.submit(fileName, screenshot);
         } catch (Exception e) {
             logger.error("Failed to take screenshot: {}", e.getMessage());
         }
@@ -0,0 +1,322 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 后台截图写入器
+ * 测试线程只负责取得截图数据并放入有界队列，转码、去重和落盘都在后台线程完成
+ * 内容相同的截图只保存一份，其余文件名以硬链接指向它；总占用超过磁盘配额时淘汰最早的截图
+ */
+public class ScreenshotWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+    private static volatile ScreenshotWriter instance;
+
+    private final Path directory;
+    private final long budgetBytes;
+    private final String format;
+    private final BlockingQueue<Capture> queue;
+    private final Thread worker;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object drained = new Object();
+    // 按写入顺序记录每份截图内容，最早的排在最前面
+    private final LinkedHashMap<String, StoredContent> contents = new LinkedHashMap<>();
+    private long usedBytes;
+    private volatile boolean running = true;
+
+    public ScreenshotWriter(Path directory, int queueCapacity, long budgetBytes, String format) {
+        this.directory = directory;
+        this.budgetBytes = budgetBytes;
+        this.format = format.toLowerCase();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        createDirectory();
+        indexExistingFiles();
+        this.worker = new Thread(this::run, "screenshot-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 按配置创建的全局写入器，JVM退出前尽量写完队列中的截图
+     */
+    public static ScreenshotWriter getInstance() {
+        if (instance == null) {
+            synchronized (ScreenshotWriter.class) {
+                if (instance == null) {
+                    ConfigSnapshot config = ConfigManager.current();
+                    ScreenshotWriter writer = new ScreenshotWriter(
+                        Paths.get(config.get("screenshot.dir", "logs/screenshots/")),
+                        config.getInt("screenshot.queue.capacity", 64),
+                        config.getLong("screenshot.disk.budget.mb", 500) * 1024 * 1024,
+                        config.get("screenshot.format", "png"));
+                    Runtime.getRuntime().addShutdownHook(new Thread(
+                        () -> writer.shutdown(Duration.ofSeconds(10)), "screenshot-writer-shutdown"));
+                    instance = writer;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * 提交一张PNG截图，队列已满时丢弃并返回false，不阻塞测试线程
+     */
+    public boolean submit(String fileName, byte[] png) {
+        if (!running) {
+            logger.warn("截图写入器已关闭，丢弃截图: {}", fileName);
+            return false;
+        }
+        pending.incrementAndGet();
+        if (!queue.offer(new Capture(fileName, png))) {
+            pending.decrementAndGet();
+            logger.warn("截图队列已满，丢弃截图: {}", fileName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 等待队列中已提交的截图全部写完
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (drained) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(drained, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void shutdown(Duration timeout) {
+        if (!running) {
+            return;
+        }
+        if (!flush(timeout)) {
+            logger.warn("截图写入器关闭时仍有{}张截图未写入", pending.get());
+        }
+        running = false;
+        worker.interrupt();
+    }
+
+    public String getExtension() {
+        return isJpeg() ? "jpg" : "png";
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    public synchronized int getStoredContentCount() {
+        return contents.size();
+    }
+
+    private void run() {
+        while (running) {
+            Capture capture;
+            try {
+                capture = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+                continue;
+            }
+            if (capture == null) {
+                continue;
+            }
+            try {
+                write(capture);
+            } catch (Exception e) {
+                logger.error("Failed to save screenshot {}: {}", capture.fileName, e.getMessage());
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (drained) {
+                        drained.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    private void write(Capture capture) throws IOException {
+        byte[] png = capture.png;
+        String hash = sha256(png);
+        Path target = directory.resolve(capture.fileName);
+
+        synchronized (this) {
+            StoredContent existing = contents.get(hash);
+            if (existing != null && Files.exists(existing.paths.get(0))) {
+                link(target, existing.paths.get(0));
+                existing.paths.add(target);
+                logger.info("Screenshot saved: {} (与 {} 内容相同)", target, existing.paths.get(0).getFileName());
+                return;
+            }
+        }
+
+        byte[] encoded = isJpeg() ? toJpeg(png) : png;
+        Files.write(target, encoded);
+        synchronized (this) {
+            StoredContent stored = new StoredContent(encoded.length);
+            stored.paths.add(target);
+            contents.put(hash, stored);
+            usedBytes += encoded.length;
+            evictOverBudget();
+        }
+        logger.info("Screenshot saved: {}", target);
+    }
+
+    private void link(Path target, Path existing) throws IOException {
+        try {
+            Files.createLink(target, existing);
+        } catch (UnsupportedOperationException | IOException e) {
+            // 文件系统不支持硬链接时退化为符号链接
+            Files.createSymbolicLink(target, target.getParent().relativize(existing));
+        }
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<String, StoredContent>> iterator = contents.entrySet().iterator();
+        // 至少保留最新写入的一份
+        while (usedBytes > budgetBytes && contents.size() > 1 && iterator.hasNext()) {
+            StoredContent oldest = iterator.next().getValue();
+            for (Path path : oldest.paths) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    logger.warn("删除超出配额的截图失败: {}", path);
+                }
+            }
+            usedBytes -= oldest.size;
+            iterator.remove();
+            logger.debug("截图占用超出配额，已淘汰: {}", oldest.paths.get(0).getFileName());
+        }
+    }
+
+    private boolean isJpeg() {
+        return "jpg".equals(format) || "jpeg".equals(format);
+    }
+
+    private static byte[] toJpeg(byte[] png) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        // JPEG不支持透明通道
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        rgb.getGraphics().drawImage(source, 0, 0, null);
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.8f);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createDirectory() {
+        try {
+            if (!Files.exists(directory)) {
+                Files.createDirectories(directory);
+                logger.info("Created screenshot directory: {}", directory);
+            }
+        } catch (IOException e) {
+            logger.error("Failed to create screenshot directory: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 之前运行留下的截图也计入磁盘配额，按修改时间从旧到新排列
+     */
+    private void indexExistingFiles() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directory)) {
+            stream.filter(Files::isRegularFile).forEach(files::add);
+        } catch (IOException e) {
+            logger.warn("扫描已有截图失败: {}", e.getMessage());
+            return;
+        }
+        files.sort((a, b) -> Long.compare(a.toFile().lastModified(), b.toFile().lastModified()));
+        synchronized (this) {
+            for (Path file : files) {
+                long size = file.toFile().length();
+                StoredContent stored = new StoredContent(size);
+                stored.paths.add(file);
+                contents.put("file:" + file.getFileName(), stored);
+                usedBytes += size;
+            }
+            evictOverBudget();
+        }
+    }
+
+    private static class Capture {
+        private final String fileName;
+        private final byte[] png;
+
+        Capture(String fileName, byte[] png) {
+            this.fileName = fileName;
+            this.png = png;
+        }
+    }
+
+    private static class StoredContent {
+        private final long size;
+        private final List<Path> paths = new ArrayList<>();
+
+        StoredContent(long size) {
+            this.size = size;
+        }
+    }
+}
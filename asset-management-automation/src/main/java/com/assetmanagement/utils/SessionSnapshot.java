@@ -0,0 +1,65 @@
+package com.assetmanagement.utils;
+
+import org.openqa.selenium.Cookie;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 登录成功后的会话快照：Cookie、localStorage和登录后的落地页
+ */
+public class SessionSnapshot {
+    private final String username;
+    private final String baseUrl;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final String landingUrl;
+    private final Instant capturedAt;
+    private final Instant expiresAt;
+
+    public SessionSnapshot(String username, String baseUrl, List<Cookie> cookies,
+                           Map<String, String> localStorage, String landingUrl,
+                           Instant capturedAt, Instant expiresAt) {
+        this.username = username;
+        this.baseUrl = baseUrl;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.landingUrl = landingUrl;
+        this.capturedAt = capturedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    public String getLandingUrl() {
+        return landingUrl;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
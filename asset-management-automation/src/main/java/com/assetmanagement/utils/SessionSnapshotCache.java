@@ -0,0 +1,63 @@
+package com.assetmanagement.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程内共享的会话快照缓存，按用户名和base.url区分
+ */
+public class SessionSnapshotCache {
+    private static final Logger logger = LoggerFactory.getLogger(SessionSnapshotCache.class);
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    private SessionSnapshotCache() {
+        // 私有构造函数，防止实例化
+    }
+
+    public static String key(String username, String baseUrl) {
+        return username + "@" + baseUrl;
+    }
+
+    /**
+     * 获取未过期的快照，过期的快照会被移除
+     */
+    public static SessionSnapshot get(String username, String baseUrl) {
+        String key = key(username, baseUrl);
+        SessionSnapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.isExpired(Instant.now())) {
+            logger.info("会话快照已过期: {}", key);
+            snapshots.remove(key, snapshot);
+            return null;
+        }
+        return snapshot;
+    }
+
+    public static void put(SessionSnapshot snapshot) {
+        snapshots.put(key(snapshot.getUsername(), snapshot.getBaseUrl()), snapshot);
+        logger.info("缓存会话快照: {}，有效期至 {}", key(snapshot.getUsername(), snapshot.getBaseUrl()),
+            snapshot.getExpiresAt());
+    }
+
+    public static void invalidate(String username, String baseUrl) {
+        if (snapshots.remove(key(username, baseUrl)) != null) {
+            logger.info("会话快照已失效: {}", key(username, baseUrl));
+        }
+    }
+
+    public static void clear() {
+        snapshots.clear();
+    }
+
+    /**
+     * 同一用户的UI登录串行执行，避免并行测试同时走完整登录流程
+     */
+    public static ReentrantLock lockFor(String username, String baseUrl) {
+        return locks.computeIfAbsent(key(username, baseUrl), k -> new ReentrantLock());
+    }
+}
@@ -1,59 +1,264 @@
 package com.assetmanagement.utils;
 
+import com.assetmanagement.config.ConfigManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class TestDataReader {
     private static final Logger logger = LoggerFactory.getLogger(TestDataReader.class);
-    private static final String TEST_DATA_DIR = "src/main/resources/testdata/";
+    private static final String[] TEST_DATA_DIRS = {"src/test/resources/testdata/", "src/main/resources/testdata/"};
+    private static final String CLASSPATH_DIR = "testdata/";
+
+    // 只对短字段做驻留，status、group这类重复值在所有行之间共享同一个String
+    private static final int MAX_INTERNED_LENGTH = 64;
+    private static final int MAX_INTERNED_VALUES = 10_000;
 
+    private static final Map<String, CachedDataset> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 读取整个数据集，结果在测试类之间缓存，文件修改后自动失效
+     */
     public static List<Map<String, String>> readCsvData(String filename) {
-        List<Map<String, String>> data = new ArrayList<>();
-        String filePath = TEST_DATA_DIR + filename;
+        Path path = resolve(filename);
+        if (path != null) {
+            CachedDataset cached = cache.get(filename);
+            long lastModified = lastModified(path);
+            if (cached != null && cached.lastModified == lastModified) {
+                return cached.rows;
+            }
+            List<Map<String, String>> rows;
+            try (Stream<Map<String, String>> stream = parse(filename, openFile(path))) {
+                rows = Collections.unmodifiableList(new ArrayList<>(stream.toList()));
+            }
+            if (size(path) <= maxCachedBytes()) {
+                cache.put(filename, new CachedDataset(lastModified, rows));
+            }
+            logger.info("Successfully read {} records from {}", rows.size(), filename);
+            return rows;
+        }
 
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-            String[] headers = null;
+        try (Stream<Map<String, String>> stream = streamCsvData(filename)) {
+            List<Map<String, String>> rows = Collections.unmodifiableList(new ArrayList<>(stream.toList()));
+            logger.info("Successfully read {} records from {}", rows.size(), filename);
+            return rows;
+        }
+    }
 
-            // 读取表头
-            if ((line = br.readLine()) != null) {
-                headers = line.split(",");
+    /**
+     * 以惰性Stream逐行读取数据集，适合@MethodSource驱动的大数据集
+     * 已缓存或小于testdata.cache.max.bytes的文件直接走缓存，其余文件边读边解析，不整体载入内存
+     * 调用方负责关闭Stream（JUnit会在参数遍历结束后关闭）
+     */
+    public static Stream<Map<String, String>> streamCsvData(String filename) {
+        Path path = resolve(filename);
+        if (path != null) {
+            CachedDataset cached = cache.get(filename);
+            if (cached != null && cached.lastModified == lastModified(path)) {
+                return cached.rows.stream();
+            }
+            if (size(path) <= maxCachedBytes()) {
+                return readCsvData(filename).stream();
             }
+            logger.info("Streaming large test data file {} ({} bytes)", filename, size(path));
+            return parse(filename, openFile(path));
+        }
 
-            // 读取数据行
-            while ((line = br.readLine()) != null) {
-                String[] values = line.split(",");
-                Map<String, String> row = new HashMap<>();
+        InputStream in = TestDataReader.class.getClassLoader().getResourceAsStream(CLASSPATH_DIR + filename);
+        if (in == null) {
+            logger.error("Error reading test data from {}", filename);
+            throw new RuntimeException("Failed to read test data", new IOException("测试数据文件不存在: " + filename));
+        }
+        return parse(filename, new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
 
-                for (int i = 0; i < headers.length; i++) {
-                    if (i < values.length) {
-                        row.put(headers[i].trim(), values[i].trim());
-                    } else {
-                        row.put(headers[i].trim(), "");
-                    }
-                }
+    public static List<Map<String, String>> getLoginTestData() {
+        return readCsvData("users.csv");
+    }
 
-                data.add(row);
+    /**
+     * 依次在testdata.path、src/test/resources/testdata/、src/main/resources/testdata/下查找文件
+     * 都不存在时返回null，由调用方回退到类路径
+     */
+    private static Path resolve(String filename) {
+        String configured = ConfigManager.current().get("testdata.path");
+        if (configured != null && !configured.isBlank()) {
+            Path path = Paths.get(configured, filename);
+            if (Files.isRegularFile(path)) {
+                return path;
             }
+        }
+        for (String dir : TEST_DATA_DIRS) {
+            Path path = Paths.get(dir, filename);
+            if (Files.isRegularFile(path)) {
+                return path;
+            }
+        }
+        return null;
+    }
 
-            logger.info("Successfully read {} records from {}", data.size(), filename);
+    private static Reader openFile(Path path) {
+        try {
+            return Files.newBufferedReader(path, StandardCharsets.UTF_8);
         } catch (IOException e) {
+            logger.error("Error reading test data from {}", path, e);
+            throw new RuntimeException("Failed to read test data", e);
+        }
+    }
+
+    private static Stream<Map<String, String>> parse(String filename, Reader reader) {
+        CsvParser parser = new CsvParser(reader);
+        String[] headers;
+        try {
+            headers = parser.readRecord();
+        } catch (IOException e) {
+            closeQuietly(parser);
             logger.error("Error reading test data from {}", filename, e);
             throw new RuntimeException("Failed to read test data", e);
         }
+        if (headers == null) {
+            closeQuietly(parser);
+            return Stream.empty();
+        }
+
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < headers.length; i++) {
+            headers[i] = headers[i].trim();
+            index.put(headers[i], i);
+        }
+        RowIterator iterator = new RowIterator(filename, parser, headers, Collections.unmodifiableMap(index));
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> closeQuietly(parser));
+    }
 
-        return data;
+    private static long maxCachedBytes() {
+        return ConfigManager.current().getLong("testdata.cache.max.bytes", 8L * 1024 * 1024);
     }
 
-    public static List<Map<String, String>> getLoginTestData() {
-        return readCsvData("users.csv");
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void closeQuietly(CsvParser parser) {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close test data reader: {}", e.getMessage());
+        }
+    }
+
+    private static class RowIterator implements Iterator<Map<String, String>> {
+        private final String filename;
+        private final CsvParser parser;
+        private final String[] headers;
+        private final Map<String, Integer> index;
+        private final Map<String, String> interned = new HashMap<>();
+        private Map<String, String> next;
+        private boolean finished;
+
+        RowIterator(String filename, CsvParser parser, String[] headers, Map<String, Integer> index) {
+            this.filename = filename;
+            this.parser = parser;
+            this.headers = headers;
+            this.index = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            try {
+                String[] record = parser.readRecord();
+                if (record == null) {
+                    finished = true;
+                    closeQuietly(parser);
+                    return false;
+                }
+                String[] values = new String[headers.length];
+                for (int i = 0; i < headers.length; i++) {
+                    values[i] = i < record.length ? intern(record[i].trim()) : "";
+                }
+                next = new CsvRow(headers, index, values);
+                return true;
+            } catch (IOException e) {
+                finished = true;
+                closeQuietly(parser);
+                logger.error("Error reading test data from {}", filename, e);
+                throw new UncheckedIOException("Failed to read test data", e);
+            }
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map<String, String> row = next;
+            next = null;
+            return row;
+        }
+
+        private String intern(String value) {
+            if (value.length() > MAX_INTERNED_LENGTH) {
+                return value;
+            }
+            String existing = interned.get(value);
+            if (existing != null) {
+                return existing;
+            }
+            if (interned.size() < MAX_INTERNED_VALUES) {
+                interned.put(value, value);
+            }
+            return value;
+        }
+    }
+
+    private static class CachedDataset {
+        private final long lastModified;
+        private final List<Map<String, String>> rows;
+
+        CachedDataset(long lastModified, List<Map<String, String>> rows) {
+            this.lastModified = lastModified;
+            this.rows = rows;
+        }
     }
-} 
\ No newline at end of file
+}
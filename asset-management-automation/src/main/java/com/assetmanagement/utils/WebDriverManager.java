@@ -1,57 +1,189 @@
 package com.assetmanagement.utils;
 
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.time.Duration;
-import java.util.Properties;
+import java.util.List;
 
 public class WebDriverManager {
     private static final Logger logger = LoggerFactory.getLogger(WebDriverManager.class);
-    private static WebDriver driver;
-    private static Properties properties;
-
-    static {
-        try {
-            properties = new Properties();
-            FileInputStream fis = new FileInputStream("src/main/resources/config/config.properties");
-            properties.load(fis);
-        } catch (IOException e) {
-            logger.error("Error loading config.properties", e);
-            throw new RuntimeException("Failed to load config.properties");
-        }
-    }
+    private static final ThreadLocal<WebDriver> currentDriver = new ThreadLocal<>();
+    private static volatile WebDriverPool pool;
 
     private WebDriverManager() {
         // 私有构造函数，防止实例化
     }
 
+    /**
+     * 获取当前线程租用的WebDriver，没有则从会话池租用一个
+     */
     public static WebDriver getDriver() {
+        WebDriver driver = currentDriver.get();
         if (driver == null) {
-            logger.info("初始化WebDriver...");
-            io.github.bonigarcia.wdm.WebDriverManager.edgedriver().setup();
-            EdgeOptions options = new EdgeOptions();
-            options.addArguments("--start-maximized");
-            options.addArguments("--remote-allow-origins=*");
-            driver = new EdgeDriver(options);
+            driver = getPool().lease();
+            currentDriver.set(driver);
         }
         return driver;
     }
 
+    /**
+     * 当前线程是否已租用WebDriver
+     */
+    public static boolean hasDriver() {
+        return currentDriver.get() != null;
+    }
+
+    /**
+     * 将当前线程的WebDriver归还会话池，供后续测试复用
+     */
+    public static void releaseDriver() {
+        WebDriver driver = currentDriver.get();
+        if (driver != null) {
+            currentDriver.remove();
+            getPool().release(driver);
+        }
+    }
+
+    /**
+     * 关闭当前线程的WebDriver，不再放回会话池
+     */
     public static void quitDriver() {
+        WebDriver driver = currentDriver.get();
         if (driver != null) {
             logger.info("关闭WebDriver...");
-            driver.quit();
-            driver = null;
+            currentDriver.remove();
+            getPool().invalidate(driver);
+        }
+    }
+
+    public static WebDriverPool getPool() {
+        if (pool == null) {
+            synchronized (WebDriverManager.class) {
+                if (pool == null) {
+                    ConfigSnapshot config = ConfigManager.current();
+                    int threads = config.getInt("test.parallel.threads", 1);
+                    int size = config.getInt("webdriver.pool.size", threads);
+                    int maxReuse = config.getInt("webdriver.pool.max.reuse", 50);
+                    int leaseTimeout = config.getInt("webdriver.pool.lease.timeout", 300);
+                    pool = new WebDriverPool(WebDriverManager::createDriver, size, maxReuse,
+                        Duration.ofSeconds(leaseTimeout));
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * 关闭会话池，在整个测试运行结束时调用
+     */
+    public static void shutdown() {
+        synchronized (WebDriverManager.class) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
+            }
+        }
+    }
+
+    /**
+     * 按配置创建新的浏览器会话
+     */
+    public static WebDriver createDriver() {
+        return createDriver(ConfigManager.current().getBoolean("browser.headless", false));
+    }
+
+    /**
+     * 创建新的浏览器会话，是否无头由调用方决定（并发模拟总是使用无头会话）
+     * webdriver.mode=grid时通过GridSessionScheduler向Selenium Grid申请远程会话，否则启动本地浏览器
+     */
+    public static WebDriver createDriver(boolean headless) {
+        ConfigSnapshot config = ConfigManager.current();
+        String browser = config.get("browser.type", "edge").trim().toLowerCase();
+        MutableCapabilities options = createOptions(browser, headless);
+        boolean grid = isGridMode();
+        logger.info("初始化WebDriver... ({}, {})", browser, grid ? "grid" : "local");
+
+        WebDriver driver;
+        if (grid) {
+            driver = GridSessionScheduler.getInstance().newSession(options);
+        } else {
+            DriverBinaryResolver.resolve(browser);
+            switch (browser) {
+                case "chrome":
+                    driver = new ChromeDriver((ChromeOptions) options);
+                    break;
+                case "firefox":
+                    driver = new FirefoxDriver((FirefoxOptions) options);
+                    break;
+                default:
+                    driver = new EdgeDriver((EdgeOptions) options);
+                    break;
+            }
+        }
+        int implicitWait = config.getInt("webdriver.implicit.wait", 10);
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
+        return driver;
+    }
+
+    public static boolean isGridMode() {
+        return "grid".equalsIgnoreCase(ConfigManager.current().get("webdriver.mode", "local").trim());
+    }
+
+    /**
+     * 按browser.type创建浏览器选项，本地和Grid共用
+     */
+    static MutableCapabilities createOptions(String browser, boolean headless) {
+        switch (browser) {
+            case "chrome": {
+                ChromeOptions options = new ChromeOptions();
+                options.setAcceptInsecureCerts(true);
+                options.addArguments("--ignore-certificate-errors", "--remote-allow-origins=*");
+                options.addArguments(headless ? List.of("--headless=new", "--window-size=1920,1080")
+                    : List.of("--start-maximized"));
+                return options;
+            }
+            case "firefox": {
+                FirefoxOptions options = new FirefoxOptions();
+                options.setAcceptInsecureCerts(true);
+                if (headless) {
+                    options.addArguments("-headless", "--width=1920", "--height=1080");
+                }
+                return options;
+            }
+            case "edge": {
+                EdgeOptions options = new EdgeOptions();
+
+                // 处理证书错误
+                options.setAcceptInsecureCerts(true);
+                options.addArguments("--ignore-certificate-errors");
+                options.addArguments("--ignore-ssl-errors");
+                options.addArguments("--remote-allow-origins=*");
+
+                if (headless) {
+                    options.addArguments("--headless");
+                    options.addArguments("--window-size=1920,1080");
+                } else {
+                    options.addArguments("--start-maximized");
+                }
+                return options;
+            }
+            default:
+                throw new IllegalArgumentException("不支持的浏览器类型: " + browser);
         }
     }
 
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return ConfigManager.getProperty(key);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,233 @@
+package com.assetmanagement.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 有界WebDriver会话池
+ * 每个工作线程租用一个会话，用完归还，健康的会话在测试之间复用
+ */
+public class WebDriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final int maxReuse;
+    private final Duration leaseTimeout;
+    private final Semaphore capacity;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+    // 当前租出的会话，只有从这里移除成功时才归还容量
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+    // 正在预热、尚未放入空闲队列的会话数
+    private final AtomicInteger warming = new AtomicInteger();
+    private volatile boolean closed;
+
+    public WebDriverPool(Supplier<WebDriver> factory, int maxSize, int maxReuse, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("会话池大小必须大于0: " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxReuse = maxReuse;
+        this.leaseTimeout = leaseTimeout;
+        this.capacity = new Semaphore(maxSize, true);
+        logger.info("WebDriver会话池已创建，最大会话数: {}, 单会话最大复用次数: {}", maxSize, maxReuse);
+    }
+
+    /**
+     * 租用一个会话，优先复用空闲且健康的会话，池满时等待归还
+     */
+    public WebDriver lease() {
+        if (closed) {
+            throw new IllegalStateException("WebDriver会话池已关闭");
+        }
+        try {
+            if (!capacity.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("等待WebDriver会话超时(" + leaseTimeout.toSeconds() + "秒)，会话池大小: " + maxSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待WebDriver会话被中断", e);
+        }
+
+        try {
+            WebDriver driver;
+            while ((driver = nextIdle()) != null) {
+                if (isHealthy(driver)) {
+                    useCounts.merge(driver, 1, Integer::sum);
+                    leased.add(driver);
+                    logger.debug("复用WebDriver会话: {}", driver);
+                    return driver;
+                }
+                logger.warn("丢弃不健康的WebDriver会话: {}", driver);
+                destroy(driver);
+            }
+            driver = factory.get();
+            useCounts.put(driver, 1);
+            leased.add(driver);
+            logger.info("创建新的WebDriver会话: {}", driver);
+            return driver;
+        } catch (InterruptedException e) {
+            capacity.release();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待WebDriver会话被中断", e);
+        } catch (RuntimeException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还会话；超过复用次数或清理失败的会话直接销毁
+     * 不是从本池租出或已经归还过的会话忽略，避免容量超过会话池大小
+     */
+    public void release(WebDriver driver) {
+        if (!checkIn(driver)) {
+            return;
+        }
+        try {
+            Integer uses = useCounts.get(driver);
+            if (closed || uses == null || uses >= maxReuse || !reset(driver)) {
+                destroy(driver);
+            } else {
+                idle.offerFirst(driver);
+            }
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * 销毁会话并归还容量，用于测试明确知道会话已损坏的场景
+     */
+    public void invalidate(WebDriver driver) {
+        if (!checkIn(driver)) {
+            return;
+        }
+        try {
+            destroy(driver);
+        } finally {
+            capacity.release();
+        }
+    }
+
+    /**
+     * 预先创建会话放入空闲队列，不占用租用容量
+     * 可以从多个线程同时调用以并行启动浏览器，总数不超过count
+     */
+    public void prefill(int count) {
+        int target = Math.min(count, maxSize);
+        while (!closed && reserveWarmSlot(target)) {
+            try {
+                WebDriver driver = factory.get();
+                useCounts.put(driver, 0);
+                idle.offerLast(driver);
+            } finally {
+                warming.decrementAndGet();
+            }
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public int leasedCount() {
+        return maxSize - capacity.availablePermits();
+    }
+
+    /**
+     * 关闭会话池并退出所有空闲会话
+     */
+    public void shutdown() {
+        closed = true;
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            destroy(driver);
+        }
+        logger.info("WebDriver会话池已关闭");
+    }
+
+    private boolean checkIn(WebDriver driver) {
+        if (driver == null) {
+            return false;
+        }
+        if (!leased.remove(driver)) {
+            logger.warn("忽略未从会话池租出或已归还的WebDriver会话: {}", driver);
+            return false;
+        }
+        return true;
+    }
+
+    private synchronized boolean reserveWarmSlot(int target) {
+        if (idle.size() + leasedCount() + warming.get() >= target) {
+            return false;
+        }
+        warming.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 取一个空闲会话；有会话正在预热时等它就绪，避免预热期间重复启动浏览器
+     */
+    private WebDriver nextIdle() throws InterruptedException {
+        WebDriver driver = idle.pollFirst();
+        while (driver == null && warming.get() > 0) {
+            driver = idle.pollFirst(100, TimeUnit.MILLISECONDS);
+        }
+        return driver;
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            logger.debug("WebDriver会话健康检查失败: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.warn("重置WebDriver会话失败，将销毁该会话: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(WebDriver driver) {
+        useCounts.remove(driver);
+        NetworkMonitor.remove(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.debug("退出WebDriver会话失败: {}", e.getMessage());
+        }
+    }
+}
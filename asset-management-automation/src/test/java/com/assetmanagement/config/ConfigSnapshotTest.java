@@ -0,0 +1,72 @@
+package com.assetmanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConfigSnapshotTest {
+
+    @Test
+    public void testVariablesResolvedAtLoad() {
+        Properties properties = new Properties();
+        properties.setProperty("base.url", "https://192.168.30.240");
+        properties.setProperty("login.url", "${base.url}/login");
+        properties.setProperty("redirect.url", "${login.url}?next=${base.url}/asset");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(properties);
+
+        assertEquals("https://192.168.30.240/login", snapshot.get("login.url"));
+        assertEquals("https://192.168.30.240/login?next=https://192.168.30.240/asset", snapshot.get("redirect.url"));
+    }
+
+    @Test
+    public void testUnknownVariableKeptAsIs() {
+        Properties properties = new Properties();
+        properties.setProperty("report.path", "${missing.dir}/allure");
+
+        assertEquals("${missing.dir}/allure", ConfigSnapshot.of(properties).get("report.path"));
+    }
+
+    @Test
+    public void testCyclicVariablesDoNotOverflow() {
+        Properties properties = new Properties();
+        properties.setProperty("a", "${b}");
+        properties.setProperty("b", "${a}");
+
+        assertNotNull(ConfigSnapshot.of(properties).get("a"));
+    }
+
+    @Test
+    public void testTypedGettersAndDefaults() {
+        Properties properties = new Properties();
+        properties.setProperty("base.url", "https://host");
+        properties.setProperty("webdriver.wait.timeout", "30");
+        properties.setProperty("browser.headless", "true");
+
+        ConfigSnapshot snapshot = ConfigSnapshot.of(properties);
+
+        assertEquals(30, snapshot.getInt("webdriver.wait.timeout", 10));
+        assertEquals(10, snapshot.getInt("element.wait.timeout", 10));
+        assertTrue(snapshot.getBoolean("browser.headless", false));
+        assertEquals("https://host/home", snapshot.get("home.url", "${base.url}/home"));
+    }
+
+    @Test
+    public void testLoadDecodesUtf8(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("config.properties");
+        Files.writeString(file, "# 中文注释\nload.search.type=资产名称\nasset.grid.columns=IP地址:ip_address\n",
+            StandardCharsets.UTF_8);
+
+        ConfigSnapshot snapshot = ConfigSnapshot.load(file);
+
+        assertEquals("资产名称", snapshot.get("load.search.type"));
+        assertEquals("IP地址:ip_address", snapshot.get("asset.grid.columns"));
+    }
+}
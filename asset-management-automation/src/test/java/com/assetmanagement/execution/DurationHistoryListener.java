@@ -0,0 +1,56 @@
+package com.assetmanagement.execution;
+
+import com.assetmanagement.config.ConfigManager;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 记录每个测试（包括参数化测试的每一行）的耗时和结果，运行结束时写入测试历史
+ * 被跳过或中止的测试不计入历史
+ */
+public class DurationHistoryListener implements TestExecutionListener {
+    private final Map<String, Long> startTimes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> rows = new ConcurrentHashMap<>();
+    private volatile boolean recorded;
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (identifier.isTest()) {
+            startTimes.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long start = startTimes.remove(identifier.getUniqueId());
+        if (start == null || result.getStatus() == TestExecutionResult.Status.ABORTED || !isEnabled()) {
+            return;
+        }
+        String key = TestKeys.of(identifier);
+        TestHistory.shared().record(key, (System.nanoTime() - start) / 1_000_000,
+            result.getStatus() == TestExecutionResult.Status.FAILED);
+        int index = TestKeys.invocationIndex(identifier.getUniqueIdObject());
+        if (index > 0) {
+            rows.merge(TestKeys.templateOf(key), index, Math::max);
+        }
+        recorded = true;
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (!recorded) {
+            return;
+        }
+        rows.forEach(TestHistory.shared()::recordRows);
+        TestHistory.shared().save(TestHistory.defaultFile());
+    }
+
+    private static boolean isEnabled() {
+        return ConfigManager.current().getBoolean("test.history.enabled", true);
+    }
+}
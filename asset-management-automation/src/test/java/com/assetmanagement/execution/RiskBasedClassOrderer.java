@@ -0,0 +1,39 @@
+package com.assetmanagement.execution;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 按测试类中风险最高的方法和全部方法的历史耗时排列测试类，见RiskScore
+ * 类上的@Severity作为未标注方法的默认级别
+ */
+public class RiskBasedClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        Map<ClassDescriptor, RiskScore> scores = context.getClassDescriptors().stream()
+            .collect(Collectors.toMap(Function.identity(), descriptor -> score(descriptor.getTestClass(), history)));
+        context.getClassDescriptors().sort(Comparator.comparing(scores::get, RiskScore.ORDER));
+    }
+
+    private static RiskScore score(Class<?> testClass, TestHistory history) {
+        RiskScore score = new RiskScore(testClass.getName(), 0, 0, 0);
+        for (Method method : ReflectionSupport.findMethods(testClass,
+                m -> AnnotationSupport.isAnnotated(m, Testable.class), HierarchyTraversalMode.TOP_DOWN)) {
+            score = score.merge(RiskScore.of(testClass, method, history));
+        }
+        return score;
+    }
+}
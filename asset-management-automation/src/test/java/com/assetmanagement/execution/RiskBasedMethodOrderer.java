@@ -0,0 +1,25 @@
+package com.assetmanagement.execution;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 按严重级别、近期失败率和历史耗时排列测试方法，见RiskScore
+ */
+public class RiskBasedMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestHistory history = TestHistory.shared();
+        Map<MethodDescriptor, RiskScore> scores = context.getMethodDescriptors().stream()
+            .collect(Collectors.toMap(Function.identity(),
+                method -> RiskScore.of(context.getTestClass(), method.getMethod(), history)));
+        context.getMethodDescriptors().sort(Comparator.comparing(scores::get, RiskScore.ORDER));
+    }
+}
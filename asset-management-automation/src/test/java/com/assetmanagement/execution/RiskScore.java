@@ -0,0 +1,84 @@
+package com.assetmanagement.execution;
+
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Comparator;
+
+/**
+ * 测试执行优先级：严重级别和近期失败率决定风险等级，风险越高越先执行；
+ * 同一风险等级内耗时越长越先执行，让长测试尽早占用并行线程
+ */
+final class RiskScore {
+    // 失败率为1时相当于提升的严重级别数
+    private static final double FAILURE_WEIGHT = 3.0;
+
+    static final Comparator<RiskScore> ORDER = Comparator
+        .comparingInt(RiskScore::getRiskTier).reversed()
+        .thenComparing(Comparator.comparingDouble(RiskScore::getDurationMillis).reversed())
+        .thenComparing(RiskScore::getName);
+
+    private final String name;
+    private final int severity;
+    private final double failureRate;
+    private final double durationMillis;
+
+    RiskScore(String name, int severity, double failureRate, double durationMillis) {
+        this.name = name;
+        this.severity = severity;
+        this.failureRate = failureRate;
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * 从测试方法的历史记录计算，方法上没有@Severity时使用测试类上的级别
+     */
+    static RiskScore of(Class<?> testClass, Method method, TestHistory history) {
+        String key = testClass.getName() + "#" + method.getName();
+        int severity = severityOf(method.isAnnotationPresent(Severity.class) ? method : testClass);
+        return new RiskScore(key, severity, history.getFailureRateIncludingRows(key),
+            history.getDurationIncludingRows(key));
+    }
+
+    /**
+     * Allure严重级别对应的分值，未标注时按NORMAL处理
+     */
+    static int severityOf(AnnotatedElement element) {
+        Severity severity = element.getAnnotation(Severity.class);
+        SeverityLevel level = severity == null ? SeverityLevel.NORMAL : severity.value();
+        switch (level) {
+            case BLOCKER:
+                return 5;
+            case CRITICAL:
+                return 4;
+            case MINOR:
+                return 2;
+            case TRIVIAL:
+                return 1;
+            default:
+                return 3;
+        }
+    }
+
+    /**
+     * 严重级别加上按失败率提升的等级，四舍五入为整数等级
+     */
+    int getRiskTier() {
+        return (int) Math.round(severity + FAILURE_WEIGHT * failureRate);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    double getDurationMillis() {
+        return durationMillis;
+    }
+
+    RiskScore merge(RiskScore other) {
+        return new RiskScore(name, Math.max(severity, other.severity), Math.max(failureRate, other.failureRate),
+            durationMillis + other.durationMillis);
+    }
+}
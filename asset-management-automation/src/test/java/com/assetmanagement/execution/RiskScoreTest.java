@@ -0,0 +1,40 @@
+package com.assetmanagement.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RiskScoreTest {
+
+    @Test
+    public void testBlockersAndRecentFailuresRunFirst() {
+        List<RiskScore> scores = new ArrayList<>(List.of(
+            new RiskScore("normalSlow", 3, 0.0, 90_000),
+            new RiskScore("blockerFast", 5, 0.0, 5_000),
+            new RiskScore("normalFailing", 3, 0.7, 2_000),
+            new RiskScore("minor", 2, 0.0, 500)));
+
+        scores.sort(RiskScore.ORDER);
+
+        assertEquals(List.of("blockerFast", "normalFailing", "normalSlow", "minor"), names(scores));
+    }
+
+    @Test
+    public void testLongerTestsStartFirstWithinSameTier() {
+        List<RiskScore> scores = new ArrayList<>(List.of(
+            new RiskScore("b", 3, 0.0, 1_000),
+            new RiskScore("a", 3, 0.0, 1_000),
+            new RiskScore("long", 3, 0.1, 30_000)));
+
+        scores.sort(RiskScore.ORDER);
+
+        assertEquals(List.of("long", "a", "b"), names(scores));
+    }
+
+    private static List<String> names(List<RiskScore> scores) {
+        return scores.stream().map(RiskScore::getName).toList();
+    }
+}
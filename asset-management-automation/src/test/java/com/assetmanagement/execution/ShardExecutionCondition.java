@@ -0,0 +1,29 @@
+package com.assetmanagement.execution;
+
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.engine.UniqueId;
+
+/**
+ * 参数化测试按行分片时，跳过不属于当前分片的行
+ */
+public class ShardExecutionCondition implements ExecutionCondition {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        ShardFilter.Assignment assignment = ShardFilter.active();
+        if (assignment == null || context.getTestMethod().isEmpty()) {
+            return ConditionEvaluationResult.enabled("未分片");
+        }
+        int row = TestKeys.invocationIndex(UniqueId.parse(context.getUniqueId()));
+        String template = context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+        if (row == 0 || !assignment.isSplit(template)) {
+            return ConditionEvaluationResult.enabled("未按行分片");
+        }
+        int shard = assignment.shardOfRow(template, row);
+        return shard == assignment.getIndex()
+            ? ConditionEvaluationResult.enabled("属于当前分片")
+            : ConditionEvaluationResult.disabled("属于分片" + shard + "/" + assignment.getShardCount());
+    }
+}
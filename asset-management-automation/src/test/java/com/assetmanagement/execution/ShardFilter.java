@@ -0,0 +1,137 @@
+package com.assetmanagement.execution;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 按-Dshard=i/n只保留第i个分片（从1开始）的测试
+ * 测试类作为一个整体分配；有历史行数的参数化测试按行拆开分配，行由ShardExecutionCondition在执行时筛选
+ * 各节点必须使用同一份测试历史（test.history.file），才能算出一致且互不重叠的分片
+ * 历史中没有的测试类按类名哈希分配，历史中没有的参数化行按序号轮流分配
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ShardFilter.class);
+    private static volatile Assignment active;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        String spec = System.getProperty("shard", "").trim();
+        if (spec.isEmpty() || !(descriptor.getSource().orElse(null) instanceof MethodSource)) {
+            return FilterResult.included("未分片或非测试方法");
+        }
+        Assignment assignment = assignmentFor(spec);
+        String key = TestKeys.of(descriptor);
+        if (assignment.isSplit(key)) {
+            // 拆开的参数化测试在每个分片都保留，由各行的执行条件决定是否运行
+            return FilterResult.included("参数化测试按行分片");
+        }
+        int shard = assignment.shardOfClass(TestKeys.classOf(key));
+        return shard == assignment.index
+            ? FilterResult.included("属于分片" + spec)
+            : FilterResult.excluded("属于分片" + shard + "/" + assignment.plan.getShardCount());
+    }
+
+    /**
+     * 当前JVM生效的分片计划，未启用分片时返回null
+     */
+    static Assignment active() {
+        return active;
+    }
+
+    private static synchronized Assignment assignmentFor(String spec) {
+        if (active == null || !active.spec.equals(spec)) {
+            active = build(spec);
+        }
+        return active;
+    }
+
+    /**
+     * 分片计划只由测试历史决定，与surefire按类还是整体发现测试无关
+     */
+    private static Assignment build(String spec) {
+        int slash = spec.indexOf('/');
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(spec.substring(0, slash).trim());
+            count = Integer.parseInt(spec.substring(slash + 1).trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("shard格式应为i/n，例如-Dshard=1/4: " + spec, e);
+        }
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("分片序号应在1到" + count + "之间: " + spec);
+        }
+
+        TestHistory history = TestHistory.shared();
+        Map<String, Double> units = new TreeMap<>();
+        Set<String> split = new HashSet<>();
+        for (String key : history.getKeys()) {
+            String template = TestKeys.templateOf(key);
+            if (!template.equals(key)) {
+                if (history.getRows(template) > 0) {
+                    split.add(template);
+                    units.put(key, history.getDurationMillis(key).orElse(0));
+                    continue;
+                }
+                key = template;
+            }
+            units.merge(TestKeys.classOf(key), history.getDurationMillis(key).orElse(0), Double::sum);
+        }
+
+        ShardPlanner.Plan plan = ShardPlanner.plan(units, count);
+        logger.info("分片{}：按历史中的{}个测试单元分为{}片，本分片估计{}秒，最慢分片估计{}秒", spec, units.size(), count,
+            Math.round(plan.getLoadMillis(index) / 1000), Math.round(plan.getMakespanMillis() / 1000));
+        return new Assignment(spec, index, plan, split);
+    }
+
+    static class Assignment {
+        private final String spec;
+        private final int index;
+        private final ShardPlanner.Plan plan;
+        private final Set<String> split;
+
+        Assignment(String spec, int index, ShardPlanner.Plan plan, Set<String> split) {
+            this.spec = spec;
+            this.index = index;
+            this.plan = plan;
+            this.split = split;
+        }
+
+        boolean isSplit(String templateKey) {
+            return split.contains(templateKey);
+        }
+
+        /**
+         * 测试类所在分片；历史中没有的新测试类按类名哈希分配
+         */
+        int shardOfClass(String className) {
+            return plan.contains(className) ? plan.shardOf(className)
+                : Math.floorMod(className.hashCode(), plan.getShardCount()) + 1;
+        }
+
+        /**
+         * 参数化测试第i行所在分片；历史中没有的新增行按序号轮流分配
+         */
+        int shardOfRow(String templateKey, int row) {
+            String key = templateKey + "[" + row + "]";
+            return plan.contains(key) ? plan.shardOf(key) : (row - 1) % plan.getShardCount() + 1;
+        }
+
+        int getIndex() {
+            return index;
+        }
+
+        int getShardCount() {
+            return plan.getShardCount();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.assetmanagement.execution;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按估计耗时把测试单元分配到n个分片（最长处理时间优先）
+ * 单元按耗时从长到短依次放入当前总耗时最小的分片，耗时相同按标识排序，保证所有节点算出相同的计划
+ */
+public class ShardPlanner {
+
+    public static Plan plan(Map<String, Double> unitMillis, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("分片数必须大于0: " + shardCount);
+        }
+        List<Map.Entry<String, Double>> units = new ArrayList<>(unitMillis.entrySet());
+        units.sort(Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+
+        double[] loads = new double[shardCount];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (Map.Entry<String, Double> unit : units) {
+            int target = 0;
+            for (int i = 1; i < shardCount; i++) {
+                if (loads[i] < loads[target]) {
+                    target = i;
+                }
+            }
+            loads[target] += unit.getValue();
+            assignment.put(unit.getKey(), target + 1);
+        }
+        return new Plan(shardCount, assignment, loads);
+    }
+
+    /**
+     * 分片计划，分片序号从1开始
+     */
+    public static class Plan {
+        private final int shardCount;
+        private final Map<String, Integer> assignment;
+        private final double[] loads;
+
+        Plan(int shardCount, Map<String, Integer> assignment, double[] loads) {
+            this.shardCount = shardCount;
+            this.assignment = assignment;
+            this.loads = loads;
+        }
+
+        /**
+         * 单元所在分片，计划中没有的单元返回0
+         */
+        public int shardOf(String unit) {
+            return assignment.getOrDefault(unit, 0);
+        }
+
+        public boolean contains(String unit) {
+            return assignment.containsKey(unit);
+        }
+
+        public int getShardCount() {
+            return shardCount;
+        }
+
+        public double getLoadMillis(int shard) {
+            return loads[shard - 1];
+        }
+
+        /**
+         * 最慢分片的估计耗时，即整体墙钟时间
+         */
+        public double getMakespanMillis() {
+            double max = 0;
+            for (double load : loads) {
+                max = Math.max(max, load);
+            }
+            return max;
+        }
+    }
+}
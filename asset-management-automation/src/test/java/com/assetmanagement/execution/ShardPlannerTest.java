@@ -0,0 +1,50 @@
+package com.assetmanagement.execution;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShardPlannerTest {
+
+    @Test
+    public void testLongestUnitsAreSpreadFirst() {
+        Map<String, Double> units = new LinkedHashMap<>();
+        units.put("LoginTest", 60_000.0);
+        units.put("AssetManagementTest#testAssetSearch[1]", 20_000.0);
+        units.put("AssetManagementTest#testAssetSearch[2]", 20_000.0);
+        units.put("AssetManagementTest#testAssetSearch[3]", 20_000.0);
+        units.put("AssetManagementTest", 10_000.0);
+        units.put("CsvParserTest", 100.0);
+
+        ShardPlanner.Plan plan = ShardPlanner.plan(units, 2);
+
+        assertEquals(1, plan.shardOf("LoginTest"));
+        assertEquals(2, plan.shardOf("AssetManagementTest#testAssetSearch[1]"));
+        assertEquals(2, plan.shardOf("AssetManagementTest#testAssetSearch[3]"));
+        assertEquals(1, plan.shardOf("AssetManagementTest"));
+        assertEquals(60_100.0, plan.getLoadMillis(2), 0.1);
+        assertEquals(70_000.0, plan.getMakespanMillis(), 0.1);
+    }
+
+    @Test
+    public void testPlanIsDeterministicForEqualDurations() {
+        Map<String, Double> forward = new LinkedHashMap<>();
+        Map<String, Double> reverse = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            forward.put("Test" + i, 1000.0);
+            reverse.put("Test" + (19 - i), 1000.0);
+        }
+
+        ShardPlanner.Plan a = ShardPlanner.plan(forward, 3);
+        ShardPlanner.Plan b = ShardPlanner.plan(reverse, 3);
+
+        for (int i = 0; i < 20; i++) {
+            assertEquals(a.shardOf("Test" + i), b.shardOf("Test" + i), "各节点必须算出相同的分片");
+        }
+        assertEquals(7000.0, a.getMakespanMillis(), 0.1);
+        assertEquals(0, a.shardOf("Unknown"));
+    }
+}
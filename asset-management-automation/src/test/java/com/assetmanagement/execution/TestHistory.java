@@ -0,0 +1,189 @@
+package com.assetmanagement.execution;
+
+import com.assetmanagement.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * 历次运行的测试耗时和失败记录，用于分片和排序
+ * 耗时和失败率都按指数加权移动平均更新，最近的运行权重更大
+ */
+public class TestHistory {
+    private static final Logger logger = LoggerFactory.getLogger(TestHistory.class);
+    private static final double ALPHA = 0.3;
+    private static volatile TestHistory shared;
+
+    private final TreeMap<String, Entry> entries = new TreeMap<>();
+
+    /**
+     * 本次JVM共享的历史记录，从test.history.file加载
+     */
+    public static TestHistory shared() {
+        if (shared == null) {
+            synchronized (TestHistory.class) {
+                if (shared == null) {
+                    shared = load(defaultFile());
+                }
+            }
+        }
+        return shared;
+    }
+
+    public static Path defaultFile() {
+        return Paths.get(ConfigManager.current().get("test.history.file", ".test-history/test-history.json"));
+    }
+
+    public static TestHistory load(Path file) {
+        TestHistory history = new TestHistory();
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+        try {
+            Map<String, Object> root = new Json().toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+            Object tests = root.get("tests");
+            if (tests instanceof Map) {
+                for (Map.Entry<?, ?> test : ((Map<?, ?>) tests).entrySet()) {
+                    Map<?, ?> value = (Map<?, ?>) test.getValue();
+                    Entry entry = new Entry();
+                    entry.durationMillis = number(value.get("durationMillis"));
+                    entry.failureRate = number(value.get("failureRate"));
+                    entry.runs = (int) number(value.get("runs"));
+                    entry.rows = (int) number(value.get("rows"));
+                    history.entries.put(String.valueOf(test.getKey()), entry);
+                }
+            }
+            logger.info("已加载{}条测试历史记录: {}", history.entries.size(), file);
+        } catch (Exception e) {
+            logger.warn("读取测试历史记录失败，按无历史处理: {}", e.getMessage());
+        }
+        return history;
+    }
+
+    public synchronized void record(String key, long durationMillis, boolean failed) {
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry());
+        if (entry.runs == 0) {
+            entry.durationMillis = durationMillis;
+            entry.failureRate = failed ? 1.0 : 0.0;
+        } else {
+            entry.durationMillis = ALPHA * durationMillis + (1 - ALPHA) * entry.durationMillis;
+            entry.failureRate = ALPHA * (failed ? 1.0 : 0.0) + (1 - ALPHA) * entry.failureRate;
+        }
+        entry.runs++;
+    }
+
+    /**
+     * 记录参数化测试本次运行的行数
+     */
+    public synchronized void recordRows(String templateKey, int rows) {
+        entries.computeIfAbsent(templateKey, k -> new Entry()).rows = rows;
+    }
+
+    public synchronized OptionalDouble getDurationMillis(String key) {
+        Entry entry = entries.get(key);
+        return entry == null || entry.runs == 0 ? OptionalDouble.empty() : OptionalDouble.of(entry.durationMillis);
+    }
+
+    public synchronized double getFailureRate(String key) {
+        Entry entry = entries.get(key);
+        return entry == null ? 0.0 : entry.failureRate;
+    }
+
+    public synchronized int getRows(String templateKey) {
+        Entry entry = entries.get(templateKey);
+        return entry == null ? 0 : entry.rows;
+    }
+
+    /**
+     * 测试方法的耗时，参数化测试为各行耗时之和，没有历史时为0
+     */
+    public synchronized double getDurationIncludingRows(String key) {
+        double total = 0;
+        Entry own = entries.get(key);
+        if (own != null && own.runs > 0) {
+            total += own.durationMillis;
+        }
+        for (Entry row : rowsOf(key).values()) {
+            total += row.durationMillis;
+        }
+        return total;
+    }
+
+    /**
+     * 测试方法的失败率，参数化测试取失败率最高的一行
+     */
+    public synchronized double getFailureRateIncludingRows(String key) {
+        double rate = getFailureRate(key);
+        for (Entry row : rowsOf(key).values()) {
+            rate = Math.max(rate, row.failureRate);
+        }
+        return rate;
+    }
+
+    private SortedMap<String, Entry> rowsOf(String key) {
+        return entries.subMap(key + "[", key + "[\uffff");
+    }
+
+    public synchronized List<String> getKeys() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * 先写临时文件再替换，避免中途中断留下损坏的历史记录
+     */
+    public synchronized void save(Path file) {
+        Map<String, Object> tests = new LinkedHashMap<>();
+        entries.forEach((key, entry) -> {
+            Map<String, Object> value = new LinkedHashMap<>();
+            value.put("durationMillis", Math.round(entry.durationMillis));
+            value.put("failureRate", Math.round(entry.failureRate * 1000) / 1000.0);
+            value.put("runs", entry.runs);
+            if (entry.rows > 0) {
+                value.put("rows", entry.rows);
+            }
+            tests.put(key, value);
+        });
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("version", 1);
+        root.put("tests", tests);
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "test-history", ".tmp");
+            Files.writeString(temp, new Json().toJson(root), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("测试历史记录已保存: {} ({}条)", file, tests.size());
+        } catch (IOException e) {
+            logger.warn("保存测试历史记录失败: {}", e.getMessage());
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    private static class Entry {
+        private double durationMillis;
+        private double failureRate;
+        private int runs;
+        private int rows;
+    }
+}
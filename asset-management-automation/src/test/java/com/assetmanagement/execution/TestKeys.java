@@ -0,0 +1,67 @@
+package com.assetmanagement.execution;
+
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.UniqueId;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestIdentifier;
+
+import java.util.List;
+
+/**
+ * 测试在历史记录和分片计划中的稳定标识
+ * 测试方法为"类名#方法名"，参数化测试的第i行为"类名#方法名[i]"，测试类为类名
+ */
+final class TestKeys {
+    static final String INVOCATION_SEGMENT = "test-template-invocation";
+
+    private TestKeys() {
+    }
+
+    static String of(TestIdentifier identifier) {
+        return of(identifier.getSource().orElse(null), identifier.getUniqueIdObject());
+    }
+
+    static String of(TestDescriptor descriptor) {
+        return of(descriptor.getSource().orElse(null), descriptor.getUniqueId());
+    }
+
+    static String of(TestSource source, UniqueId uniqueId) {
+        if (source instanceof MethodSource) {
+            MethodSource method = (MethodSource) source;
+            String key = method.getClassName() + "#" + method.getMethodName();
+            int index = invocationIndex(uniqueId);
+            return index > 0 ? key + "[" + index + "]" : key;
+        }
+        if (source instanceof ClassSource) {
+            return ((ClassSource) source).getClassName();
+        }
+        return uniqueId.toString();
+    }
+
+    /**
+     * 参数化测试调用的序号（从1开始），不是参数化调用时返回0
+     */
+    static int invocationIndex(UniqueId uniqueId) {
+        List<UniqueId.Segment> segments = uniqueId.getSegments();
+        UniqueId.Segment last = segments.get(segments.size() - 1);
+        if (INVOCATION_SEGMENT.equals(last.getType()) && last.getValue().startsWith("#")) {
+            return Integer.parseInt(last.getValue().substring(1));
+        }
+        return 0;
+    }
+
+    /**
+     * 去掉调用序号，得到参数化测试方法本身的标识
+     */
+    static String templateOf(String key) {
+        int bracket = key.lastIndexOf('[');
+        return bracket > 0 && key.endsWith("]") ? key.substring(0, bracket) : key;
+    }
+
+    static String classOf(String key) {
+        int hash = key.indexOf('#');
+        return hash > 0 ? key.substring(0, hash) : key;
+    }
+}
@@ -0,0 +1,62 @@
+package com.assetmanagement.extensions;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.utils.DriverBinaryResolver;
+import com.assetmanagement.utils.WebDriverManager;
+import com.assetmanagement.utils.WebDriverPool;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 在JUnit发现测试的同时预热浏览器：解析驱动并启动前webdriver.prewarm.count个会话放入会话池
+ * 预热在后台守护线程进行，失败只记录日志，测试租用时会话池照常按需创建
+ */
+public class BrowserPrewarmListener implements LauncherSessionListener {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPrewarmListener.class);
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        int count = ConfigManager.current().getInt("webdriver.prewarm.count", 0);
+        if (count <= 0) {
+            return;
+        }
+        Thread starter = new Thread(() -> prewarm(count), "browser-prewarm");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    private static void prewarm(int count) {
+        long start = System.nanoTime();
+        try {
+            if (!WebDriverManager.isGridMode()) {
+                DriverBinaryResolver.resolve(ConfigManager.current().get("browser.type", "edge"));
+            }
+            WebDriverPool pool = WebDriverManager.getPool();
+            int workers = Math.min(count, pool.getMaxSize());
+            Thread[] threads = new Thread[workers];
+            for (int i = 0; i < workers; i++) {
+                threads[i] = new Thread(() -> prefill(pool, count), "browser-prewarm-" + i);
+                threads[i].setDaemon(true);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            logger.info("浏览器预热完成，空闲会话: {}，耗时{}ms", pool.idleCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("浏览器预热失败，测试将按需创建会话: {}", e.getMessage());
+        }
+    }
+
+    private static void prefill(WebDriverPool pool, int count) {
+        try {
+            pool.prefill(count);
+        } catch (Exception e) {
+            logger.warn("预热浏览器会话失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.assetmanagement.extensions;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.resilience.CircuitBreaker;
+import com.assetmanagement.resilience.CircuitOpenException;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.LifecycleMethodExecutionExceptionHandler;
+import org.junit.jupiter.api.extension.TestExecutionExceptionHandler;
+import org.opentest4j.TestAbortedException;
+
+/**
+ * 被测服务不可达、熔断器打开后，其余测试不再等待超时
+ * circuit.open.action=skip时直接跳过测试，fail时由CircuitOpenException让测试立即失败
+ */
+public class CircuitBreakerExtension implements ExecutionCondition, TestExecutionExceptionHandler,
+        LifecycleMethodExecutionExceptionHandler {
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        String baseUrl = ConfigManager.current().get("base.url", "");
+        if (context.getTestMethod().isPresent() && isSkipMode() && CircuitBreaker.isRejecting(baseUrl)) {
+            return ConditionEvaluationResult.disabled("服务不可达，熔断器已打开: " + baseUrl);
+        }
+        return ConditionEvaluationResult.enabled("熔断器未打开");
+    }
+
+    @Override
+    public void handleTestExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        throw convert(throwable);
+    }
+
+    @Override
+    public void handleBeforeEachMethodExecutionException(ExtensionContext context, Throwable throwable) throws Throwable {
+        throw convert(throwable);
+    }
+
+    private static Throwable convert(Throwable throwable) {
+        if (!isSkipMode()) {
+            return throwable;
+        }
+        for (Throwable t = throwable; t != null; t = t.getCause()) {
+            if (t instanceof CircuitOpenException) {
+                return new TestAbortedException(t.getMessage(), throwable);
+            }
+        }
+        return throwable;
+    }
+
+    private static boolean isSkipMode() {
+        return "skip".equalsIgnoreCase(ConfigManager.current().get("circuit.open.action", "skip").trim());
+    }
+}
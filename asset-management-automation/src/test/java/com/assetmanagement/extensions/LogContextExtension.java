@@ -0,0 +1,31 @@
+package com.assetmanagement.extensions;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.slf4j.MDC;
+
+import java.util.UUID;
+
+/**
+ * 在测试线程的MDC中放入test（类名#方法名）和testId（每次执行唯一的短关联ID），
+ * 日志、页面源码转储等产物都可以按testId关联到同一次测试执行
+ */
+public class LogContextExtension implements BeforeEachCallback, AfterEachCallback {
+    static final String TEST = "test";
+    static final String TEST_ID = "testId";
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        String test = context.getRequiredTestClass().getSimpleName() + "#" + context.getRequiredTestMethod().getName();
+        MDC.put(TEST, test);
+        MDC.put(TEST_ID, test + "-" + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        // 并行执行时工作线程会被复用，必须清理
+        MDC.remove(TEST);
+        MDC.remove(TEST_ID);
+    }
+}
@@ -0,0 +1,88 @@
+package com.assetmanagement.extensions;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.config.ConfigSnapshot;
+import com.assetmanagement.listeners.AllureTestListener;
+import com.assetmanagement.metrics.ApiCallStats;
+import com.assetmanagement.metrics.BaselineStore;
+import com.assetmanagement.metrics.MetricsRegistry;
+import com.assetmanagement.metrics.StepTimer;
+import com.assetmanagement.pages.LocatorRegistry;
+import com.assetmanagement.utils.PageMetrics;
+import com.assetmanagement.utils.PerformanceCollector;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 收集每个测试中页面操作的耗时和前端性能数据并附加到Allure报告
+ * 整个测试运行结束时把汇总的延迟直方图和最慢接口排行导出到metrics.dir，定位器改写报告写入locator.report.dir，
+ * baseline.record.enabled=true时把成功步骤的耗时存入基线库供PerformanceGate比较
+ */
+public class StepMetricsExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StepMetricsExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(RunExport.class, key -> new RunExport(), RunExport.class);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        StepTimer.beginTest();
+        PerformanceCollector.beginTest();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        attachPagePerformance(PerformanceCollector.endTest());
+        List<StepTimer.StepSample> samples = StepTimer.endTest();
+        if (samples.isEmpty()) {
+            return;
+        }
+        StringBuilder table = new StringBuilder(String.format("%-40s %12s  %s%n", "步骤", "耗时(ms)", "结果"));
+        double total = 0;
+        String test = context.getRequiredTestClass().getName() + "#" + context.getRequiredTestMethod().getName();
+        for (StepTimer.StepSample sample : samples) {
+            if (sample.isSuccess()) {
+                BaselineStore.record(test, sample.getStep(), sample.getMillis());
+            }
+            table.append(String.format(Locale.ROOT, "%-40s %12.1f  %s%n",
+                sample.getStep(), sample.getMillis(), sample.isSuccess() ? "成功" : "失败"));
+            total += sample.getMillis();
+        }
+        table.append(String.format(Locale.ROOT, "%-40s %12.1f%n", "合计", total));
+        AllureTestListener.addAttachment("步骤耗时", table.toString(), "text/plain");
+    }
+
+    private static void attachPagePerformance(List<PageMetrics> pages) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        for (PageMetrics page : pages) {
+            text.append(page.toText()).append(System.lineSeparator());
+        }
+        AllureTestListener.addAttachment("前端性能", text.toString(), "text/plain");
+    }
+
+    private static class RunExport implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            ConfigSnapshot config = ConfigManager.current();
+            MetricsRegistry.global().export(Paths.get(config.get("metrics.dir", "target/metrics")), "step-latency");
+            ApiCallStats.global().export(Paths.get(config.get("metrics.dir", "target/metrics")),
+                config.getInt("network.capture.report.limit", 20));
+            LocatorRegistry.global().writeReport(Paths.get(config.get("locator.report.dir", "target/locators")));
+            if (config.getBoolean("baseline.record.enabled", true)) {
+                BaselineStore.fromConfig().saveRun(BaselineStore.drainCurrentRun());
+            }
+        }
+    }
+}
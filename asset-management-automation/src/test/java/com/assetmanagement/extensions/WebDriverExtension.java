@@ -0,0 +1,103 @@
+package com.assetmanagement.extensions;
+
+import com.assetmanagement.config.ConfigManager;
+import com.assetmanagement.utils.NetworkMonitor;
+import com.assetmanagement.utils.ScreenshotUtils;
+import com.assetmanagement.utils.ScreenshotWriter;
+import com.assetmanagement.utils.WebDriverManager;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 从WebDriver会话池为每个测试租用会话，测试结束后归还
+ * 归还前按配置截图，默认只对失败测试截图；开启网络采集时附加该测试的HAR
+ * 整个测试运行结束时关闭会话池
+ */
+public class WebDriverExtension implements BeforeAllCallback, AfterEachCallback, ParameterResolver {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverExtension.class);
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(WebDriverExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        // 注册到根上下文，保证所有测试类执行完毕后才关闭会话池
+        context.getRoot().getStore(NAMESPACE)
+            .getOrComputeIfAbsent(PoolShutdown.class, key -> new PoolShutdown(), PoolShutdown.class);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (!WebDriverManager.hasDriver()) {
+            return;
+        }
+        Throwable failure = context.getExecutionException().orElse(null);
+        attachHar(context);
+        takeScreenshot(context, failure);
+        if (failure != null) {
+            // 失败测试的会话状态不可信，直接销毁
+            logger.info("测试失败，销毁WebDriver会话: {}", context.getDisplayName());
+            WebDriverManager.quitDriver();
+        } else {
+            WebDriverManager.releaseDriver();
+        }
+    }
+
+    /**
+     * 开启network.capture.enabled时，把本测试期间的网络请求以HAR附加到报告
+     */
+    private void attachHar(ExtensionContext context) {
+        Map<String, Object> har = NetworkMonitor.drainHar(WebDriverManager.getDriver());
+        if (har == null) {
+            return;
+        }
+        String name = context.getRequiredTestClass().getSimpleName() + "_" + context.getRequiredTestMethod().getName();
+        Allure.addAttachment(name + ".har", "application/json",
+            new ByteArrayInputStream(new Json().toJson(har).getBytes(StandardCharsets.UTF_8)), "har");
+    }
+
+    private void takeScreenshot(ExtensionContext context, Throwable failure) {
+        boolean enabled = failure != null
+            ? ConfigManager.current().getBoolean("screenshot.on.failure", true)
+            : ConfigManager.current().getBoolean("screenshot.on.success", false);
+        if (!enabled) {
+            return;
+        }
+        String testName = context.getRequiredTestClass().getSimpleName() + "_" + context.getRequiredTestMethod().getName();
+        ScreenshotUtils screenshotUtils = new ScreenshotUtils(WebDriverManager.getDriver());
+        if (failure != null) {
+            screenshotUtils.takeScreenshotOnFailure(testName, failure);
+        } else {
+            screenshotUtils.takeScreenshot(testName);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return WebDriverManager.getDriver();
+    }
+
+    private static class PoolShutdown implements ExtensionContext.Store.CloseableResource {
+        @Override
+        public void close() {
+            WebDriverManager.shutdown();
+            ScreenshotWriter.getInstance().flush(Duration.ofSeconds(30));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.utils.ConfigReader;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadProfileTest {
+
+    @Test
+    public void testFromShippedConfig() {
+        LoadProfile profile = LoadProfile.fromConfig(new ConfigReader());
+
+        // 搜索类型是下拉框的显示文本，中文必须原样读出
+        assertEquals("资产名称", profile.getSearchType());
+        assertTrue(profile.getUsers() > 0);
+        assertTrue(profile.getLoginUrl().endsWith("/login"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.listeners.AllureTestListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用本地替身服务器验证并发模拟模式，需要本机有Edge浏览器
+ * 默认不随mvn test执行：mvn test -Dgroups=load -Dsurefire.excludedGroups=
+ */
+@Tag("load")
+public class LoadSimulationTest {
+
+    @Test
+    public void testConcurrentJourneysAgainstStubServer() throws Exception {
+        try (StubAssetServer server = new StubAssetServer()) {
+            LoadProfile profile = new LoadProfile(server.getBaseUrl(), "admin", "admin123",
+                3, Duration.ofSeconds(2), Duration.ofMillis(200), Duration.ofMillis(100),
+                Duration.ofSeconds(10), "资产名称", "test-PC-1");
+
+            LoadReport report = new LoadSimulation(profile).run();
+            AllureTestListener.addAttachment("并发模拟报告", report.toText(), "text/plain");
+
+            assertEquals(3, report.getCount(LoadSimulation.STEP_LOGIN), "每个虚拟用户应登录一次");
+            assertTrue(report.getCount(LoadSimulation.STEP_SEARCH) >= 3, "每个虚拟用户至少应完成一次搜索");
+            assertEquals(0, report.getTotalErrors(), report.toText());
+            assertTrue(report.getThroughput(LoadSimulation.STEP_SEARCH) > 0);
+            assertEquals(report.getCount(LoadSimulation.STEP_SEARCH), server.getHits("/api/assets"));
+        }
+    }
+}
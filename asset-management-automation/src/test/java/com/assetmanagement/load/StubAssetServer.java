@@ -0,0 +1,192 @@
+package com.assetmanagement.load;
+
+import com.assetmanagement.utils.TestDataReader;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地替身服务器，提供与被测平台结构一致的登录页、首页和资产列表页
+ * 资产数据来自testdata/assets.csv，搜索通过/api/assets接口返回JSON
+ */
+public class StubAssetServer implements AutoCloseable {
+    // 接口只接受字段名，显示文本到字段名的映射由页面（option的value）或asset.http.search.fields完成
+    private static final Set<String> SEARCH_FIELDS = Set.of("asset_name", "ip_address", "mac_address");
+
+    private static final String LOGIN_PAGE = """
+        <!DOCTYPE html>
+        <html lang="zh-CN">
+        <head><meta charset="UTF-8"><title>教育终端云平台 - 登录</title></head>
+        <body>
+        <form class="el-form login-form" onsubmit="return false">
+            <input type="text" placeholder="请输入用户名">
+            <input type="password" placeholder="请输入密码">
+            <button type="button" class="el-button el-button--primary" onclick="login()">登录</button>
+        </form>
+        <script>
+            function login() {
+                fetch('/api/login', {method: 'POST'}).then(function () { location.href = '/dashboard'; });
+            }
+        </script>
+        </body>
+        </html>
+        """;
+
+    private static final String DASHBOARD_PAGE = """
+        <!DOCTYPE html>
+        <html lang="zh-CN">
+        <head><meta charset="UTF-8"><title>教育终端云平台</title></head>
+        <body>
+        <div class="user-info">admin</div>
+        <div class="nav"><a href="/asset">资产管理</a></div>
+        </body>
+        </html>
+        """;
+
+    private static final String ASSET_PAGE = """
+        <!DOCTYPE html>
+        <html lang="zh-CN">
+        <head><meta charset="UTF-8"><title>教育终端云平台 - 资产管理</title></head>
+        <body>
+        <div class="user-info">admin</div>
+        <div class="nav"><a href="/asset">资产管理</a></div>
+        <select id="searchType">
+            <option value="asset_name">资产名称</option>
+            <option value="ip_address">IP地址</option>
+            <option value="mac_address">MAC地址</option>
+        </select>
+        <input id="searchValue" type="text">
+        <button type="button" onclick="search()">搜索</button>
+        <div class="asset-list" style="min-height: 20px">资产列表</div>
+        <div class="no-results" style="display: none">暂无数据</div>
+        <script>
+            function search() {
+                var type = document.getElementById('searchType').value;
+                var q = document.getElementById('searchValue').value;
+                fetch('/api/assets?type=' + encodeURIComponent(type) + '&q=' + encodeURIComponent(q))
+                    .then(function (r) { return r.json(); })
+                    .then(function (assets) {
+                        var list = document.querySelector('.asset-list');
+                        list.innerHTML = '<table><thead><tr><th>资产名称</th><th>IP地址</th><th>MAC地址</th>'
+                            + '<th>状态</th><th>分组</th></tr></thead><tbody>' + assets.map(function (a) {
+                            return '<tr><td>' + a.asset_name + '</td><td>' + a.ip_address + '</td><td>'
+                                + a.mac_address + '</td><td>' + a.status + '</td><td>' + a.group + '</td></tr>';
+                        }).join('') + '</tbody></table>';
+                        document.querySelector('.no-results').style.display = assets.length ? 'none' : 'block';
+                    });
+            }
+        </script>
+        </body>
+        </html>
+        """;
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Map<String, String>> assets = TestDataReader.readCsvData("assets.csv");
+    private final Map<String, AtomicLong> hits = new ConcurrentHashMap<>();
+
+    public StubAssetServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/login", exchange -> respond(exchange, "text/html", LOGIN_PAGE));
+        server.createContext("/dashboard", exchange -> respond(exchange, "text/html", DASHBOARD_PAGE));
+        server.createContext("/asset", exchange -> respond(exchange, "text/html", ASSET_PAGE));
+        server.createContext("/api/login", exchange -> {
+            String session = "stub-" + System.nanoTime();
+            exchange.getResponseHeaders().add("Set-Cookie", "SESSION=" + session + "; Path=/");
+            respond(exchange, "application/json", "{\"code\":0,\"data\":{\"token\":\"" + session + "\"}}");
+        });
+        server.createContext("/api/assets", this::search);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 某个路径被请求的次数
+     */
+    public long getHits(String path) {
+        AtomicLong count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        if (!isAuthenticated(exchange)) {
+            hits.computeIfAbsent("/api/assets#401", key -> new AtomicLong()).incrementAndGet();
+            exchange.sendResponseHeaders(401, -1);
+            exchange.close();
+            return;
+        }
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        // 不带type时按资产名称列出全部资产
+        String field = query.getOrDefault("type", "asset_name");
+        if (!SEARCH_FIELDS.contains(field)) {
+            hits.computeIfAbsent("/api/assets#400", key -> new AtomicLong()).incrementAndGet();
+            exchange.sendResponseHeaders(400, -1);
+            exchange.close();
+            return;
+        }
+        String value = query.getOrDefault("q", "");
+        List<Map<String, String>> matches = assets.stream()
+            .filter(asset -> asset.getOrDefault(field, "").contains(value))
+            .toList();
+        respond(exchange, "application/json", new Json().toJson(matches));
+    }
+
+    /**
+     * 登录后浏览器带SESSION Cookie，接口调用方可以带Bearer token
+     */
+    private static boolean isAuthenticated(HttpExchange exchange) {
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        return (cookie != null && cookie.contains("SESSION=stub-"))
+            || (authorization != null && authorization.startsWith("Bearer stub-"));
+    }
+
+    private void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        hits.computeIfAbsent(exchange.getHttpContext().getPath(), key -> new AtomicLong()).incrementAndGet();
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=UTF-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
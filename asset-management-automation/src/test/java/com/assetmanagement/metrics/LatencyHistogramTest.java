@@ -0,0 +1,70 @@
+package com.assetmanagement.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.recordValue(value);
+        }
+
+        assertEquals(100_000, histogram.getTotalCount());
+        assertEquals(1, histogram.getMin());
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(50_000, histogram.getValueAtPercentile(50), 50_000 / 64.0);
+        assertEquals(95_000, histogram.getValueAtPercentile(95), 95_000 / 64.0);
+        assertEquals(99_000, histogram.getValueAtPercentile(99), 99_000 / 64.0);
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBucketBoundariesAreContiguous() {
+        long previousHighest = -1;
+        for (int index = 0; index < LatencyHistogram.indexOf(1L << 30); index++) {
+            long highest = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.indexOf(highest), "桶上界应落在本桶内");
+            assertEquals(index, LatencyHistogram.indexOf(previousHighest + 1), "相邻桶之间不应有空隙");
+            previousHighest = highest;
+        }
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.recordValue(i % 1000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(80_000, histogram.getTotalCount());
+        assertEquals(999, histogram.getMax());
+    }
+
+    @Test
+    public void testPrometheusExport() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.histogram("LoginPage.submit").recordValue(250_000);
+        registry.recordError("LoginPage.submit");
+
+        String text = registry.toPrometheus();
+        assertTrue(text.contains("automation_latency_seconds{name=\"LoginPage.submit\",quantile=\"0.99\"} 0.25"));
+        assertTrue(text.contains("automation_latency_seconds_count{name=\"LoginPage.submit\"} 1"));
+        assertTrue(text.contains("automation_errors_total{name=\"LoginPage.submit\"} 1"));
+        assertTrue(registry.toJson().contains("\"LoginPage.submit\""));
+    }
+}
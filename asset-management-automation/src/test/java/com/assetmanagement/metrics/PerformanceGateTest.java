@@ -0,0 +1,154 @@
+package com.assetmanagement.metrics;
+
+import com.assetmanagement.config.ConfigSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceGateTest {
+    private static final String STEP = "AssetPage.searchAsset";
+    private static final String KEY = BaselineStore.key("com.example.AssetTest#search", STEP);
+
+    private final PerformanceGate gate = new PerformanceGate(10, 5, 10, 3, 0.01, 0.2, 50);
+
+    @Test
+    public void testClearSlowdownIsRegression() {
+        Random random = new Random(1);
+        PerformanceGate.Finding finding = gate.compare(KEY, samples(random, 400, 40, 30), 3, samples(random, 600, 40, 10));
+
+        assertEquals(PerformanceGate.Status.REGRESSION, finding.getStatus());
+        assertTrue(finding.getPValue() < 0.01);
+        assertEquals(1.5, finding.getRatio(), 0.15);
+    }
+
+    @Test
+    public void testNoiseIsNotRegression() {
+        Random random = new Random(2);
+        PerformanceGate.Finding finding = gate.compare(KEY, samples(random, 400, 80, 30), 3, samples(random, 400, 80, 10));
+
+        assertEquals(PerformanceGate.Status.OK, finding.getStatus());
+    }
+
+    @Test
+    public void testSingleOutlierIsNotRegression() {
+        double[] current = {400, 410, 395, 405, 5000};
+        PerformanceGate.Finding finding = gate.compare(KEY, samples(new Random(3), 400, 10, 30), 3, current);
+
+        assertEquals(PerformanceGate.Status.OK, finding.getStatus());
+    }
+
+    @Test
+    public void testSignificantButSmallSlowdownIsNotRegression() {
+        // 统计上显著，但中位数只慢了约10%
+        Random random = new Random(4);
+        PerformanceGate.Finding finding = gate.compare(KEY, samples(random, 400, 5, 30), 3, samples(random, 440, 5, 10));
+
+        assertEquals(PerformanceGate.Status.OK, finding.getStatus());
+    }
+
+    @Test
+    public void testTooFewSamplesIsInsufficient() {
+        Random random = new Random(5);
+        PerformanceGate.Finding finding = gate.compare(KEY, samples(random, 400, 10, 30), 2, samples(random, 900, 10, 10));
+
+        assertEquals(PerformanceGate.Status.INSUFFICIENT, finding.getStatus());
+    }
+
+    @Test
+    public void testMannWhitneyWithTies() {
+        double[] same = {100, 100, 100, 100, 100};
+        assertEquals(1.0, MannWhitneyU.pValueGreater(same, same), 1e-9);
+        assertTrue(MannWhitneyU.pValueGreater(new double[]{1, 2, 3, 4, 5, 6, 7, 8}, new double[]{9, 10, 11, 12, 13, 14, 15, 16}) < 0.001);
+        assertEquals(0.975, MannWhitneyU.normalCdf(1.96), 1e-4);
+    }
+
+    @Test
+    public void testStoreRoundTripAndFlaggedRunsExcludedFromBaseline(@TempDir Path dir) {
+        BaselineStore store = new BaselineStore(dir, 5);
+        Random random = new Random(6);
+        for (int run = 0; run < 4; run++) {
+            store.saveRun(Map.of(KEY, toList(samples(random, 400, 20, 10))));
+        }
+        store.saveRun(Map.of(KEY, toList(samples(random, 900, 20, 10))));
+
+        List<BaselineStore.Run> runs = store.loadRuns();
+        assertEquals(5, runs.size());
+        PerformanceGate.Report report = gate.evaluate(runs);
+        assertEquals(Set.of(STEP), report.getRegressions());
+
+        store.markRegressions(report.getCurrent(), report.getRegressions());
+        store.saveRun(Map.of(KEY, toList(samples(random, 900, 20, 10))));
+
+        runs = store.loadRuns();
+        assertEquals(5, runs.size(), "超出保留数量的旧运行应被删除");
+        assertEquals(Set.of(STEP), runs.get(3).getRegressions());
+        // 已判定为退化的运行不进入基线，持续变慢仍然报告
+        assertEquals(Set.of(STEP), gate.evaluate(runs).getRegressions());
+    }
+
+    @Test
+    public void testShippedDefaultsGateOneSamplePerTest(@TempDir Path dir) throws IOException {
+        ConfigSnapshot config = ConfigSnapshot.load(Paths.get("src/main/resources/config/config.properties"));
+        PerformanceGate shipped = new PerformanceGate(
+            config.getInt("baseline.window", 0),
+            config.getInt("baseline.min.samples", 0),
+            config.getInt("baseline.min.baseline.samples", 0),
+            config.getInt("baseline.min.runs", 0),
+            config.getDouble("baseline.alpha", 0),
+            config.getDouble("baseline.min.slowdown", 0),
+            config.getDouble("baseline.min.delta.ms", 0));
+        BaselineStore store = new BaselineStore(dir, 30);
+        Random random = new Random(7);
+        // 普通测试每次运行每个步骤只有一个样本，四个登录测试共用同一个步骤
+        String[] tests = {"LoginTest#testAdminLogin", "LoginTest#testSuperLogin", "LoginTest#testCustomLogin",
+            "LoginTest#testSessionRestore"};
+        for (int run = 0; run < 5; run++) {
+            store.saveRun(oneSamplePerTest(tests, random, 800));
+        }
+        store.saveRun(oneSamplePerTest(tests, random, 1600));
+
+        PerformanceGate.Report report = shipped.evaluate(store.loadRuns());
+        assertEquals(Set.of("LoginPage.submitLogin"), report.getRegressions());
+        assertEquals(Set.of(tests), Set.copyOf(report.getFindings().get(0).getTests()));
+
+        store.saveRun(oneSamplePerTest(tests, random, 800));
+        List<BaselineStore.Run> runs = store.loadRuns();
+        store.markRegressions(runs.get(runs.size() - 2), Set.of("LoginPage.submitLogin"));
+        assertEquals(PerformanceGate.Status.OK, shipped.evaluate(store.loadRuns()).getFindings().get(0).getStatus());
+    }
+
+    private static Map<String, List<Double>> oneSamplePerTest(String[] tests, Random random, double median) {
+        Map<String, List<Double>> samples = new HashMap<>();
+        for (String test : tests) {
+            samples.put(BaselineStore.key(test, "LoginPage.submitLogin"), List.of(median + random.nextDouble() * 40));
+        }
+        return samples;
+    }
+
+    private static double[] samples(Random random, double median, double spread, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = median + (random.nextDouble() - 0.5) * 2 * spread;
+        }
+        return values;
+    }
+
+    private static List<Double> toList(double[] values) {
+        List<Double> list = new ArrayList<>();
+        for (double value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,48 @@
+package com.assetmanagement.pages;
+
+import com.assetmanagement.config.ConfigSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetRecordTest {
+
+    @Test
+    public void testMatchesWholeFieldOnly() {
+        AssetRecord asset = AssetRecord.of(Arrays.asList("test-PC-12", "192.168.24.132", "C8:B4:AB:09:12:45",
+            "online", "研发组"));
+
+        assertTrue(asset.matches("test-PC-12"));
+        assertFalse(asset.matches("test-PC-1"));
+        assertFalse(asset.matches("192.168.24.13"));
+        assertTrue(asset.matches("c8-b4-ab-09-12-45"));
+    }
+
+    @Test
+    public void testFromMapUsesCsvColumns() {
+        AssetRecord asset = AssetRecord.fromMap(Map.of("asset_name", "test-PC-1", "ip_address", "192.168.24.121",
+            "mac_address", "C8:B4:AB:09:12:34", "status", "online", "group", "研发组", "extra", "x"));
+
+        assertEquals("test-PC-1", asset.getAssetName());
+        assertEquals("研发组", asset.get("group"));
+        assertEquals(AssetRecord.of(Arrays.asList("test-PC-1", "192.168.24.121", "C8:B4:AB:09:12:34", "online", "研发组")),
+            asset);
+        assertNull(AssetRecord.of(Arrays.asList("only-name")).getStatus());
+    }
+
+    @Test
+    public void testShippedGridColumnsMapChineseHeaders() throws IOException {
+        ConfigSnapshot config = ConfigSnapshot.load(Paths.get("src/main/resources/config/config.properties"));
+        Map<String, String> columns = AssetPage.parseColumns(config.get("asset.grid.columns"));
+
+        assertEquals(List.of("资产名称", "IP地址", "MAC地址", "状态", "分组"), List.copyOf(columns.keySet()));
+        assertEquals("ip_address", columns.get("IP地址"));
+        assertTrue(AssetRecord.FIELDS.containsAll(columns.values()), "表头应映射到AssetRecord字段");
+    }
+}
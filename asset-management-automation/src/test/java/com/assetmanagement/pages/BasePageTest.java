@@ -0,0 +1,101 @@
+package com.assetmanagement.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BasePageTest {
+
+    @Test
+    public void testAbsentResultMapsToAbsentState() {
+        By locator = By.id("loginBtn");
+        ElementState state = BasePage.toElementState(locator, Map.of("present", false));
+
+        assertSame(locator, state.getLocator());
+        assertFalse(state.isPresent());
+        assertFalse(state.isVisible());
+        assertNull(state.getRect());
+        assertFalse(state.isInViewport());
+    }
+
+    @Test
+    public void testQueriedPropertiesAreMapped() {
+        Map<String, Object> result = new HashMap<>();
+        result.put("present", true);
+        result.put("visible", true);
+        result.put("enabled", false);
+        result.put("text", "登录");
+        // 脚本经Selenium返回的数字可能是Long或Double
+        result.put("x", 12L);
+        result.put("y", 340L);
+        result.put("width", 120L);
+        result.put("height", 36L);
+        result.put("top", 20.5);
+        result.put("viewportHeight", 768L);
+
+        ElementState state = BasePage.toElementState(By.id("loginBtn"), result);
+
+        assertTrue(state.isPresent());
+        assertTrue(state.isVisible());
+        assertFalse(state.isEnabled());
+        assertFalse(state.isClickable());
+        assertEquals("登录", state.getText());
+        assertEquals(new Rectangle(12, 340, 36, 120), state.getRect());
+        assertEquals(120, state.getRect().getWidth());
+        assertEquals(36, state.getRect().getHeight());
+        assertTrue(state.isInViewport());
+    }
+
+    @Test
+    public void testUnqueriedPropertiesKeepDefaults() {
+        ElementState state = BasePage.toElementState(By.id("loginBtn"), Map.of("present", true));
+
+        assertTrue(state.isPresent());
+        assertFalse(state.isVisible());
+        assertFalse(state.isEnabled());
+        assertNull(state.getText());
+        assertNull(state.getRect(), "未查询RECT时不应构造位置");
+        assertFalse(state.isInViewport());
+    }
+
+    @Test
+    public void testIsInViewport() {
+        assertTrue(BasePage.isInViewport(0L, 768L));
+        assertTrue(BasePage.isInViewport(768L, 768L));
+        assertTrue(BasePage.isInViewport(100.4, 768L));
+        assertFalse(BasePage.isInViewport(-0.5, 768L), "顶部已滚出视口");
+        assertFalse(BasePage.isInViewport(769L, 768L), "顶部在视口下方");
+        assertFalse(BasePage.isInViewport(null, 768L));
+    }
+
+    @Test
+    public void testRemoteParametersCarryRewritesForRegisteredLocators() {
+        assertEquals(List.of("css selector", "#searchValue"), BasePage.remoteParameters(By.cssSelector("#searchValue")));
+
+        LocatorRegistry registry = new LocatorRegistry();
+        RegisteredLocator registered = registry.register("AssetPage.searchButton",
+            By.xpath("//button[contains(text(),'搜索')]"));
+        List<Object> parameters = BasePage.remoteParameters(registered);
+        assertEquals(3, parameters.size());
+        assertEquals("xpath", parameters.get(0));
+        assertEquals("//button[contains(text(),'搜索')]", parameters.get(1));
+        assertEquals(registered.getRewrites(), parameters.get(2));
+
+        By custom = new By() {
+            @Override
+            public List<WebElement> findElements(SearchContext context) {
+                return List.of();
+            }
+        };
+        assertNull(BasePage.remoteParameters(custom), "自定义By只能走WebDriver查询");
+        assertNull(BasePage.remoteParameters(new RegisteredLocator("Page.custom", custom, registry)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.assetmanagement.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ElementCacheTest {
+    private static final By INPUT = By.id("username");
+
+    @Test
+    public void testRepeatedLookupReusesElement() {
+        FakePage page = new FakePage();
+        ElementCache cache = new ElementCache(page.driver);
+        AtomicInteger lookups = new AtomicInteger();
+
+        WebElement first = cache.get(INPUT, true, locator -> newElement(lookups));
+        WebElement second = cache.get(INPUT, true, locator -> newElement(lookups));
+
+        assertSame(first, second);
+        assertEquals(1, lookups.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testRouteChangeRelocates() {
+        FakePage page = new FakePage();
+        ElementCache cache = new ElementCache(page.driver);
+        AtomicInteger lookups = new AtomicInteger();
+
+        cache.get(INPUT, true, locator -> newElement(lookups));
+        page.route = "/#/asset";
+        cache.get(INPUT, true, locator -> newElement(lookups));
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void testStaleOrDetachedElementRelocates() {
+        FakePage page = new FakePage();
+        ElementCache cache = new ElementCache(page.driver);
+        AtomicInteger lookups = new AtomicInteger();
+
+        cache.get(INPUT, true, locator -> newElement(lookups));
+        page.stale = true;
+        cache.get(INPUT, true, locator -> newElement(lookups));
+        page.stale = false;
+        page.connected = false;
+        cache.get(INPUT, false, locator -> newElement(lookups));
+
+        assertEquals(3, lookups.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testPartialRerenderKeepsConnectedElement() {
+        FakePage page = new FakePage();
+        ElementCache cache = new ElementCache(page.driver);
+        AtomicInteger lookups = new AtomicInteger();
+
+        cache.get(INPUT, true, locator -> newElement(lookups));
+        // 同一路由内局部重绘，元素仍挂在文档上
+        cache.get(INPUT, true, locator -> newElement(lookups));
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    private static WebElement newElement(AtomicInteger lookups) {
+        lookups.incrementAndGet();
+        return (WebElement) Proxy.newProxyInstance(ElementCacheTest.class.getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> {
+                if ("equals".equals(method.getName())) {
+                    return proxy == args[0];
+                }
+                if ("hashCode".equals(method.getName())) {
+                    return System.identityHashCode(proxy);
+                }
+                return null;
+            });
+    }
+
+    private static class FakePage {
+        private String route = "/#/login";
+        private boolean connected = true;
+        private boolean stale;
+        private final WebDriver driver;
+
+        FakePage() {
+            driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if ("executeScript".equals(method.getName())) {
+                        if (stale) {
+                            stale = false;
+                            throw new StaleElementReferenceException("stale element reference");
+                        }
+                        return Arrays.asList(route, connected, connected);
+                    }
+                    return null;
+                });
+        }
+    }
+}
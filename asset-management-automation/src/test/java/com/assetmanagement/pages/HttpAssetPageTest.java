@@ -0,0 +1,59 @@
+package com.assetmanagement.pages;
+
+import com.assetmanagement.load.StubAssetServer;
+import com.assetmanagement.utils.ConfigReader;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HttpAssetPageTest {
+    private static StubAssetServer server;
+
+    @BeforeAll
+    public static void startServer() throws IOException {
+        server = new StubAssetServer();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    public void testSearchFindsAssetThroughApi() {
+        HttpAssetPage page = newPage();
+        page.navigateToAssetManagement();
+        page.searchAsset("IP地址", "192.168.24.122");
+
+        assertTrue(page.isAssetFound("test-PC-2"));
+        assertFalse(page.isNoAssetFound());
+        assertEquals(1, page.getResults().size());
+        assertEquals(0, server.getHits("/api/assets#400"), "搜索类型应按asset.http.search.fields映射为字段名");
+    }
+
+    @Test
+    public void testSearchWithoutMatchReportsNoAsset() {
+        HttpAssetPage page = newPage();
+        page.searchAsset("资产名称", "不存在的终端");
+
+        assertTrue(page.isNoAssetFound());
+        assertFalse(page.isAssetFound("不存在的终端"));
+    }
+
+    @Test
+    public void testLoginIsSharedAcrossInstances() {
+        for (int i = 0; i < 20; i++) {
+            newPage().searchAsset("资产名称", "test-PC-1");
+        }
+        assertEquals(1, server.getHits("/api/login"), "同一账号只应登录一次");
+        assertEquals(0, server.getHits("/api/assets#401"));
+    }
+
+    private static HttpAssetPage newPage() {
+        return new HttpAssetPage(new ConfigReader(), server.getBaseUrl(), "super", "admin123");
+    }
+}
@@ -0,0 +1,74 @@
+package com.assetmanagement.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocatorRegistryTest {
+
+    @Test
+    public void testRegisterIsIdempotentByName() {
+        LocatorRegistry registry = new LocatorRegistry();
+        RegisteredLocator first = registry.register("Page.button", By.cssSelector(".btn"));
+        RegisteredLocator second = registry.register("Page.button", By.cssSelector(".other"));
+
+        assertSame(first, second);
+        assertEquals(By.cssSelector(".btn"), second.getOriginal());
+        assertTrue(first.getRewrites().isEmpty());
+    }
+
+    @Test
+    public void testReasonToOptimize() {
+        By css = By.cssSelector("#searchValue");
+        assertNull(LocatorRegistry.reasonToOptimize(css, 1, 1_000_000));
+        assertNotNull(LocatorRegistry.reasonToOptimize(css, 3, 1_000_000));
+        assertNotNull(LocatorRegistry.reasonToOptimize(css, 1, 500_000_000));
+        assertNotNull(LocatorRegistry.reasonToOptimize(By.xpath("//button[contains(text(),'搜索')]"), 1, 1_000_000));
+    }
+
+    @Test
+    public void testReportListsRegisteredLocators() {
+        LocatorRegistry registry = new LocatorRegistry();
+        registry.register("Page.b", By.id("b"));
+        registry.register("Page.a", By.id("a"));
+
+        List<Map<String, Object>> report = registry.getReport();
+        assertEquals(2, report.size());
+        assertEquals("Page.a", report.get(0).get("name"));
+        assertEquals(0L, ((Number) report.get(0).get("lookups")).longValue());
+    }
+
+    @Test
+    public void testFailedDerivationIsNotRetriedOnSamePage() {
+        LocatorRegistry registry = new LocatorRegistry();
+        RegisteredLocator locator = registry.register("Page.row", By.cssSelector(".row"));
+        AtomicInteger derivations = new AtomicInteger();
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                if ("executeScript".equals(method.getName())) {
+                    derivations.incrementAndGet();
+                    return null;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+        WebElement element = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+
+        for (int i = 0; i < 5; i++) {
+            registry.recordLookup(locator, driver, "/asset", List.of(element, element), 1_000_000);
+        }
+        registry.recordLookup(locator, driver, "/dashboard", List.of(element, element), 1_000_000);
+
+        assertEquals(2, derivations.get(), "同一页面版本推导失败后不应重复推导");
+        assertTrue(locator.getRewrites().isEmpty());
+    }
+}
@@ -0,0 +1,154 @@
+package com.assetmanagement.reconcile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssetReconcilerTest {
+    private static final List<String> FIELDS = List.of("asset_name", "status");
+
+    @TempDir
+    Path workDir;
+
+    @Test
+    public void testInMemoryJoinReportsEachKind() {
+        AssetReconciler reconciler = new AssetReconciler("mac_address", FIELDS, 100, 4, workDir, 10);
+        List<Discrepancy> emitted = new ArrayList<>();
+
+        ReconciliationResult result;
+        try (AssetReconciler.Session session = reconciler.start(emitted::add)) {
+            session.addExpected(row("C8:B4:AB:09:12:34", "test-PC-1", "online"));
+            session.addExpected(row("C8:B4:AB:09:12:35", "test-PC-2", "online"));
+            session.addExpected(row("C8:B4:AB:09:12:36", "test-PC-3", "offline"));
+            session.addActual(row("c8-b4-ab-09-12-34", "test-PC-1", "online"));
+            session.addActual(row("C8:B4:AB:09:12:35", "test-PC-2", "offline"));
+            session.addActual(row("C8:B4:AB:09:12:99", "test-PC-9", "online"));
+            // 界面行在finish之前就能确定的差异立即输出
+            assertEquals(2, emitted.size());
+            result = session.finish();
+        }
+
+        assertEquals(1, result.getMatchedRows());
+        assertEquals(1, result.getCount(Discrepancy.Type.MISMATCH));
+        assertEquals(1, result.getCount(Discrepancy.Type.EXTRA));
+        assertEquals(1, result.getCount(Discrepancy.Type.MISSING));
+        assertEquals(List.of("status"), emitted.get(0).getFields());
+        assertEquals("C8:B4:AB:09:12:36", emitted.get(2).getKey());
+        assertEquals(0, result.getPartitions());
+        assertFalse(result.isClean());
+    }
+
+    @Test
+    public void testSpilledJoinMatchesInMemoryResult() throws Exception {
+        int rows = 5000;
+        AssetReconciler reconciler = new AssetReconciler("mac_address", FIELDS, 100, 4, workDir, 5);
+
+        ReconciliationResult result = reconciler.reconcile(
+            IntStream.range(0, rows).mapToObj(i -> row(mac(i), "pc-" + i, "online")),
+            Stream.concat(
+                IntStream.range(1, rows).mapToObj(i -> row(mac(i), "pc-" + i, i % 1000 == 0 ? "offline" : "online")),
+                Stream.of(row(mac(rows), "pc-new", "online"), row(mac(1), "pc-1", "online"))));
+
+        assertEquals(4, result.getPartitions());
+        assertEquals(rows, result.getExpectedRows());
+        assertEquals(rows + 1, result.getActualRows());
+        assertEquals(1, result.getCount(Discrepancy.Type.MISSING));
+        // mac(1)在界面上出现两次，第二次按重复处理
+        assertEquals(1, result.getCount(Discrepancy.Type.EXTRA));
+        assertEquals(1, result.getCount(Discrepancy.Type.DUPLICATE));
+        assertEquals(4, result.getCount(Discrepancy.Type.MISMATCH));
+        assertEquals(rows - 1 - 4, result.getMatchedRows());
+        assertEquals(5, result.getSamples().size());
+        try (Stream<Path> left = Files.list(workDir)) {
+            assertEquals(0, left.count());
+        }
+    }
+
+    @Test
+    public void testDuplicateExpectedKeyAndValuesWithCommas() {
+        AssetReconciler reconciler = new AssetReconciler("mac_address", FIELDS, 1, 2, workDir, 10);
+
+        ReconciliationResult result = reconciler.reconcile(
+            Stream.of(row("AA", "a, \"quoted\"", "online"), row("BB", "b", "online"), row("AA", "a2", "online")),
+            Stream.of(row("AA", "a, \"quoted\"", "online"), row("BB", "b", "online")));
+
+        assertEquals(1, result.getCount(Discrepancy.Type.DUPLICATE));
+        assertEquals(2, result.getMatchedRows());
+        assertTrue(result.toText().contains("DUPLICATE AA"));
+    }
+
+    @Test
+    public void testDuplicateActualKeyIsNotReportedAsExtra() {
+        AssetReconciler reconciler = new AssetReconciler("mac_address", FIELDS, 100, 2, workDir, 10);
+        List<Discrepancy> emitted = new ArrayList<>();
+
+        ReconciliationResult result;
+        try (AssetReconciler.Session session = reconciler.start(emitted::add)) {
+            session.addExpected(row("AA", "a", "online"));
+            session.addExpected(row("BB", "b", "online"));
+            session.addActual(row("AA", "a", "online"));
+            session.addActual(row("BB", "b", "online"));
+            session.addActual(row("AA", "a-copy", "offline"));
+            result = session.finish();
+        }
+
+        assertEquals(2, result.getMatchedRows());
+        assertEquals(1, result.getCount(Discrepancy.Type.DUPLICATE));
+        assertEquals(0, result.getCount(Discrepancy.Type.EXTRA));
+        assertEquals("AA", emitted.get(0).getKey());
+        assertNull(emitted.get(0).getExpected());
+        assertEquals("a-copy", emitted.get(0).getActual().get("asset_name"));
+    }
+
+    @Test
+    public void testDuplicatesReportedOnceWhenPartitionsAreSplitAgain() {
+        int rows = 2000;
+        // 分区远大于内存上限，必然触发再次拆分
+        AssetReconciler reconciler = new AssetReconciler("mac_address", FIELDS, 50, 2, workDir, 10);
+
+        ReconciliationResult result = reconciler.reconcile(
+            // 重复行紧跟在溢写之后，位于分区文件前部，在发现分区过大之前就已读到
+            Stream.of(
+                IntStream.range(0, 60).mapToObj(i -> row(mac(i), "pc-" + i, "online")),
+                IntStream.range(0, 10).mapToObj(i -> row(mac(i), "dup-" + i, "online")),
+                IntStream.range(60, rows).mapToObj(i -> row(mac(i), "pc-" + i, "online")))
+                .flatMap(rowStream -> rowStream),
+            IntStream.range(0, rows).mapToObj(i -> row(mac(i), "pc-" + i, "online")));
+
+        assertEquals(10, result.getCount(Discrepancy.Type.DUPLICATE));
+        assertEquals(rows, result.getMatchedRows());
+        assertEquals(0, result.getCount(Discrepancy.Type.MISSING));
+        assertEquals(0, result.getCount(Discrepancy.Type.EXTRA));
+    }
+
+    @Test
+    public void testPartitionIsStableAndInRange() {
+        for (int seed = 0; seed < 3; seed++) {
+            int partition = AssetReconciler.partitionOf("C8:B4:AB:09:12:34", 16, seed);
+            assertTrue(partition >= 0 && partition < 16);
+            assertEquals(partition, AssetReconciler.partitionOf("C8:B4:AB:09:12:34", 16, seed));
+        }
+    }
+
+    private static String mac(int i) {
+        return String.format("C8:B4:AB:%02X:%02X:%02X", (i >> 16) & 0xFF, (i >> 8) & 0xFF, i & 0xFF);
+    }
+
+    private static Map<String, String> row(String mac, String name, String status) {
+        Map<String, String> row = new HashMap<>();
+        row.put("mac_address", mac);
+        row.put("asset_name", name);
+        row.put("status", status);
+        return row;
+    }
+}
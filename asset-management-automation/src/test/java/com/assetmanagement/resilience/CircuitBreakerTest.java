@@ -0,0 +1,59 @@
+package com.assetmanagement.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker("https://test", 3, Duration.ofSeconds(30), now::get);
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "成功调用应重置连续失败次数");
+
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesOnSuccess() {
+        trip();
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission, "半开状态只放行一个探测调用");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.acquirePermission();
+    }
+
+    @Test
+    public void testHalfOpenProbeFailureReopens() {
+        trip();
+        now.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        breaker.acquirePermission();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission, "重新打开后应重新计时");
+    }
+
+    private void trip() {
+        for (int i = 0; i < 3; i++) {
+            breaker.onFailure();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.assetmanagement.resilience;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RetryPolicyTest {
+
+    @Test
+    public void testBackoffGrowsAndStaysWithinJitterBounds() {
+        RetryPolicy policy = new RetryPolicy(5, Duration.ofMillis(100), Duration.ofMillis(350), 2.0, 0.5);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(between(policy.delayMillis(1), 50, 100));
+            assertTrue(between(policy.delayMillis(2), 100, 200));
+            assertTrue(between(policy.delayMillis(4), 175, 350), "不应超过最大等待时间");
+        }
+    }
+
+    @Test
+    public void testRetriesTimeoutsButNotFatalFailures() {
+        RetryPolicy policy = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, 2.0, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = policy.execute("op", null, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new TimeoutException("slow");
+            }
+            return "ok";
+        }, null);
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+
+        calls.set(0);
+        assertThrows(NoSuchElementException.class, () -> policy.run("op", null, () -> {
+            calls.incrementAndGet();
+            throw new NoSuchElementException("missing");
+        }));
+        assertEquals(1, calls.get(), "不可重试的失败只执行一次");
+    }
+
+    @Test
+    public void testOpenCircuitStopsRetriesAndRejectsLaterCalls() {
+        RetryPolicy policy = new RetryPolicy(5, Duration.ZERO, Duration.ZERO, 2.0, 0);
+        CircuitBreaker breaker = new CircuitBreaker("https://down", 2, Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+        Runnable unreachable = () -> {
+            calls.incrementAndGet();
+            throw new WebDriverException("unknown error: net::ERR_CONNECTION_REFUSED");
+        };
+
+        assertThrows(WebDriverException.class, () -> policy.run("open", breaker, unreachable));
+        assertEquals(2, calls.get(), "熔断器打开后应停止重试");
+        assertThrows(CircuitOpenException.class, () -> policy.run("open", breaker, unreachable));
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testElementTimeoutsDoNotOpenCircuit() {
+        RetryPolicy policy = new RetryPolicy(2, Duration.ZERO, Duration.ZERO, 2.0, 0);
+        CircuitBreaker breaker = new CircuitBreaker("https://slow", 2, Duration.ofMinutes(1));
+        for (int i = 0; i < 3; i++) {
+            assertThrows(TimeoutException.class, () -> policy.run("wait", breaker, () -> {
+                throw new TimeoutException("Expected condition failed: waiting for element");
+            }));
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testTimeoutsNeitherResetFailuresNorCloseCircuit() throws InterruptedException {
+        RetryPolicy policy = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 2.0, 0);
+        CircuitBreaker breaker = new CircuitBreaker("https://hung", 2, Duration.ofMillis(10));
+        Runnable unreachable = () -> {
+            throw new WebDriverException("net::ERR_CONNECTION_REFUSED");
+        };
+        Runnable timeout = () -> {
+            throw new TimeoutException("timeout: Timed out receiving message from renderer");
+        };
+
+        assertThrows(WebDriverException.class, () -> policy.run("open", breaker, unreachable));
+        assertThrows(TimeoutException.class, () -> policy.run("wait", breaker, timeout));
+        assertThrows(WebDriverException.class, () -> policy.run("open", breaker, unreachable));
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState(), "超时不应清零连续失败计数");
+
+        Thread.sleep(20);
+        assertThrows(TimeoutException.class, () -> policy.run("probe", breaker, timeout));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState(), "超时的探测不应关闭熔断器");
+        assertEquals("ok", policy.execute("probe", breaker, () -> "ok", null), "探测名额应已归还");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    public void testErrorDuringHalfOpenProbeReleasesProbe() throws InterruptedException {
+        RetryPolicy policy = new RetryPolicy(1, Duration.ZERO, Duration.ZERO, 2.0, 0);
+        CircuitBreaker breaker = new CircuitBreaker("https://probe", 1, Duration.ofMillis(10));
+        assertThrows(WebDriverException.class, () -> policy.run("open", breaker, () -> {
+            throw new WebDriverException("net::ERR_CONNECTION_REFUSED");
+        }));
+        Thread.sleep(20);
+
+        assertThrows(AssertionError.class, () -> policy.run("probe", breaker, () -> {
+            throw new AssertionError("assertion inside probe");
+        }));
+        assertEquals("ok", policy.execute("probe", breaker, () -> "ok", null), "探测名额应已归还");
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private static boolean between(long value, long min, long max) {
+        return value >= min && value <= max;
+    }
+}
@@ -0,0 +1,108 @@
+package com.assetmanagement.simulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TerminalFleetSimulatorTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private final Set<String> registeredTerminals = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger heartbeats = new AtomicInteger();
+    private final AtomicInteger heartbeatsWithToken = new AtomicInteger();
+
+    @BeforeEach
+    public void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.createContext("/api/terminal/register", exchange -> {
+            String body = read(exchange);
+            String id = body.substring(body.indexOf("SIM-"), body.indexOf("SIM-") + 10);
+            registeredTerminals.add(id);
+            respond(exchange, "{\"code\":0,\"data\":{\"token\":\"token-" + id + "\"}}");
+        });
+        server.createContext("/api/terminal/heartbeat", exchange -> {
+            if (read(exchange).contains("\"token\": \"token-SIM-")) {
+                heartbeatsWithToken.incrementAndGet();
+            }
+            heartbeats.incrementAndGet();
+            respond(exchange, "{\"code\":0}");
+        });
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopStub() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testFleetRegistersAndSendsHeartbeats() {
+        FleetProfile profile = new FleetProfile("http://127.0.0.1:" + server.getAddress().getPort(), 200,
+            "/api/terminal/register", "/api/terminal/heartbeat",
+            Duration.ofMillis(300), 0.2, Duration.ofMillis(500), Duration.ofSeconds(4),
+            Duration.ofSeconds(5), 128);
+
+        FleetReport report = new TerminalFleetSimulator(profile).run();
+
+        assertEquals(200, report.getRegistered());
+        assertEquals(200, registeredTerminals.size(), "每台终端应使用不同的标识注册");
+        assertEquals(200, report.getCount(TerminalFleetSimulator.STEP_REGISTER));
+        assertEquals(heartbeats.get(), report.getCount(TerminalFleetSimulator.STEP_HEARTBEAT));
+        assertTrue(heartbeats.get() >= 200, "每台终端至少应发送一次心跳: " + heartbeats.get());
+        assertEquals(heartbeats.get(), heartbeatsWithToken.get(), "心跳应携带注册返回的token");
+        assertEquals(0, report.getErrors(TerminalFleetSimulator.STEP_HEARTBEAT));
+        assertTrue(report.getLatencyAtPercentile(TerminalFleetSimulator.STEP_HEARTBEAT, 99) > 0);
+    }
+
+    @Test
+    public void testFailedRegistrationIsCounted() {
+        server.removeContext("/api/terminal/register");
+        server.createContext("/api/terminal/register", exchange -> {
+            read(exchange);
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        FleetProfile profile = new FleetProfile("http://127.0.0.1:" + server.getAddress().getPort(), 5,
+            "/api/terminal/register", "/api/terminal/heartbeat",
+            Duration.ofMillis(100), 0, Duration.ZERO, Duration.ofMillis(300),
+            Duration.ofSeconds(5), 16);
+
+        FleetReport report = new TerminalFleetSimulator(profile).run();
+
+        assertEquals(0, report.getRegistered());
+        assertEquals(report.getCount(TerminalFleetSimulator.STEP_REGISTER),
+            report.getErrors(TerminalFleetSimulator.STEP_REGISTER));
+        assertEquals(0, heartbeats.get(), "注册失败的终端不应发送心跳");
+    }
+
+    private static String read(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
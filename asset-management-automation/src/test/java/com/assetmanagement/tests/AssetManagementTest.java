@@ -1,11 +1,18 @@
 package com.assetmanagement.tests;
 
 import com.assetmanagement.pages.AssetPage;
-import com.assetmanagement.utils.ConfigReader;
+import com.assetmanagement.pages.AssetSearchPage;
+import com.assetmanagement.pages.LoginPage;
+import com.assetmanagement.reconcile.AssetReconciler;
+import com.assetmanagement.reconcile.ReconciliationResult;
+import com.assetmanagement.utils.CaptchaHandler;
+import com.assetmanagement.utils.LoginHelper;
 import com.assetmanagement.utils.TestDataReader;
 import com.assetmanagement.listeners.AllureTestListener;
 import io.qameta.allure.*;
+import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -13,25 +20,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.junit.jupiter.api.BeforeEach;
 
-import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
 @Epic("资产管理")
 @Feature("资产操作")
 public class AssetManagementTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(AssetManagementTest.class);
-    private ConfigReader config;
-    private AssetPage assetPage;
+    private static final String DATA_TAG = "data";
+    private static final String RECONCILE_TAG = "reconcile";
+    private AssetSearchPage assetPage;
 
     @BeforeEach
     @Override
-    public void setUp() {
-        super.setUp();
-        config = new ConfigReader();
-        assetPage = new AssetPage(driver);
+    public void setUp(TestInfo testInfo) {
+        super.setUp(testInfo);
+        assetPage = AssetSearchPage.create(config, () -> driver);
+    }
+
+    /**
+     * asset.page.mode=http时，标记为data的测试只校验接口数据，不租用浏览器
+     */
+    @Override
+    protected boolean requiresBrowser(TestInfo testInfo) {
+        if (testInfo.getTags().contains(RECONCILE_TAG) && reconcileFile().isEmpty()) {
+            return false;
+        }
+        return !(testInfo.getTags().contains(DATA_TAG) && AssetSearchPage.isHttpMode(config));
     }
 
     @Test
@@ -44,11 +62,12 @@ public class AssetManagementTest extends BaseTest {
             // 登录系统
             loginToSystem();
             
-            // 进入资产管理模块
-            assetPage.navigateToAssetManagement();
+            // 进入资产管理模块（列表渲染只能在浏览器中验证）
+            AssetPage browserPage = new AssetPage(driver);
+            browserPage.navigateToAssetManagement();
             
             // 验证资产列表显示
-            assertTrue(assetPage.isAssetListDisplayed(), "资产列表未正确显示");
+            assertTrue(browserPage.isAssetListDisplayed(), "资产列表未正确显示");
             logger.info("资产列表显示测试成功完成");
             
         } catch (Exception e) {
@@ -58,6 +77,7 @@ public class AssetManagementTest extends BaseTest {
     }
 
     @ParameterizedTest
+    @Tag(DATA_TAG)
     @MethodSource("provideAssetTestData")
     @DisplayName("测试资产搜索")
     @Description("验证资产搜索功能")
@@ -73,8 +93,10 @@ public class AssetManagementTest extends BaseTest {
             AllureTestListener.addDescription(String.format("搜索类型: %s, 搜索值: %s, 预期结果: %s", 
                 searchType, searchValue, expectedResult));
             
-            // 登录系统
-            loginToSystem();
+            // 登录系统（HTTP模式由页面对象通过接口登录）
+            if (driver != null) {
+                loginToSystem();
+            }
             
             // 进入资产管理模块
             assetPage.navigateToAssetManagement();
@@ -89,24 +111,63 @@ public class AssetManagementTest extends BaseTest {
                 assertTrue(assetPage.isNoAssetFound(), "资产不应该被找到但找到了");
             }
             
-            AllureTestListener.addScreenshot(driver, String.format("资产搜索测试 - %s", searchType));
+            if (driver != null) {
+                AllureTestListener.addScreenshot(driver, String.format("资产搜索测试 - %s", searchType));
+            }
             logger.info("资产搜索测试通过 - 搜索类型: {}", searchType);
             
         } catch (Exception e) {
             logger.error("资产搜索测试失败 - 搜索类型: {}", testData.get("search_type"), e);
-            AllureTestListener.addScreenshot(driver, String.format("资产搜索失败 - %s", testData.get("search_type")));
-            takeScreenshotOnFailure(e);
+            if (driver != null) {
+                AllureTestListener.addScreenshot(driver, String.format("资产搜索失败 - %s", testData.get("search_type")));
+                takeScreenshotOnFailure(e);
+            }
             throw e;
         }
     }
 
+    @Test
+    @Tag(DATA_TAG)
+    @Tag(RECONCILE_TAG)
+    @Story("资产对账")
+    @Description("按reconcile.key对比资产列表与reconcile.expected.file中的期望清单")
+    @Severity(SeverityLevel.NORMAL)
+    public void testAssetInventoryReconciliation() {
+        String expectedFile = reconcileFile();
+        assumeFalse(expectedFile.isEmpty(), "未配置reconcile.expected.file，跳过资产对账");
+        logger.info("开始资产对账 - 期望清单: {}", expectedFile);
+
+        if (driver != null) {
+            loginToSystem();
+        }
+        assetPage.navigateToAssetManagement();
+
+        ReconciliationResult result;
+        try (Stream<Map<String, String>> expected = TestDataReader.streamCsvData(expectedFile);
+             AssetReconciler.Session session = AssetReconciler.fromConfig().start()) {
+            expected.forEach(session::addExpected);
+            assetPage.forEachAsset(asset -> session.addActual(asset.toMap()));
+            result = session.finish();
+        }
+
+        AllureTestListener.addAttachment("资产对账结果", result.toText(), "text/plain");
+        logger.info("资产对账完成: {}", result.getSummary());
+        assertTrue(result.isClean(), result.getSummary());
+    }
+
+    private String reconcileFile() {
+        return config.getProperty("reconcile.expected.file", "").trim();
+    }
+
     private void loginToSystem() {
-        // 实现登录逻辑
-        // 这里可以调用LoginPage的登录方法
+        // 优先复用缓存的登录会话，只有首次或会话过期时才走完整的UI登录流程
+        LoginHelper loginHelper = new LoginHelper(driver, config);
+        CaptchaHandler captchaHandler = new CaptchaHandler(driver, config);
+        LoginPage loginPage = new LoginPage(driver, loginHelper, captchaHandler);
+        loginPage.ensureLoggedIn(config.getUsername(), config.getPassword());
     }
 
     private static Stream<Map<String, String>> provideAssetTestData() {
-        List<Map<String, String>> testData = TestDataReader.readCsvData("assets.csv");
-        return testData.stream();
+        return TestDataReader.streamCsvData("assets.csv");
     }
 } 
\ No newline at end of file
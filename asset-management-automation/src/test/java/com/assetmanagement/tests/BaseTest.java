@@ -1,16 +1,23 @@
 package com.assetmanagement.tests;
 
+import com.assetmanagement.execution.ShardExecutionCondition;
+import com.assetmanagement.extensions.CircuitBreakerExtension;
+import com.assetmanagement.extensions.LogContextExtension;
+import com.assetmanagement.extensions.StepMetricsExtension;
+import com.assetmanagement.extensions.WebDriverExtension;
 import com.assetmanagement.utils.ConfigReader;
 import com.assetmanagement.utils.ScreenshotUtils;
+import com.assetmanagement.utils.WebDriverManager;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@ExtendWith({LogContextExtension.class, WebDriverExtension.class, StepMetricsExtension.class,
+    CircuitBreakerExtension.class, ShardExecutionCondition.class})
 public class BaseTest {
     protected WebDriver driver;
     protected ConfigReader config;
@@ -18,47 +25,39 @@ public class BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
 
     @BeforeEach
-    public void setUp() {
+    public void setUp(TestInfo testInfo) {
         config = new ConfigReader();
-        boolean headless = config.isHeadless();
-        int timeout = config.getTimeout();
-
-        WebDriverManager.edgedriver().setup();
-        EdgeOptions edgeOptions = new EdgeOptions();
-        
-        // 处理证书错误
-        edgeOptions.setAcceptInsecureCerts(true);
-        edgeOptions.addArguments("--ignore-certificate-errors");
-        edgeOptions.addArguments("--ignore-ssl-errors");
-        
-        if (headless) {
-            edgeOptions.addArguments("--headless");
+        if (!requiresBrowser(testInfo)) {
+            logger.info("{} 不需要浏览器，跳过WebDriver租用", testInfo.getDisplayName());
+            return;
         }
-        
-        driver = new EdgeDriver(edgeOptions);
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(timeout, java.util.concurrent.TimeUnit.SECONDS);
+
+        // 从会话池租用WebDriver，测试结束后由WebDriverExtension归还
+        driver = WebDriverManager.getDriver();
         
         // 初始化截图工具
-        screenshotUtils = new ScreenshotUtils(driver, config);
+        screenshotUtils = new ScreenshotUtils(driver);
         
-        logger.info("Edge WebDriver initialized with SSL certificate handling");
+        logger.info("Edge WebDriver leased from session pool");
+    }
+
+    /**
+     * 当前测试是否需要浏览器，只校验接口数据的测试可以覆盖此方法返回false
+     */
+    protected boolean requiresBrowser(TestInfo testInfo) {
+        return true;
     }
 
     @AfterEach
     public void tearDown() {
-        if (driver != null) {
-            try {
-                screenshotUtils.takeScreenshot(this.getClass().getSimpleName());
-            } catch (Exception e) {
-                logger.error("Failed to take screenshot", e);
-            }
-            driver.quit();
-            logger.info("Edge WebDriver closed");
-        }
+        // 截图由WebDriverExtension在归还会话前按screenshot.on.failure/on.success处理
+        driver = null;
     }
 
     protected void takeScreenshotOnFailure(Throwable throwable) {
+        if (screenshotUtils == null) {
+            return;
+        }
         try {
             String prefix = String.format("%s_failure_%s",
                 this.getClass().getSimpleName(),
@@ -7,6 +7,12 @@ import com.assetmanagement.utils.LoginHelper;
 import com.assetmanagement.utils.CaptchaHandler;
 import com.assetmanagement.utils.ScreenshotUtils;
 import com.assetmanagement.listeners.AllureTestListener;
+import com.assetmanagement.execution.ShardExecutionCondition;
+import com.assetmanagement.extensions.CircuitBreakerExtension;
+import com.assetmanagement.extensions.LogContextExtension;
+import com.assetmanagement.extensions.StepMetricsExtension;
+import com.assetmanagement.extensions.WebDriverExtension;
+import com.assetmanagement.utils.WebDriverManager;
 import io.qameta.allure.*;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -16,14 +22,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
-import org.junit.jupiter.api.TestMethodOrder;
-import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.edge.EdgeOptions;
 
 import java.net.ConnectException;
 import java.time.Duration;
@@ -36,7 +39,8 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @Epic("认证管理")
 @Feature("用户登录")
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith({LogContextExtension.class, WebDriverExtension.class, StepMetricsExtension.class,
+    CircuitBreakerExtension.class, ShardExecutionCondition.class})
 public class LoginTest {
     private static final Logger logger = LoggerFactory.getLogger(LoginTest.class);
     private WebDriver driver;
@@ -54,17 +58,9 @@ public class LoginTest {
         try {
             config = new ConfigReader();
             
-            // 配置Edge选项
-            EdgeOptions options = new EdgeOptions();
-            if (Boolean.parseBoolean(config.getProperty("browser.headless", "false"))) {
-                options.addArguments("--headless");
-            }
-            options.addArguments("--start-maximized");
-            options.addArguments("--remote-allow-origins=*");
-            
-            // 初始化WebDriver
-            driver = new EdgeDriver(options);
-            screenshotUtils = new ScreenshotUtils(driver, config);
+            // 从会话池租用WebDriver
+            driver = WebDriverManager.getDriver();
+            screenshotUtils = new ScreenshotUtils(driver);
             
             // 初始化页面对象和工具类
             loginHelper = new LoginHelper(driver, config);
@@ -83,10 +79,8 @@ public class LoginTest {
 
     @AfterEach
     public void tearDown() {
-        if (driver != null) {
-            logger.info("Closing WebDriver");
-            driver.quit();
-        }
+        // WebDriver由WebDriverExtension归还会话池
+        driver = null;
     }
 
     @Test
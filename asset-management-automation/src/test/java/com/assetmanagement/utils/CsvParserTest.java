@@ -0,0 +1,44 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsvParserTest {
+
+    @Test
+    public void testQuotedFieldsWithCommasAndNewlines() throws IOException {
+        String csv = "asset_name,group\n"
+            + "\"test-PC-1, 机房A\",研发组\n"
+            + "\"multi\nline\",\"say \"\"hi\"\"\"\n";
+        CsvParser parser = new CsvParser(new StringReader(csv));
+
+        assertArrayEquals(new String[]{"asset_name", "group"}, parser.readRecord());
+        assertArrayEquals(new String[]{"test-PC-1, 机房A", "研发组"}, parser.readRecord());
+        assertArrayEquals(new String[]{"multi\nline", "say \"hi\""}, parser.readRecord());
+        assertNull(parser.readRecord());
+    }
+
+    @Test
+    public void testCrLfEmptyFieldsAndBlankLines() throws IOException {
+        String csv = "\uFEFFa,b,c\r\n1,,3\r\n\r\n,,\r\nlast,row,noeol";
+        CsvParser parser = new CsvParser(new StringReader(csv));
+
+        assertArrayEquals(new String[]{"a", "b", "c"}, parser.readRecord());
+        assertArrayEquals(new String[]{"1", "", "3"}, parser.readRecord());
+        assertArrayEquals(new String[]{"", "", ""}, parser.readRecord());
+        assertArrayEquals(new String[]{"last", "row", "noeol"}, parser.readRecord());
+        assertNull(parser.readRecord());
+        assertEquals(4, parser.getRecordNumber());
+    }
+
+    @Test
+    public void testUnclosedQuoteFails() {
+        CsvParser parser = new CsvParser(new StringReader("a,\"broken\n"));
+
+        assertThrows(IOException.class, parser::readRecord);
+    }
+}
@@ -0,0 +1,56 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DriverBinaryResolverTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testConfiguredPathWins() throws IOException {
+        Path configured = executable(dir.resolve("custom-msedgedriver"));
+        executable(dir.resolve("msedgedriver"));
+
+        assertEquals(configured, DriverBinaryResolver.locate("edge", null, configured.toString(), dir));
+    }
+
+    @Test
+    public void testFallsBackToDriversDirectory() throws IOException {
+        Path bundled = executable(dir.resolve("msedgedriver"));
+
+        assertEquals(bundled.toAbsolutePath(),
+            DriverBinaryResolver.locate("edge", null, dir.resolve("missing").toString(), dir));
+    }
+
+    @Test
+    public void testNonExecutableFilesAreIgnored() throws IOException {
+        Files.writeString(dir.resolve("msedgedriver"), "");
+        dir.resolve("msedgedriver").toFile().setExecutable(false);
+
+        assertNull(DriverBinaryResolver.locate("edge", null, "", dir));
+    }
+
+    @Test
+    public void testCandidatesListLookupOrder() {
+        List<Path> candidates = DriverBinaryResolver.candidates("edge", " /opt/msedgedriver ", "", dir);
+
+        assertEquals(List.of(Path.of("/opt/msedgedriver"),
+            dir.resolve("msedgedriver").toAbsolutePath(),
+            dir.resolve("msedgedriver.exe").toAbsolutePath()), candidates);
+    }
+
+    private static Path executable(Path path) throws IOException {
+        Files.writeString(path, "#!/bin/sh\n");
+        assertTrue(path.toFile().setExecutable(true));
+        return path;
+    }
+}
@@ -0,0 +1,43 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridStatusTest {
+    private static final String STATUS = """
+        {"value": {"ready": true, "message": "Selenium Grid ready.", "nodes": [
+          {"availability": "UP", "maxSessions": 2, "slots": [
+            {"session": {"sessionId": "a"}, "stereotype": {"browserName": "MicrosoftEdge"}},
+            {"session": null, "stereotype": {"browserName": "MicrosoftEdge"}},
+            {"session": null, "stereotype": {"browserName": "chrome"}}
+          ]},
+          {"availability": "UP", "maxSessions": 4, "slots": [
+            {"session": null, "stereotype": {"browserName": "chrome"}},
+            {"session": null, "stereotype": {"browserName": "chrome"}}
+          ]},
+          {"availability": "DOWN", "maxSessions": 4, "slots": [
+            {"session": null, "stereotype": {"browserName": "firefox"}}
+          ]}
+        ]}}
+        """;
+
+    @Test
+    public void testFreeSlotsRespectNodeMaxSessions() {
+        GridStatus status = GridStatus.parse(STATUS);
+
+        assertTrue(status.isReady());
+        assertEquals(1, status.freeSlots("MicrosoftEdge"));
+        assertEquals(3, status.freeSlots("chrome"), "第一个节点已用1个会话，maxSessions=2时只剩1个槽位");
+        assertEquals(2, status.capacity("MicrosoftEdge"));
+        assertEquals(3, status.capacity("chrome"));
+    }
+
+    @Test
+    public void testOfflineNodesAreIgnored() {
+        GridStatus status = GridStatus.parse(STATUS);
+
+        assertEquals(0, status.freeSlots("firefox"));
+        assertEquals(0, status.capacity("firefox"));
+    }
+}
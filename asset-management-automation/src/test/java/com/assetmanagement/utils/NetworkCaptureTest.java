@@ -0,0 +1,88 @@
+package com.assetmanagement.utils;
+
+import com.assetmanagement.metrics.ApiCallStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkCaptureTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHarGroupsRequestsByActionWithTimingPhases() {
+        NetworkCapture capture = new NetworkCapture(false, 100);
+        capture.onRequestWillBeSent(request("1", "GET", "http://host/api/assets/123?q=x", 100.0), "AssetPage.search");
+        capture.onResponseReceived(response("1", 200, timing(100.010, 0, 5, 5, 20, 21, 22, 122)));
+        capture.onLoadingFinished(finished("1", 100.142));
+        capture.onRequestWillBeSent(request("2", "POST", "http://host/api/login", 101.0), null);
+
+        Map<String, Object> log = (Map<String, Object>) capture.drainHar().get("log");
+        List<Map<String, Object>> pages = (List<Map<String, Object>>) log.get("pages");
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) log.get("entries");
+
+        assertEquals(1, pages.size());
+        assertEquals("AssetPage.search", pages.get(0).get("title"));
+        assertEquals(1, entries.size());
+        Map<String, Double> timings = (Map<String, Double>) entries.get(0).get("timings");
+        assertEquals(10.0, timings.get("blocked"), 0.01);
+        assertEquals(5.0, timings.get("dns"), 0.01);
+        assertEquals(15.0, timings.get("connect"), 0.01);
+        assertEquals(100.0, timings.get("wait"), 0.01);
+        assertEquals(10.0, timings.get("receive"), 0.01);
+        assertEquals(141.0, (Double) entries.get(0).get("time"), 0.01);
+        assertEquals(0, capture.getFinishedCount());
+
+        // 未结束的请求留到下一次导出
+        capture.onLoadingFailed(failed("2", 101.5));
+        List<Map<String, Object>> next = (List<Map<String, Object>>) ((Map<String, Object>) capture.drainHar()
+            .get("log")).get("entries");
+        assertEquals("net::ERR_CONNECTION_REFUSED", ((Map<String, Object>) next.get(0).get("response")).get("statusText"));
+
+        List<Map<String, Object>> slowest = ApiCallStats.global().getSlowest(100);
+        assertTrue(slowest.stream().anyMatch(row -> "GET /api/assets/{id}".equals(row.get("api"))));
+    }
+
+    private static Map<String, Object> request(String id, String method, String url, double timestamp) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("requestId", id);
+        params.put("request", Map.of("method", method, "url", url, "headers", Map.of()));
+        params.put("timestamp", timestamp);
+        params.put("wallTime", 1_700_000_000.0 + timestamp);
+        params.put("type", "XHR");
+        return params;
+    }
+
+    private static Map<String, Object> timing(double requestTime, double dnsStart, double dnsEnd, double connectStart,
+                                              double connectEnd, double sendStart, double sendEnd, double headersEnd) {
+        Map<String, Object> timing = new HashMap<>();
+        timing.put("requestTime", requestTime);
+        timing.put("dnsStart", dnsStart);
+        timing.put("dnsEnd", dnsEnd);
+        timing.put("connectStart", connectStart);
+        timing.put("connectEnd", connectEnd);
+        timing.put("sslStart", -1);
+        timing.put("sslEnd", -1);
+        timing.put("sendStart", sendStart);
+        timing.put("sendEnd", sendEnd);
+        timing.put("receiveHeadersEnd", headersEnd);
+        return timing;
+    }
+
+    private static Map<String, Object> response(String id, int status, Map<String, Object> timing) {
+        return Map.of("requestId", id, "response",
+            Map.of("status", status, "statusText", "OK", "protocol", "http/1.1", "mimeType", "application/json",
+                "timing", timing));
+    }
+
+    private static Map<String, Object> finished(String id, double timestamp) {
+        return Map.of("requestId", id, "timestamp", timestamp, "encodedDataLength", 512);
+    }
+
+    private static Map<String, Object> failed(String id, double timestamp) {
+        return Map.of("requestId", id, "timestamp", timestamp, "errorText", "net::ERR_CONNECTION_REFUSED");
+    }
+}
@@ -0,0 +1,57 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkMonitorTest {
+
+    @Test
+    public void testRequestArrivingAfterWaitStartsIsAwaited() throws Exception {
+        NetworkMonitor monitor = new NetworkMonitor(null, null);
+        // 上一次网络活动早已过去，模拟点击后请求事件稍晚才送达
+        Thread.sleep(300);
+        CompletableFuture<Void> events = CompletableFuture.runAsync(() -> {
+            sleep(50);
+            monitor.onRequestWillBeSent(request("1", "https://host/api/assets?q=PC"));
+            sleep(300);
+            monitor.onRequestDone(Map.of("requestId", "1"), true);
+        });
+
+        long start = System.nanoTime();
+        monitor.waitForIdle(Duration.ofMillis(200), Duration.ofSeconds(5));
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        events.get(5, TimeUnit.SECONDS);
+        assertEquals(0, monitor.getInFlightCount());
+        assertTrue(waited >= 550, "应等到请求结束后再安静200ms，实际只等了" + waited + "ms");
+    }
+
+    @Test
+    public void testWaitsAtLeastQuietPeriodFromStart() throws Exception {
+        NetworkMonitor monitor = new NetworkMonitor(null, null);
+        Thread.sleep(300);
+
+        long start = System.nanoTime();
+        monitor.waitForIdle(Duration.ofMillis(150), Duration.ofSeconds(5));
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 150);
+    }
+
+    private static Map<String, Object> request(String id, String url) {
+        return Map.of("requestId", id, "type", "XHR", "request", Map.of("url", url));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
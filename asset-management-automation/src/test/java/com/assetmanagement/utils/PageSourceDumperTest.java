@@ -0,0 +1,59 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageSourceDumperTest {
+
+    @Test
+    public void testDisabledByDefaultDoesNotTouchBrowser() {
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(),
+            new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                throw new AssertionError("未启用时不应访问浏览器: " + method.getName());
+            });
+
+        assertTrue(PageSourceDumper.dump(driver, "login-timeout").isEmpty());
+    }
+
+    @Test
+    public void testDumpWritesCompressedSourceInBackground(@TempDir Path dir) throws IOException {
+        String html = "<html><body>" + "资产列表".repeat(1000) + "</body></html>";
+        MDC.put("testId", "LoginTest#testLogin-1a2b3c4d");
+        Path file;
+        try {
+            file = PageSourceDumper.dump(fakeDriver(html), "login timeout", dir).orElseThrow();
+        } finally {
+            MDC.remove("testId");
+        }
+        PageSourceDumper.flush(5_000);
+
+        assertTrue(file.getFileName().toString().startsWith("LoginTest#testLogin-1a2b3c4d_login_timeout_"));
+        assertTrue(file.getFileName().toString().endsWith(".html.gz"));
+        assertTrue(Files.size(file) < html.getBytes(StandardCharsets.UTF_8).length, "应压缩保存");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            assertEquals(html, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static WebDriver fakeDriver(String pageSource) {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+            (proxy, method, args) -> {
+                if ("getPageSource".equals(method.getName())) {
+                    return pageSource;
+                }
+                throw new UnsupportedOperationException(method.getName());
+            });
+    }
+}
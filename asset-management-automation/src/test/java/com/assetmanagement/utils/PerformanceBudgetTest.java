@@ -0,0 +1,48 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceBudgetTest {
+    private static final Map<String, Double> BUDGETS = Map.of(
+        "login.lcp", 1500.0, "login.fcp", 800.0, "asset-list.render", 2000.0);
+
+    @Test
+    public void testViolationsOnlyForThePage() {
+        PerformanceBudget budget = new PerformanceBudget(BUDGETS, false);
+        PageMetrics login = new PageMetrics("login", true, Map.of("lcp", 1800.0, "fcp", 600.0, "ttfb", 90.0), List.of());
+
+        List<String> violations = budget.violations(login);
+
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).startsWith("login.lcp=1800.0"));
+        assertTrue(budget.violations(new PageMetrics("asset-list", false, Map.of("render", 1200.0), List.of())).isEmpty());
+    }
+
+    @Test
+    public void testMissingBudgetedMetricIsAViolation() {
+        // 路由就绪元素一直没有出现时没有render，不能让预算检查静默通过
+        PageMetrics list = new PageMetrics("asset-list", false, Map.of("ttfb", 90.0), List.of());
+
+        List<String> violations = new PerformanceBudget(BUDGETS, false).violations(list);
+
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).startsWith("asset-list.render 未采集到"));
+        assertThrows(RuntimeException.class, () -> new PerformanceBudget(BUDGETS, true).enforce(list));
+    }
+
+    @Test
+    public void testFailActionFailsTheTestAndWarnDoesNot() {
+        PageMetrics slowList = new PageMetrics("asset-list", false, Map.of("render", 2600.0), List.of());
+
+        assertDoesNotThrow(() -> new PerformanceBudget(BUDGETS, false).enforce(slowList));
+        RuntimeException e = assertThrows(RuntimeException.class,
+            () -> new PerformanceBudget(BUDGETS, true).enforce(slowList));
+        assertTrue(e.getMessage().contains("asset-list.render"));
+        assertDoesNotThrow(() -> new PerformanceBudget(BUDGETS, true).enforce(null));
+    }
+}
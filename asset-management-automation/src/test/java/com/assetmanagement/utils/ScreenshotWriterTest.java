@@ -0,0 +1,77 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScreenshotWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testIdenticalFramesStoredOnce() throws IOException {
+        ScreenshotWriter writer = new ScreenshotWriter(dir, 8, Long.MAX_VALUE, "png");
+        byte[] frame = frame(Color.RED);
+
+        assertTrue(writer.submit("a.png", frame));
+        assertTrue(writer.submit("b.png", frame));
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        writer.shutdown(Duration.ofSeconds(1));
+
+        assertTrue(Files.exists(dir.resolve("a.png")));
+        assertTrue(Files.exists(dir.resolve("b.png")));
+        assertEquals(1, writer.getStoredContentCount(), "相同内容只应计入一份");
+        assertEquals(Files.size(dir.resolve("a.png")), writer.getUsedBytes());
+    }
+
+    @Test
+    public void testOldestFramesEvictedOverBudget() throws IOException {
+        long frameSize = frame(Color.RED).length;
+        ScreenshotWriter writer = new ScreenshotWriter(dir, 8, frameSize * 2, "png");
+
+        writer.submit("1.png", frame(Color.RED));
+        writer.submit("2.png", frame(Color.GREEN));
+        writer.submit("3.png", frame(Color.BLUE));
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        writer.shutdown(Duration.ofSeconds(1));
+
+        assertFalse(Files.exists(dir.resolve("1.png")), "最早的截图应被淘汰");
+        assertTrue(Files.exists(dir.resolve("3.png")));
+        assertTrue(writer.getUsedBytes() <= frameSize * 2);
+    }
+
+    @Test
+    public void testJpegFormatTranscodesOffThread() throws IOException {
+        ScreenshotWriter writer = new ScreenshotWriter(dir, 8, Long.MAX_VALUE, "jpg");
+
+        writer.submit("shot.jpg", frame(Color.RED));
+        assertTrue(writer.flush(Duration.ofSeconds(5)));
+        writer.shutdown(Duration.ofSeconds(1));
+
+        assertEquals("jpg", writer.getExtension());
+        assertNotNull(ImageIO.read(dir.resolve("shot.jpg").toFile()));
+    }
+
+    private static byte[] frame(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 32; x++) {
+            for (int y = 0; y < 32; y++) {
+                image.setRGB(x, y, color.getRGB());
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
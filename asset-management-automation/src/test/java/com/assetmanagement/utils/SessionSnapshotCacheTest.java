@@ -0,0 +1,82 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Cookie;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SessionSnapshotCacheTest {
+    private static final String BASE_URL = "https://192.168.30.240";
+
+    @Test
+    public void testExpiredSnapshotIsRemoved() {
+        String user = uniqueUser();
+        Instant now = Instant.now();
+        SessionSnapshotCache.put(snapshot(user, BASE_URL, now.minus(Duration.ofMinutes(31)), now.minusSeconds(1)));
+
+        assertNull(SessionSnapshotCache.get(user, BASE_URL), "过期快照不应再返回");
+        SessionSnapshotCache.put(snapshot(user, BASE_URL, now, now.plus(Duration.ofMinutes(30))));
+        assertNotNull(SessionSnapshotCache.get(user, BASE_URL));
+    }
+
+    @Test
+    public void testSnapshotsAreIsolatedByUserAndBaseUrl() {
+        String admin = uniqueUser();
+        String other = uniqueUser();
+        Instant now = Instant.now();
+        SessionSnapshot snapshot = snapshot(admin, BASE_URL, now, now.plus(Duration.ofMinutes(30)));
+        SessionSnapshotCache.put(snapshot);
+
+        assertSame(snapshot, SessionSnapshotCache.get(admin, BASE_URL));
+        assertNull(SessionSnapshotCache.get(other, BASE_URL));
+        assertNull(SessionSnapshotCache.get(admin, "https://other-host"));
+
+        SessionSnapshotCache.invalidate(other, BASE_URL);
+        assertSame(snapshot, SessionSnapshotCache.get(admin, BASE_URL), "使其他用户的快照失效不应影响本用户");
+        SessionSnapshotCache.invalidate(admin, BASE_URL);
+        assertNull(SessionSnapshotCache.get(admin, BASE_URL));
+    }
+
+    @Test
+    public void testLoginLockIsPerUser() throws Exception {
+        String admin = uniqueUser();
+        String other = uniqueUser();
+        ReentrantLock lock = SessionSnapshotCache.lockFor(admin, BASE_URL);
+        assertSame(lock, SessionSnapshotCache.lockFor(admin, BASE_URL));
+
+        lock.lock();
+        try {
+            // 同一用户的另一个测试线程必须等待，其他用户不受影响
+            assertFalse(CompletableFuture.supplyAsync(() -> SessionSnapshotCache.lockFor(admin, BASE_URL).tryLock())
+                .get(5, TimeUnit.SECONDS));
+            assertTrue(CompletableFuture.supplyAsync(() -> {
+                ReentrantLock otherLock = SessionSnapshotCache.lockFor(other, BASE_URL);
+                boolean acquired = otherLock.tryLock();
+                if (acquired) {
+                    otherLock.unlock();
+                }
+                return acquired;
+            }).get(5, TimeUnit.SECONDS));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String uniqueUser() {
+        return "user-" + UUID.randomUUID();
+    }
+
+    private static SessionSnapshot snapshot(String user, String baseUrl, Instant capturedAt, Instant expiresAt) {
+        return new SessionSnapshot(user, baseUrl, List.of(new Cookie("SESSION", "abc")), Map.of("token", "t"),
+            baseUrl + "/#/dashboard", capturedAt, expiresAt);
+    }
+}
@@ -0,0 +1,203 @@
+package com.assetmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WebDriverPoolTest {
+
+    @Test
+    public void testReleasedSessionIsReused() {
+        List<FakeSession> created = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(created), 2, 10, Duration.ofSeconds(1));
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        WebDriver second = pool.lease();
+
+        assertSame(first, second, "归还的会话应该被复用");
+        assertEquals(1, created.size());
+        pool.release(second);
+        pool.shutdown();
+        assertTrue(created.get(0).quit, "关闭会话池时应退出空闲会话");
+    }
+
+    @Test
+    public void testUnhealthySessionIsReplaced() {
+        List<FakeSession> created = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(created), 1, 10, Duration.ofSeconds(1));
+
+        WebDriver first = pool.lease();
+        pool.release(first);
+        created.get(0).healthy = false;
+        WebDriver second = pool.lease();
+
+        assertNotSame(first, second, "不健康的会话不应被复用");
+        assertTrue(created.get(0).quit);
+        pool.release(second);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSessionRetiredAfterMaxReuse() {
+        List<FakeSession> created = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(created), 1, 2, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 4; i++) {
+            pool.release(pool.lease());
+        }
+
+        assertEquals(2, created.size(), "每个会话最多复用2次");
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLeasesNeverExceedPoolSize() throws Exception {
+        List<FakeSession> created = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(created), 2, 100, Duration.ofSeconds(5));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < 20; j++) {
+                    WebDriver driver = pool.lease();
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    active.decrementAndGet();
+                    pool.release(driver);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertTrue(maxActive.get() <= 2, "同时租用的会话数不应超过池大小");
+        assertTrue(created.size() <= 2);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testDoubleOrForeignReleaseDoesNotGrowCapacity() {
+        List<FakeSession> created = new ArrayList<>();
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(created), 1, 10, Duration.ofMillis(100));
+        WebDriver driver = pool.lease();
+        WebDriver foreign = newDriver(new ArrayList<>());
+
+        pool.release(driver);
+        pool.release(driver);
+        pool.invalidate(driver);
+        pool.release(foreign);
+        pool.invalidate(foreign);
+
+        WebDriver leased = pool.lease();
+        assertThrows(RuntimeException.class, pool::lease, "重复归还不应让会话池超过最大会话数");
+        assertEquals(1, pool.leasedCount());
+        pool.release(leased);
+        assertEquals(0, pool.leasedCount());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLeaseTimesOutWhenPoolExhausted() {
+        WebDriverPool pool = new WebDriverPool(() -> newDriver(new ArrayList<>()), 1, 10, Duration.ofMillis(100));
+        WebDriver driver = pool.lease();
+
+        assertThrows(RuntimeException.class, pool::lease);
+        pool.release(driver);
+        pool.shutdown();
+    }
+
+    @Test
+    public void testLeaseWaitsForWarmingSession() throws Exception {
+        List<FakeSession> created = new ArrayList<>();
+        CountDownLatch launching = new CountDownLatch(1);
+        WebDriverPool pool = new WebDriverPool(() -> {
+            launching.countDown();
+            sleep(300);
+            return newDriver(created);
+        }, 2, 10, Duration.ofSeconds(5));
+
+        Thread prewarm = new Thread(() -> pool.prefill(1));
+        prewarm.start();
+        assertTrue(launching.await(5, TimeUnit.SECONDS));
+        WebDriver driver = pool.lease();
+        prewarm.join();
+
+        assertEquals(1, created.size(), "预热中的会话应该被直接租用，而不是再启动一个");
+        assertSame(created.get(0).driver, driver);
+        pool.release(driver);
+        pool.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static WebDriver newDriver(List<FakeSession> created) {
+        FakeSession session = new FakeSession();
+        synchronized (created) {
+            created.add(session);
+        }
+        return session.driver;
+    }
+
+    /**
+     * 使用动态代理模拟WebDriver，只记录健康状态和退出状态
+     */
+    private static class FakeSession {
+        volatile boolean healthy = true;
+        volatile boolean quit;
+        final WebDriver driver;
+
+        FakeSession() {
+            driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getWindowHandle":
+                            if (!healthy) {
+                                throw new IllegalStateException("session lost");
+                            }
+                            return "window";
+                        case "quit":
+                            quit = true;
+                            return null;
+                        case "manage":
+                            return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                new Class<?>[]{WebDriver.Options.class}, (p, m, a) -> null);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+                        default:
+                            return null;
+                    }
+                });
+        }
+    }
+}